@@ -11,6 +11,10 @@ import controller.util.TimeMode;
 import model.GameModel;
 import model.common.Coordinate;
 import model.exceptions.OperationException;
+import model.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static controller.util.TimeMode.DAILY;
 
@@ -18,13 +22,52 @@ import static controller.util.TimeMode.DAILY;
 public class Controller {
     private final Property property;
     private final Publisher service;
+    private final EventBus eventBus;
 
     public Controller(GameModel gameModel) {
+        this(gameModel, false);
+    }
+
+    /**
+     * @param gameModel         the game model to control.
+     * @param coalesceCallBacks if true, the call backs are posted to an event bus and only delivered by dispatchEvents(),
+     *                          each kind at most once per dispatch.
+     */
+    public Controller(GameModel gameModel, boolean coalesceCallBacks) {
         property = new Property(GameMode.SELECTION_MODE, gameModel, DAILY);
         service = new Publisher();
+        if (coalesceCallBacks) {
+            eventBus = new EventBus(EventBus.DEFAULT_CAPACITY, property.getCallBack());
+            property.setCallBack(eventBus);
+        } else {
+            eventBus = null;
+        }
         registerListeners();
     }
 
+    /**
+     * Delivers the call backs posted since the last dispatch, to be called once per frame by the view.
+     * Does nothing if the call backs are not coalesced.
+     */
+    public void dispatchEvents() {
+        if (eventBus != null) {
+            eventBus.dispatch();
+        }
+    }
+
+    /**
+     * Sets the call back of the view, behind the event bus if there is one.
+     *
+     * @param callBack the call back.
+     */
+    private void setCallBack(ICallBack callBack) {
+        if (eventBus != null) {
+            eventBus.setTarget(callBack);
+        } else {
+            property.setCallBack(callBack);
+        }
+    }
+
     /**
      * Handles every mouse click (on grid system) from the user
      *
@@ -33,11 +76,101 @@ public class Controller {
      */
     public void mouseClickRequest(Coordinate coordinate, ICallBack callBack) {
         if (callBack != null) {
-            property.setCallBack(callBack);
+            setCallBack(callBack);
         }
         service.notify(property.getGameMode().getEvent(), coordinate);
     }
 
+    /**
+     * Handles a mouse drag on the grid system from one cell to another.
+     * Roads are laid along a line, everything else fills the rectangle of the two cells.
+     *
+     * @param from     the cell where the drag started.
+     * @param to       the cell where the drag ended.
+     * @param callBack will be called after the handle of the request, can be null for defaults.
+     */
+    public void dragRequest(Coordinate from, Coordinate to, ICallBack callBack) {
+        if (property.getGameMode() == GameMode.ROAD_MODE) {
+            polylineRequest(List.of(from, to), callBack);
+        } else {
+            rectangleRequest(from, to, callBack);
+        }
+    }
+
+    /**
+     * Handles a request on every cell of a rectangle in one batch, according to the game mode.
+     *
+     * @param corner         a corner of the rectangle.
+     * @param oppositeCorner the opposite corner of the rectangle.
+     * @param callBack       will be called after the handle of the request, can be null for defaults.
+     */
+    public void rectangleRequest(Coordinate corner, Coordinate oppositeCorner, ICallBack callBack) {
+        if (callBack != null) {
+            setCallBack(callBack);
+        }
+        service.notifyBatch(property.getGameMode().getEvent(), rectangleCells(corner, oppositeCorner));
+    }
+
+    /**
+     * Handles a request on every cell along a line through the points in one batch, according to the game mode.
+     *
+     * @param points   the points of the line, at least one.
+     * @param callBack will be called after the handle of the request, can be null for defaults.
+     */
+    public void polylineRequest(List<Coordinate> points, ICallBack callBack) {
+        if (callBack != null) {
+            setCallBack(callBack);
+        }
+        service.notifyBatch(property.getGameMode().getEvent(), polylineCells(points));
+    }
+
+    /**
+     * @param corner         a corner of the rectangle.
+     * @param oppositeCorner the opposite corner of the rectangle.
+     * @return the cells of the rectangle row by row.
+     */
+    static List<Coordinate> rectangleCells(Coordinate corner, Coordinate oppositeCorner) {
+        List<Coordinate> cells = new ArrayList<>();
+        int top = Math.min(corner.getRow(), oppositeCorner.getRow());
+        int bottom = Math.max(corner.getRow(), oppositeCorner.getRow());
+        int left = Math.min(corner.getCol(), oppositeCorner.getCol());
+        int right = Math.max(corner.getCol(), oppositeCorner.getCol());
+        for (int row = top; row <= bottom; row++) {
+            for (int col = left; col <= right; col++) {
+                cells.add(new Coordinate(row, col));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Walks from point to point first along the row, then along the column,
+     * so consecutive cells are always neighbours and a road laid on them is connected.
+     *
+     * @param points the points of the line.
+     * @return the cells of the line in order, without duplicates.
+     */
+    static List<Coordinate> polylineCells(List<Coordinate> points) {
+        List<Coordinate> cells = new ArrayList<>();
+        if (points.isEmpty()) {
+            return cells;
+        }
+        int row = points.get(0).getRow();
+        int col = points.get(0).getCol();
+        cells.add(new Coordinate(row, col));
+        for (Coordinate point : points.subList(1, points.size())) {
+            while (col != point.getCol()) {
+                col += Integer.signum(point.getCol() - col);
+                cells.add(new Coordinate(row, col));
+            }
+            while (row != point.getRow()) {
+                row += Integer.signum(point.getRow() - row);
+                cells.add(new Coordinate(row, col));
+            }
+        }
+        return cells.stream().distinct().toList();
+    }
+
     /**
      * Handles client request of mode switching (Button click)
      *
@@ -47,6 +180,15 @@ public class Controller {
         this.property.setGameMode(gameMode);
     }
 
+    /**
+     * @return true if a click in the current game mode picks an existing buildable, to select or demolish it,
+     * instead of a cell to build on.
+     */
+    public boolean isPickingBuildable() {
+        Event event = property.getGameMode().getEvent();
+        return event == Event.SELECTION || event == Event.DEMOLISH;
+    }
+
     /**
      * Handles client request of time mode switching (Button click)
      *
@@ -66,13 +208,14 @@ public class Controller {
     public void regularUpdateRequest(int dayPass, ICallBack callBack) {
 //        Database.save(property.getGameModel());
         if (callBack != null) {
-            property.setCallBack(callBack);
+            setCallBack(callBack);
         } else {
             callBack = property.getCallBack();
-            System.out.println(callBack);
+            Log.debug("Default call back: ", callBack);
         }
-        for (int i = 0; i < dayPass * property.getTimeMode().getMultiplier(); i++) {
-            this.property.getGameModel().regularUpdate(1, property.getCallBack());
+        int days = dayPass * property.getTimeMode().getMultiplier();
+        if (days > 0) {
+            this.property.getGameModel().regularUpdate(days, property.getCallBack());
         }
         callBack.updateDatePanel(property.getGameModel().getCurrentDate());
         callBack.updateCityStatisticPanel(property.getGameModel().getCityStatistics());
@@ -98,14 +241,14 @@ public class Controller {
      */
     public void updateTaxRate(double newTaxRate, ICallBack callBack) {
         if (callBack != null) {
-            property.setCallBack(callBack);
+            setCallBack(callBack);
         } else {
             callBack = property.getCallBack();
         }
         try {
             property.getGameModel().updateTaxRate(newTaxRate);
         } catch (OperationException e) {
-            System.out.println(e.getMessage());
+            Log.warn(e.getMessage());
         }
         assert callBack != null;
         callBack.updateBudgetPanel(property.getGameModel().queryCityBudget());
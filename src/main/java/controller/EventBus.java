@@ -0,0 +1,139 @@
+package controller;
+
+import controller.util.UiEvent;
+import model.city.CityStatistics;
+import model.common.Budget;
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.util.Date;
+import model.util.Log;
+import model.zone.Zone;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Asynchronous delivery of the call backs to the view.
+ * The bus is given to the model side as its call back: every call only posts an event into a bounded queue,
+ * from any thread and without waiting. The view thread calls dispatch() once per frame,
+ * which drains the queue and calls the target at most once for each kind of event, with the latest state.
+ * If the queue is full, the newest event of each kind is kept aside, so no change is lost, only merged earlier.
+ * Grid changes are not kept cell by cell: the grid call back is made with a null coordinate and buildable,
+ * telling the view that the grid changed and has to be redrawn as a whole.
+ */
+public class EventBus implements ICallBack {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final UiEvent.Kind[] KINDS = UiEvent.Kind.values();
+    private static final UiEvent GRID_CHANGED = new UiEvent(UiEvent.Kind.GRID, null);
+
+    private final ArrayBlockingQueue<UiEvent> queue;
+    private final AtomicReferenceArray<UiEvent> overflow = new AtomicReferenceArray<>(KINDS.length);
+    private final UiEvent[] latest = new UiEvent[KINDS.length];
+    private volatile ICallBack target;
+
+    /**
+     * @param capacity the number of events the queue can hold
+     * @param target   the call back the events are delivered to
+     */
+    public EventBus(int capacity, ICallBack target) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.target = target;
+    }
+
+    public ICallBack getTarget() {
+        return target;
+    }
+
+    public void setTarget(ICallBack target) {
+        this.target = target;
+    }
+
+    /**
+     * Posts an event without waiting.
+     *
+     * @param event the event
+     */
+    public void post(UiEvent event) {
+        if (!queue.offer(event)) {
+            overflow.set(event.getKind().ordinal(), event);
+        }
+    }
+
+    /**
+     * Delivers the posted events to the target, each kind at most once with its latest event.
+     * Must be called on the thread of the view.
+     *
+     * @return the number of call backs made.
+     */
+    public int dispatch() {
+        int merged = 0;
+        UiEvent event;
+        while ((event = queue.poll()) != null) {
+            latest[event.getKind().ordinal()] = event;
+            merged++;
+        }
+        for (int i = 0; i < KINDS.length; i++) {
+            UiEvent dropped = overflow.getAndSet(i, null);
+            if (dropped != null) {
+                latest[i] = dropped;
+                merged++;
+            }
+        }
+        int delivered = 0;
+        for (int i = 0; i < KINDS.length; i++) {
+            if (latest[i] != null) {
+                deliver(latest[i]);
+                latest[i] = null;
+                delivered++;
+            }
+        }
+        if (delivered > 0 && Log.isDebugEnabled()) {
+            Log.debug("Events merged into call backs: " + merged + " -> " + delivered);
+        }
+        return delivered;
+    }
+
+    private void deliver(UiEvent event) {
+        ICallBack callBack = target;
+        switch (event.getKind()) {
+            case GRID -> callBack.updateGridSystem(null, null);
+            case BUDGET -> callBack.updateBudgetPanel((Budget) event.getPayload());
+            case ZONE_STATISTIC -> callBack.updateStatisticPanel((Zone) event.getPayload());
+            case DATE -> callBack.updateDatePanel((Date) event.getPayload());
+            case CITY_STATISTIC -> callBack.updateCityStatisticPanel((CityStatistics) event.getPayload());
+            case LOSE -> callBack.shoutLose((Boolean) event.getPayload());
+        }
+    }
+
+    @Override
+    public void updateGridSystem(Coordinate coordinate, Buildable buildable) {
+        post(GRID_CHANGED);
+    }
+
+    @Override
+    public void updateBudgetPanel(Budget budget) {
+        post(new UiEvent(UiEvent.Kind.BUDGET, budget));
+    }
+
+    @Override
+    public void updateStatisticPanel(Zone zone) {
+        post(new UiEvent(UiEvent.Kind.ZONE_STATISTIC, zone));
+    }
+
+    @Override
+    public void updateDatePanel(Date date) {
+        post(new UiEvent(UiEvent.Kind.DATE, date));
+    }
+
+    @Override
+    public void updateCityStatisticPanel(CityStatistics cityStatistics) {
+        post(new UiEvent(UiEvent.Kind.CITY_STATISTIC, cityStatistics));
+    }
+
+    @Override
+    public void shoutLose(boolean isLost) {
+        post(new UiEvent(UiEvent.Kind.LOSE, isLost));
+    }
+}
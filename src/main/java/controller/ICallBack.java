@@ -8,6 +8,12 @@ import model.util.Date;
 import model.zone.Zone;
 
 public interface ICallBack {
+    /**
+     * Tells the view that the grid changed.
+     *
+     * @param coordinate the changed cell, null if the change is not given cell by cell and the whole grid has to be redrawn
+     * @param buildable  the buildable placed on the cell, null if it was demolished or the coordinate is null
+     */
     void updateGridSystem(Coordinate coordinate, Buildable buildable);
 
     void updateBudgetPanel(Budget budget);
@@ -5,6 +5,7 @@ import controller.util.Event;
 import model.common.Coordinate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Publisher {
@@ -31,4 +32,13 @@ public class Publisher {
     public void notify(Event event, Coordinate coordinate) {
         listeners.get(event).update(coordinate);
     }
+
+    /**
+     * Notifies according to the event the listener with several cells at once.
+     * @param event Event
+     * @param coordinates Coordinates
+     */
+    public void notifyBatch(Event event, List<Coordinate> coordinates) {
+        listeners.get(event).updateBatch(coordinates);
+    }
 }
@@ -4,6 +4,7 @@ import controller.util.Property;
 import model.GameModel;
 import model.common.Coordinate;
 import model.exceptions.OperationException;
+import model.util.Log;
 
 public class DemolishListener extends ServiceListener {
 
@@ -20,7 +21,7 @@ public class DemolishListener extends ServiceListener {
             property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
             property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
         } catch (OperationException e) {
-            System.out.println(e.getMessage());
+            Log.warn(e.getMessage());
         }
     }
 }
@@ -3,9 +3,18 @@ package controller.listeners;
 import controller.util.GameMode;
 import controller.util.Property;
 import model.GameModel;
+import model.common.Buildable;
 import model.common.Coordinate;
+import model.common.Dimension;
 import model.exceptions.OperationException;
 import model.facility.*;
+import model.util.BuildableType;
+import model.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class FacilityBuildingListener extends ServiceListener {
 
@@ -17,7 +26,71 @@ public class FacilityBuildingListener extends ServiceListener {
     public void update(Coordinate coordinate) {
         GameMode gmo = property.getGameMode();
         GameModel gm = property.getGameModel();
-        System.out.println(gmo);
+        Log.debug("Facility building in ", gmo);
+        Facility facility = createFacility(gmo, gm, coordinate);
+        try {
+            gm.addFacility(facility);
+            assert facility != null;
+            property.getCallBack().updateGridSystem(facility.getCoordinate(), facility);
+            property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
+            property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
+            Log.debug("Created", facility);
+        } catch (OperationException e) {
+            Log.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Builds facilities on all cells in one transaction, the connections are rechecked and the view is updated once.
+     * Cells which already hold a road are skipped in road mode, so a road can be dragged out of or across another one.
+     * A facility larger than a cell covers the cells after it, so the cells are stepped through by its dimension.
+     * @param coordinates Coordinates of the selected cells, row by row.
+     */
+    @Override
+    public void updateBatch(List<Coordinate> coordinates) {
+        GameMode gmo = property.getGameMode();
+        GameModel gm = property.getGameModel();
+        Buildable[][] map = gm.getMap();
+        int cols = map[0].length;
+        Set<Integer> covered = new HashSet<>();
+        List<Facility> facilities = new ArrayList<>();
+        for (Coordinate coordinate : coordinates) {
+            int row = coordinate.getRow();
+            int col = coordinate.getCol();
+            if (row < 0 || row >= map.length || col < 0 || col >= cols || covered.contains(row * cols + col)) {
+                continue;
+            }
+            if (gmo == GameMode.ROAD_MODE && map[row][col] != null && map[row][col].getBuildableType() == BuildableType.ROAD) {
+                continue;
+            }
+            Facility facility = createFacility(gmo, gm, coordinate);
+            if (facility == null) {
+                continue;
+            }
+            Dimension dimension = facility.getDimension();
+            for (int r = row; r < Math.min(map.length, row + dimension.getHeight()); r++) {
+                for (int c = col; c < Math.min(cols, col + dimension.getWidth()); c++) {
+                    covered.add(r * cols + c);
+                }
+            }
+            facilities.add(facility);
+        }
+        if (facilities.isEmpty()) {
+            return;
+        }
+        Log.debug("Facility batch building in ", gmo);
+        try {
+            gm.addFacilities(facilities);
+            property.getCallBack().updateGridSystem(facilities.get(0).getCoordinate(), facilities.get(0));
+            property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
+            property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
+            Log.debug("Created facilities: ", facilities.size());
+        } catch (OperationException e) {
+            Log.warn(e.getMessage());
+        }
+    }
+
+    private Facility createFacility(GameMode gmo, GameModel gm, Coordinate coordinate) {
         Facility facility = null;
         switch (gmo) {
             case ROAD_MODE -> facility = new RoadFactory(gm).createFacility(coordinate);
@@ -27,15 +100,6 @@ public class FacilityBuildingListener extends ServiceListener {
             case UNIVERSITY_MODE -> facility = new UniversityFactory(gm).createFacility(coordinate);
             case POLICE_MODE -> facility = new PoliceFactory(gm).createFacility(coordinate);
         }
-        try {
-            gm.addFacility(facility);
-            assert facility != null;
-            property.getCallBack().updateGridSystem(facility.getCoordinate(), facility);
-            property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
-            property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
-            System.out.println("Created" + facility);
-        } catch (OperationException e) {
-            System.out.println(e.getMessage());
-        }
+        return facility;
     }
 }
@@ -3,6 +3,7 @@ package controller.listeners;
 import controller.util.Property;
 import model.common.Coordinate;
 import model.exceptions.OperationException;
+import model.util.Log;
 import model.zone.Zone;
 
 public class SelectionListener extends ServiceListener {
@@ -18,7 +19,7 @@ public class SelectionListener extends ServiceListener {
             Zone zone = property.getGameModel().queryZoneStatistics(coordinate);
             property.getCallBack().updateStatisticPanel(zone);
         } catch (OperationException e) {
-            System.out.println(e.getMessage());
+            Log.warn(e.getMessage());
         }
     }
 }
@@ -3,6 +3,8 @@ package controller.listeners;
 import controller.util.Property;
 import model.common.Coordinate;
 
+import java.util.List;
+
 public abstract class ServiceListener {
 
     protected final Property property;
@@ -16,4 +18,15 @@ public abstract class ServiceListener {
      * @param coordinate Coordinate of the clicked place.
      */
     public abstract void update(Coordinate coordinate);
+
+    /**
+     * Update the game model for several cells at once, e.g. a dragged rectangle or line.
+     * By default the cells are handled one by one.
+     * @param coordinates Coordinates of the selected cells.
+     */
+    public void updateBatch(List<Coordinate> coordinates) {
+        for (Coordinate coordinate : coordinates) {
+            update(coordinate);
+        }
+    }
 }
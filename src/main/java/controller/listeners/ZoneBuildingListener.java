@@ -5,11 +5,15 @@ import controller.util.Property;
 import model.GameModel;
 import model.common.Coordinate;
 import model.exceptions.OperationException;
+import model.util.Log;
 import model.zone.CommercialZoneFactory;
 import model.zone.IndustrialZoneFactory;
 import model.zone.ResidentialZoneFactory;
 import model.zone.Zone;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ZoneBuildingListener extends ServiceListener {
 
 
@@ -22,14 +26,9 @@ public class ZoneBuildingListener extends ServiceListener {
 
         GameMode gmo = property.getGameMode();
         GameModel gm = property.getGameModel();
-        System.out.println(gmo);
-        Zone zone = null;
-        switch (gmo) {
-            case COMMERCIAL_MODE -> zone = new CommercialZoneFactory(gm).createZone(coordinate);
-            case INDUSTRIAL_MODE -> zone = new IndustrialZoneFactory(gm).createZone(coordinate);
-            case RESIDENTIAL_MODE -> zone = new ResidentialZoneFactory(gm).createZone(coordinate);
-        }
-        System.out.println("Created" + zone);
+        Log.debug("Zone building in ", gmo);
+        Zone zone = createZone(gmo, gm, coordinate);
+        Log.debug("Created", zone);
         try {
             gm.addZone(zone);
             assert zone != null;
@@ -37,7 +36,43 @@ public class ZoneBuildingListener extends ServiceListener {
             property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
             property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
         } catch (OperationException e) {
-            System.out.println(e.getMessage());
+            Log.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Builds zones on all cells in one transaction, the view is updated once.
+     * @param coordinates Coordinates of the selected cells.
+     */
+    @Override
+    public void updateBatch(List<Coordinate> coordinates) {
+        if (coordinates.isEmpty()) {
+            return;
+        }
+        GameMode gmo = property.getGameMode();
+        GameModel gm = property.getGameModel();
+        Log.debug("Zone batch building in ", gmo);
+        List<Zone> zones = new ArrayList<>();
+        for (Coordinate coordinate : coordinates) {
+            zones.add(createZone(gmo, gm, coordinate));
+        }
+        try {
+            gm.addZones(zones);
+            property.getCallBack().updateGridSystem(zones.get(0).getCoordinate(), zones.get(0));
+            property.getCallBack().updateCityStatisticPanel(gm.getCityStatistics());
+            property.getCallBack().updateBudgetPanel(gm.queryCityBudget());
+        } catch (OperationException e) {
+            Log.warn(e.getMessage());
+        }
+    }
+
+    private Zone createZone(GameMode gmo, GameModel gm, Coordinate coordinate) {
+        Zone zone = null;
+        switch (gmo) {
+            case COMMERCIAL_MODE -> zone = new CommercialZoneFactory(gm).createZone(coordinate);
+            case INDUSTRIAL_MODE -> zone = new IndustrialZoneFactory(gm).createZone(coordinate);
+            case RESIDENTIAL_MODE -> zone = new ResidentialZoneFactory(gm).createZone(coordinate);
         }
+        return zone;
     }
 }
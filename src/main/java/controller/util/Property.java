@@ -8,6 +8,7 @@ import model.common.Buildable;
 import model.common.Citizen;
 import model.common.Coordinate;
 import model.util.Date;
+import model.util.Log;
 import model.zone.Zone;
 import model.zone.ZoneStatistics;
 
@@ -26,50 +27,62 @@ public class Property {
         iCallBack = new ICallBack() {
             @Override
             public void updateGridSystem(Coordinate coordinate, Buildable buildable) {
-                System.out.println("Default Call back");
+                Log.debug("Default Call back");
             }
 
             @Override
             public void updateBudgetPanel(Budget budget) {
-                System.out.println("Default Call back");
-                System.out.println("________Callback Inform Budget_________");
-                System.out.println("Tax rate: " + budget.getTaxRate());
-                System.out.println("Balance: " + budget.getBalance());
-                System.out.println("---------------------------------------");
+                if (!Log.isDebugEnabled()) {
+                    return;
+                }
+                Log.debug("Default Call back");
+                Log.debug("________Callback Inform Budget_________");
+                Log.debug("Tax rate: " + budget.getTaxRate());
+                Log.debug("Balance: " + budget.getBalance());
+                Log.debug("---------------------------------------");
             }
 
             @Override
             public void updateStatisticPanel(Zone zone) {
-                System.out.println("Default Call back");
+                if (!Log.isDebugEnabled()) {
+                    return;
+                }
+                Log.debug("Default Call back");
                 ZoneStatistics zoneStatistics = zone.getStatistics();
-                System.out.println("________Callback Inform Zone Statistic_________");
-                System.out.println("Selected Zone population: " + zoneStatistics.getPopulation());
-                System.out.println("Selected Zone capacity: " + zone.getCapacity());
-                System.out.println("Selected Zone satisfaction: " + zoneStatistics.getSatisfaction());
-                System.out.println("Selected Zone citizens: ");
+                Log.debug("________Callback Inform Zone Statistic_________");
+                Log.debug("Selected Zone population: " + zoneStatistics.getPopulation());
+                Log.debug("Selected Zone capacity: " + zone.getCapacity());
+                Log.debug("Selected Zone satisfaction: " + zoneStatistics.getSatisfaction());
+                Log.debug("Selected Zone citizens: ");
                 List<Citizen> citizens = zone.getCitizens();
                 for (Citizen c :
                         citizens) {
-                    System.out.println(c);
+                    Log.debug(String.valueOf(c));
                 }
-                System.out.println("-----------------------------------------------");
+                Log.debug("-----------------------------------------------");
             }
 
             @Override
             public void updateDatePanel(Date date) {
-                System.out.println("Default Call back");
-                System.out.println("________Callback Inform City Date_________");
-                System.out.println("City Date: " + date);
-                System.out.println("------------------------------------------");
+                if (!Log.isDebugEnabled()) {
+                    return;
+                }
+                Log.debug("Default Call back");
+                Log.debug("________Callback Inform City Date_________");
+                Log.debug("City Date: " + date);
+                Log.debug("------------------------------------------");
             }
 
             @Override
             public void updateCityStatisticPanel(CityStatistics cityStatistics) {
-                System.out.println("Default Call back");
-                System.out.println("________Callback Inform City Statistic_________");
-                System.out.println("City population: " + cityStatistics.getPopulation(gameModel.getCityRegistry()));
-                System.out.println("City satisfaction: " + cityStatistics.getCitySatisfaction());
-                System.out.println("-----------------------------------------------");
+                if (!Log.isDebugEnabled()) {
+                    return;
+                }
+                Log.debug("Default Call back");
+                Log.debug("________Callback Inform City Statistic_________");
+                Log.debug("City population: " + cityStatistics.getPopulation(gameModel.getCityRegistry()));
+                Log.debug("City satisfaction: " + cityStatistics.getCitySatisfaction());
+                Log.debug("-----------------------------------------------");
             }
 
             @Override
@@ -0,0 +1,52 @@
+package controller.util;
+
+/**
+ * A change of the game model the view has to show, posted to the EventBus.
+ * Each kind matches a method of ICallBack, the payload is the argument of that method.
+ * A GRID event carries no cell, it only marks the grid as changed, so all of them in a frame are merged into one redraw.
+ */
+public class UiEvent {
+
+    public enum Kind {
+        /**
+         * The grid changed and has to be redrawn, there is no payload.
+         */
+        GRID,
+        /**
+         * The budget changed, the payload is the budget.
+         */
+        BUDGET,
+        /**
+         * A zone was selected, the payload is the zone.
+         */
+        ZONE_STATISTIC,
+        /**
+         * The date changed, the payload is the date.
+         */
+        DATE,
+        /**
+         * The city statistics changed, the payload is the city statistics.
+         */
+        CITY_STATISTIC,
+        /**
+         * The game is lost or not, the payload is a Boolean.
+         */
+        LOSE
+    }
+
+    private final Kind kind;
+    private final Object payload;
+
+    public UiEvent(Kind kind, Object payload) {
+        this.kind = kind;
+        this.payload = payload;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+}
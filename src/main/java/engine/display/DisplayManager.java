@@ -138,6 +138,21 @@ public class DisplayManager {
         lastFrameTime = currentFrameTime;
     }
 
+    /**
+     * Shows the progress of the loading in the title of the window and keeps the window responsive while loading.
+     * The original title is restored when everything is loaded.
+     * @param loaded number of loaded items
+     * @param total  number of items to load
+     */
+    public static void showLoadingProgress(int loaded, int total) {
+        if (loaded < total) {
+            glfwSetWindowTitle(window, TITLE + " - Loading " + (loaded * 100 / total) + "%");
+        } else {
+            glfwSetWindowTitle(window, TITLE);
+        }
+        glfwPollEvents();
+    }
+
     /**
      * @return window width
      */
@@ -2,128 +2,267 @@ package engine.engineMain;
 
 import engine.models.RawModel;
 import engine.models.TexturedModel;
-import engine.objConverter.ModelData;
+import engine.objConverter.MeshData;
 import engine.objConverter.OBJFileLoader;
 import engine.renderEngine.Loader;
+import engine.textures.Texture;
 import engine.textures.TextureAttribute;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * This class is called when loading into the game.
  * It uses the Asset Enum to load all of the assets into the GPU memory as Textured models.
+ * The meshes and textures are decoded on a pool of worker threads, only the uploads into the GPU memory
+ * are done on the thread of the OpenGL context, in the order the decoding finishes.
+ * Assets marked as on demand are not loaded at the start, only when they are first requested or prefetched.
  */
 public class AssetLoader {
 
+    /**
+     * Receives the progress of the loading, called on the thread of the OpenGL context.
+     */
+    public interface ProgressListener {
+        /**
+         * @param loaded number of meshes and textures loaded into the GPU memory so far
+         * @param total  number of meshes and textures to load
+         */
+        void onProgress(int loaded, int total);
+    }
+
+    private static final Assets[] FOREST_STAGES = {Assets.FOREST1, Assets.FOREST2, Assets.FOREST3, Assets.FOREST4, Assets.FOREST5,
+            Assets.FOREST6, Assets.FOREST7, Assets.FOREST8, Assets.FOREST9, Assets.FOREST10};
+
     private Loader LOADER = new Loader();
-    private final TexturedModel road;
-    private final TexturedModel residentialBuilding;
-    private final TexturedModel commercialBuilding;
-    private final TexturedModel industrialBuilding;
-    private final TexturedModel police;
-    private final TexturedModel stadium;
-    private final TexturedModel forest1;
-    private final TexturedModel forest2;
-    private final TexturedModel forest3;
-    private final TexturedModel forest4;
-    private final TexturedModel forest5;
-    private final TexturedModel forest6;
-    private final TexturedModel forest7;
-    private final TexturedModel forest8;
-    private final TexturedModel forest9;
-    private final TexturedModel forest10;
-
-    private final TexturedModel university;
-    private final TexturedModel school;
-    private final TexturedModel construction;
+    private final ExecutorService decoderPool;
+    private final Map<Assets, TexturedModel> models = new EnumMap<>(Assets.class);
+    private final Map<String, TextureAttribute> textures = new HashMap<>();
+    private final Map<Assets, Future<MeshData>> pendingMeshes = new EnumMap<>(Assets.class);
+    private final Map<String, Future<Texture>> pendingTextures = new HashMap<>();
 
     /**
-     * Constructor which initializes each Textured Model attribute by calling the loadAsset() method.
+     * Constructor which loads the assets without reporting the progress.
      */
     public AssetLoader() {
-        this.road = loadAsset(Assets.ROAD.getOBJFilename(), Assets.ROAD.getTextureFileName());
-        this.residentialBuilding = loadAsset(Assets.RESIDENTIAL.getOBJFilename(), Assets.RESIDENTIAL.getTextureFileName());
-        this.commercialBuilding = loadAsset(Assets.COMMERCIAL.getOBJFilename(), Assets.COMMERCIAL.getTextureFileName());
-        this.industrialBuilding = loadAsset(Assets.INDUSTRIAL.getOBJFilename(), Assets.INDUSTRIAL.getTextureFileName());
-        this.police = loadAsset(Assets.POLICE.getOBJFilename(), Assets.POLICE.getTextureFileName());
-        this.stadium = loadAsset(Assets.STADIUM.getOBJFilename(), Assets.STADIUM.getTextureFileName());
-        this.forest1 = loadAsset(Assets.FOREST1.getOBJFilename(), Assets.FOREST1.getTextureFileName());
-        this.forest2 = loadAsset(Assets.FOREST2.getOBJFilename(), Assets.FOREST2.getTextureFileName());
-        this.forest3 = loadAsset(Assets.FOREST3.getOBJFilename(), Assets.FOREST3.getTextureFileName());
-        this.forest4 = loadAsset(Assets.FOREST4.getOBJFilename(), Assets.FOREST4.getTextureFileName());
-        this.forest5 = loadAsset(Assets.FOREST5.getOBJFilename(), Assets.FOREST5.getTextureFileName());
-        this.forest6 = loadAsset(Assets.FOREST6.getOBJFilename(), Assets.FOREST6.getTextureFileName());
-        this.forest7 = loadAsset(Assets.FOREST7.getOBJFilename(), Assets.FOREST7.getTextureFileName());
-        this.forest8 = loadAsset(Assets.FOREST8.getOBJFilename(), Assets.FOREST8.getTextureFileName());
-        this.forest9 = loadAsset(Assets.FOREST9.getOBJFilename(), Assets.FOREST9.getTextureFileName());
-        this.forest10 = loadAsset(Assets.FOREST10.getOBJFilename(), Assets.FOREST10.getTextureFileName());
-        this.university = loadAsset(Assets.UNIVERSITY.getOBJFilename(), Assets.UNIVERSITY.getTextureFileName());
-        this.school = loadAsset(Assets.SCHOOL.getOBJFilename(), Assets.SCHOOL.getTextureFileName());
-        this.construction = loadAsset(Assets.CONSTRUCTION.getOBJFilename(), Assets.CONSTRUCTION.getTextureFileName());
+        this((loaded, total) -> {});
+    }
+
+    /**
+     * Constructor which loads every asset which is not on demand and reports the progress to the listener.
+     * @param listener
+     */
+    public AssetLoader(ProgressListener listener) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        this.decoderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-decoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Assets> assets = new ArrayList<>();
+        for (Assets asset : Assets.values()) {
+            if (!asset.isOnDemand()) {
+                assets.add(asset);
+            }
+        }
+        loadAssets(assets, listener);
+    }
+
+    /**
+     * Decodes the meshes and the textures of the assets on the worker pool and uploads each of them as soon as it is decoded.
+     * Textures shared by several assets are decoded and uploaded only once.
+     * After all uploads the Textured Models are created from the RawModels and the Textures.
+     * @param assets
+     * @param listener
+     */
+    private void loadAssets(List<Assets> assets, ProgressListener listener) {
+        Set<String> textureNames = new LinkedHashSet<>();
+        for (Assets asset : assets) {
+            textureNames.add(asset.getTextureFileName());
+        }
+        int total = assets.size() + textureNames.size();
+        CompletionService<Decoded> decoder = new ExecutorCompletionService<>(decoderPool);
+        for (Assets asset : assets) {
+            decoder.submit(() -> new Decoded(asset, OBJFileLoader.loadMesh(asset.getOBJFilename())));
+        }
+        for (String textureName : textureNames) {
+            decoder.submit(() -> new Decoded(textureName, Loader.decodeTexture(textureName)));
+        }
+
+        Map<Assets, RawModel> rawModels = new EnumMap<>(Assets.class);
+        for (int loaded = 1; loaded <= total; loaded++) {
+            Decoded decoded = await(next(decoder));
+            if (decoded.mesh != null) {
+                rawModels.put(decoded.asset, LOADER.loadToVAO(decoded.mesh.getVertexData(), decoded.mesh.getIndices(), decoded.mesh.getFurthestPoint(), decoded.mesh.getHeight()));
+            } else {
+                textures.put(decoded.textureName, new TextureAttribute(LOADER.loadTexture(decoded.texture)));
+            }
+            listener.onProgress(loaded, total);
+        }
+
+        for (Assets asset : assets) {
+            models.put(asset, new TexturedModel(rawModels.get(asset), textures.get(asset.getTextureFileName())));
+        }
+    }
+
+    /**
+     * Starts decoding an asset in the background, so it is ready to be uploaded when it is first requested.
+     * Does nothing if the asset is already loaded or being decoded.
+     * @param asset
+     */
+    public void prefetch(Assets asset) {
+        if (models.containsKey(asset) || pendingMeshes.containsKey(asset)) {
+            return;
+        }
+        pendingMeshes.put(asset, decoderPool.submit(() -> OBJFileLoader.loadMesh(asset.getOBJFilename())));
+        String textureName = asset.getTextureFileName();
+        if (!textures.containsKey(textureName) && !pendingTextures.containsKey(textureName)) {
+            pendingTextures.put(textureName, decoderPool.submit(() -> Loader.decodeTexture(textureName)));
+        }
     }
 
     /**
-     * Uses the file names given as parameters to first create a ModelData object which stores the data needed by the VAO
-     * Next a rawModel is created from the modelData data.
-     * Finally a TexturedModel is created from the Texture and RawModel after which it is returned.
-     * @param objFileName
-     * @param textureFilename
+     * Gets the Textured Model of an asset, loads it first if it is not loaded yet.
+     * Waits for the decoding if the asset was prefetched.
+     * @param asset
      * @return TexturedModel of the asset.
      */
-    private TexturedModel loadAsset(String objFileName, String textureFilename) {
-        ModelData modelData = OBJFileLoader.loadOBJ(objFileName);
-        RawModel rawModel = LOADER.loadToVAO(modelData.getVertices(), modelData.getTextureCoords(), modelData.getNormals(), modelData.getIndices());
-        TexturedModel texturedModel = new TexturedModel(rawModel, new TextureAttribute(LOADER.loadTexture(textureFilename)));
-        return texturedModel;
+    private TexturedModel get(Assets asset) {
+        TexturedModel model = models.get(asset);
+        if (model == null) {
+            prefetch(asset);
+            MeshData mesh = await(pendingMeshes.remove(asset));
+            RawModel rawModel = LOADER.loadToVAO(mesh.getVertexData(), mesh.getIndices(), mesh.getFurthestPoint(), mesh.getHeight());
+            String textureName = asset.getTextureFileName();
+            TextureAttribute texture = textures.get(textureName);
+            if (texture == null) {
+                texture = new TextureAttribute(LOADER.loadTexture(await(pendingTextures.remove(textureName))));
+                textures.put(textureName, texture);
+            }
+            model = new TexturedModel(rawModel, texture);
+            models.put(asset, model);
+        }
+        return model;
+    }
+
+    /**
+     * Waits for the next decoding task of the completion service to finish.
+     * @param decoder
+     * @return the finished task
+     */
+    private static <T> Future<T> next(CompletionService<T> decoder) {
+        try {
+            return decoder.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading of the assets was interrupted", e);
+        }
+    }
+
+    /**
+     * Waits for a decoding task to finish.
+     * @param future
+     * @return the result of the task
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading of the assets was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Couldn't load the assets", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the decoding threads and deletes the loaded assets from the GPU memory.
+     */
+    public void cleanUp() {
+        decoderPool.shutdownNow();
+        LOADER.cleanUp();
+    }
+
+    /**
+     * Result of a decoding task: either the mesh of an asset or a texture.
+     */
+    private static class Decoded {
+        private Assets asset;
+        private MeshData mesh;
+        private String textureName;
+        private Texture texture;
+
+        Decoded(Assets asset, MeshData mesh) {
+            this.asset = asset;
+            this.mesh = mesh;
+        }
+
+        Decoded(String textureName, Texture texture) {
+            this.textureName = textureName;
+            this.texture = texture;
+        }
     }
 
     public TexturedModel getRoad() {
-        return road;
+        return get(Assets.ROAD);
     }
 
     public TexturedModel getResidentialBuilding() {
-        return residentialBuilding;
+        return get(Assets.RESIDENTIAL);
     }
 
     public TexturedModel getCommercialBuilding() {
-        return commercialBuilding;
+        return get(Assets.COMMERCIAL);
     }
 
     public TexturedModel getIndustrialBuilding() {
-        return industrialBuilding;
+        return get(Assets.INDUSTRIAL);
     }
 
     public TexturedModel getPolice() {
-        return police;
+        return get(Assets.POLICE);
     }
 
     public TexturedModel getStadium() {
-        return stadium;
+        return get(Assets.STADIUM);
     }
 
+    /**
+     * Gets the model of the forest stage of the age and prefetches the next stage,
+     * so the model is decoded by the time the forest grows at the end of the year.
+     * @param age
+     * @return TexturedModel of the forest stage.
+     */
     public TexturedModel getForest(int age) {
-        switch (age) {
-            case 1 -> {return forest1;}
-            case 2 -> {return forest2;}
-            case 3 -> {return forest3;}
-            case 4 -> {return forest4;}
-            case 5 -> {return forest5;}
-            case 6 -> {return forest6;}
-            case 7 -> {return forest7;}
-            case 8 -> {return forest8;}
-            case 9 -> {return forest9;}
-            case 10 -> {return forest10;}
+        if (age < 1 || age > FOREST_STAGES.length) {
+            return get(Assets.FOREST10);
+        }
+        if (age < FOREST_STAGES.length) {
+            prefetch(FOREST_STAGES[age]);
         }
-        return forest10;
+        return get(FOREST_STAGES[age - 1]);
     }
 
     public TexturedModel getUniversity() {
-        return university;
+        return get(Assets.UNIVERSITY);
     }
 
     public TexturedModel getSchool() {
-        return school;
+        return get(Assets.SCHOOL);
     }
 
     public TexturedModel getConstruction() {
-        return construction;
+        return get(Assets.CONSTRUCTION);
     }
 }
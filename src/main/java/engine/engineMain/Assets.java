@@ -3,6 +3,7 @@ package engine.engineMain;
 /**
  * Enum used to store the necesarry data to load the files into the Texture processing and VAO's.
  * Stores the scale of each object, as well as the .obj filename and .png texture filename.
+ * Assets which are rarely used are loaded on demand instead of at the start of the game.
  */
 public enum Assets {
     ROAD ("road", "road", 1),
@@ -10,35 +11,48 @@ public enum Assets {
     COMMERCIAL("commercial", "assets/commercial", 1f),
     INDUSTRIAL("industrial", "assets/industrial", 0.7f),
     POLICE("police", "assets/police", 0.8f),
-    STADIUM("stadium", "assets/stadium", 0.5f),
-    FOREST1("forest1", "assets/forest", 1f),
-    FOREST2("forest2", "assets/forest", 1f),
-    FOREST3("forest3", "assets/forest", 1f),
-    FOREST4("forest4", "assets/forest", 1f),
-    FOREST5("forest5", "assets/forest", 1f),
-    FOREST6("forest6", "assets/forest", 1f),
-    FOREST7("forest7", "assets/forest", 1f),
-    FOREST8("forest8", "assets/forest", 1f),
-    FOREST9("forest9", "assets/forest", 1f),
+    STADIUM("stadium", "assets/stadium", 0.5f, true),
+    FOREST1("forest1", "assets/forest", 1f, true),
+    FOREST2("forest2", "assets/forest", 1f, true),
+    FOREST3("forest3", "assets/forest", 1f, true),
+    FOREST4("forest4", "assets/forest", 1f, true),
+    FOREST5("forest5", "assets/forest", 1f, true),
+    FOREST6("forest6", "assets/forest", 1f, true),
+    FOREST7("forest7", "assets/forest", 1f, true),
+    FOREST8("forest8", "assets/forest", 1f, true),
+    FOREST9("forest9", "assets/forest", 1f, true),
     FOREST10("forest10", "assets/forest", 1f),
-    UNIVERSITY("university", "assets/university", 2f),
+    UNIVERSITY("university", "assets/university", 2f, true),
     SCHOOL("school", "assets/school", 1f),
     CONSTRUCTION("construction", "assets/construction", 1f);
 
     private String OBJFilename;
     private String TextureFileName;
     private float scale;
+    private boolean onDemand;
 
     /**
-     * Constructor of enum.
+     * Constructor of enum for assets loaded at the start of the game.
      * @param OBJFileName
      * @param TextureFileName
      * @param scale
      */
     Assets(String OBJFileName, String TextureFileName, float scale) {
+        this(OBJFileName, TextureFileName, scale, false);
+    }
+
+    /**
+     * Constructor of enum.
+     * @param OBJFileName
+     * @param TextureFileName
+     * @param scale
+     * @param onDemand true if the asset is only loaded when it is first needed
+     */
+    Assets(String OBJFileName, String TextureFileName, float scale, boolean onDemand) {
         this.OBJFilename = OBJFileName;
         this.TextureFileName = TextureFileName;
         this.scale = scale;
+        this.onDemand = onDemand;
     }
 
     /**
@@ -61,4 +75,11 @@ public enum Assets {
     public float getScale() {
         return scale;
     }
+
+    /**
+     * @return true if the asset is only loaded when it is first needed.
+     */
+    public boolean isOnDemand() {
+        return onDemand;
+    }
 }
@@ -9,7 +9,9 @@ import engine.entities.Entity;
 import engine.entities.Light;
 import engine.fontMeshCreator.GUIText;
 import engine.fontRendering.TextMaster;
+import engine.guis.PerformanceOverlay;
 import engine.guis.UiButton;
+import engine.models.RawModel;
 import engine.models.TexturedModel;
 import engine.renderEngine.GuiRenderer;
 import engine.renderEngine.Loader;
@@ -18,6 +20,7 @@ import engine.terrain.Selector;
 import engine.terrain.Terrain;
 import engine.terrain.ZoneTile;
 import engine.textures.TextureAttribute;
+import engine.tools.FrameProfiler;
 import engine.tools.Keyboard;
 import engine.tools.Mouse;
 import engine.tools.MousePicker;
@@ -33,6 +36,7 @@ import model.util.Date;
 import model.zone.Zone;
 import model.zone.ZoneStatistics;
 import org.joml.Vector2f;
+import org.joml.Vector2i;
 import org.joml.Vector3f;
 import org.lwjgl.glfw.GLFW;
 import persistence.Database;
@@ -52,6 +56,10 @@ public class Handler implements ICallBack {
     private Loader loader;
     private AssetLoader assets;
     private WorldGrid worldGrid;
+    private RawModel zoneTileModel;
+    private TextureAttribute residentialTexture;
+    private TextureAttribute commercialTexture;
+    private TextureAttribute industrialTexture;
     private Selector selector;
     private Camera camera;
     private Light light;
@@ -70,12 +78,14 @@ public class Handler implements ICallBack {
     private GUIText framerate;
     private GUIText frametime;
     private GUIText gameStatus;
+    private PerformanceOverlay performanceOverlay = new PerformanceOverlay();
     private boolean zoneState = false;
     private boolean moneyTab = false;
     private boolean isGameOver = false;
     private boolean exitGame = false;
     private boolean HUD = true;
     private Boolean pausedByMenu = false;
+    private Coordinate dragStart = null;
 
     /**
      * Constructor initializes all renderers, calls asset load functions and initializes the game model, view model and controller.
@@ -85,8 +95,14 @@ public class Handler implements ICallBack {
 
         this.saveFile = saveFile;
         this.loader = new Loader();
-        this.assets = new AssetLoader();
-        this.worldGrid = new WorldGrid(loader, new TextureAttribute(loader.loadTexture("zones/grass")));
+        this.assets = new AssetLoader(DisplayManager::showLoadingProgress);
+        this.gameModel = Database.read();
+        int worldSize = gameModel != null ? gameModel.getMap().length : WorldGrid.getConfiguredWorldSize();
+        this.worldGrid = new WorldGrid(loader, new TextureAttribute(loader.loadTexture("zones/grass")), worldSize);
+        this.zoneTileModel = ZoneTile.generateSelector(loader);
+        this.residentialTexture = new TextureAttribute(loader.loadTexture("zones/residentialzonetile"));
+        this.commercialTexture = new TextureAttribute(loader.loadTexture("zones/commercialzonetile"));
+        this.industrialTexture = new TextureAttribute(loader.loadTexture("zones/industrialzonetile"));
         this.selector = new Selector(Terrain.getSize(), Terrain.getSize(),0, 0, loader, new TextureAttribute(loader.loadTexture("selector")));
 
         this.camera = new Camera(new Vector3f(Terrain.getSize() * worldGrid.getWorldSize() / 2, 40, Terrain.getSize() * worldGrid.getWorldSize() / 2 + 5));
@@ -98,12 +114,12 @@ public class Handler implements ICallBack {
         this.mousePicker = new MousePicker(camera, masterRenderer.getProjectionMatrix(), worldGrid);
 
 
-        if ((gameModel = Database.read()) == null) {
+        if (gameModel == null) {
             this.gameModel = new GameModel(worldGrid.getWorldSize(), worldGrid.getWorldSize());
             this.gameModel.initialize();
         }
 
-        this.controller = new Controller(gameModel);
+        this.controller = new Controller(gameModel, true);
 
         TextMaster.init(loader);
         viewModel = new ViewModel(controller, gameModel);
@@ -127,11 +143,13 @@ public class Handler implements ICallBack {
      * Main Render function
      * Everything that needs to be updated in the game is called from this function in some form or another.
      * Controller updates, Text, GUI and asset rendering is done here as well as input handeling.
+     * F3 cycles between the HUD, the HUD with the performance overlay and no HUD.
      */
     public boolean render() {
         if (DisplayManager.isRESIZED()) {
             DisplayManager.resize();
             masterRenderer = new MasterRenderer();
+            mousePicker.setProjectionMatrix(masterRenderer.getProjectionMatrix());
             DisplayManager.setRESIZED(false);
         }
 
@@ -152,12 +170,13 @@ public class Handler implements ICallBack {
         }
 
         if (timer >= baseTime / timeMultiplier) {
+            FrameProfiler.begin(FrameProfiler.Section.SIMULATION);
             controller.regularUpdateRequest(1, this);
 
 
             setWorldGrid();
-            viewModel.update();
             timer -= baseTime / timeMultiplier;
+            FrameProfiler.end(FrameProfiler.Section.SIMULATION);
         }
 
         camera.move();
@@ -181,6 +200,11 @@ public class Handler implements ICallBack {
                 controller.switchTimeModeRequest(TimeMode.PAUSE);
         }
 
+        boolean onGrid = coordsX < worldGrid.getWorldSize() && coordsX >= 0 && coordsY < worldGrid.getWorldSize() && coordsY >= 0;
+        if (Mouse.isLeftButtonPressed() && dragStart == null && onGrid) {
+            dragStart = new Coordinate(coordsX, coordsY);
+        }
+
         boolean buttonPressed = false;
         if (Mouse.isLeftButtonClicked()) {
             for (UiButton button : viewModel.getButtons()) {
@@ -195,9 +219,13 @@ public class Handler implements ICallBack {
                         case INDUSTRIAL_ZONE -> {viewModel.getBottomMenuBar().indZoneButtonAction();zoneState = true;}
                         case DE_ZONE -> viewModel.getBottomMenuBar().deZoneButtonAction();
                         case ROAD -> viewModel.getBottomMenuBar().roadButtonAction();
-                        case FOREST -> viewModel.getBottomMenuBar().forestButtonAction();
+                        case FOREST -> {
+                            viewModel.getBottomMenuBar().forestButtonAction();
+                            assets.prefetch(Assets.FOREST1);
+                        }
                         case STADIUM -> {
                             viewModel.getBottomMenuBar().stadiumButtonAction();
+                            assets.prefetch(Assets.STADIUM);
                             selector = new Selector(Terrain.getSize() * 2, Terrain.getSize() * 2,0, 0, loader, new TextureAttribute(loader.loadTexture("selector")));
                         }
                         case POLICE -> viewModel.getBottomMenuBar().policeButtonAction();
@@ -207,6 +235,7 @@ public class Handler implements ICallBack {
                         }
                         case UNIVERSITY -> {
                             viewModel.getBottomMenuBar().universityButton();
+                            assets.prefetch(Assets.UNIVERSITY);
                             selector = new Selector(Terrain.getSize() * 2, Terrain.getSize() * 2,0, 0, loader, new TextureAttribute(loader.loadTexture("selector")));
                         }
                         case MONEY -> {
@@ -258,7 +287,7 @@ public class Handler implements ICallBack {
                     {
                         this.gameModel = new GameModel(worldGrid.getWorldSize(), worldGrid.getWorldSize());
                         this.gameModel.initialize();
-                        this.controller = new Controller(gameModel);
+                        this.controller = new Controller(gameModel, true);
                         setWorldGrid();
                     }
 
@@ -272,13 +301,23 @@ public class Handler implements ICallBack {
                 }
             }
 
-            if (buttonPressed == false && coordsX < worldGrid.getWorldSize() && coordsX >= 0 && coordsY < worldGrid.getWorldSize() && coordsY >= 0) {
-                controller.mouseClickRequest(new Coordinate(coordsX, coordsY), this);
+            if (buttonPressed == false && onGrid) {
+                Coordinate dragEnd = new Coordinate(coordsX, coordsY);
+                if (dragStart != null && !dragStart.equals(dragEnd)) {
+                    controller.dragRequest(dragStart, dragEnd, this);
+                } else if (controller.isPickingBuildable()) {
+                    Vector2i pickedTile = mousePicker.getCurrentEntityTileCoords();
+                    controller.mouseClickRequest(new Coordinate(pickedTile.x, pickedTile.y), this);
+                } else {
+                    controller.mouseClickRequest(dragEnd, this);
+                }
             }
+            dragStart = null;
         }
 
         if (Keyboard.isClicked(GLFW_KEY_F3)) {
-            if (HUD) {HUD = false;}
+            if (HUD && !performanceOverlay.isVisible()) {performanceOverlay.setVisible(true);}
+            else if (HUD) {HUD = false; performanceOverlay.setVisible(false);}
             else {HUD = true;}
         }
 
@@ -296,14 +335,21 @@ public class Handler implements ICallBack {
             }
         }
 
+        controller.dispatchEvents();
         Mouse.update();
+        FrameProfiler.begin(FrameProfiler.Section.PROCESS_ASSETS);
         processAllAssets();
+        FrameProfiler.end(FrameProfiler.Section.PROCESS_ASSETS);
 
         masterRenderer.render(selector, camera, light);
 
         if (HUD) {
+            FrameProfiler.begin(FrameProfiler.Section.GUI);
             guiRenderer.render(viewModel.getButtons(), viewModel.getTabs());
+            FrameProfiler.end(FrameProfiler.Section.GUI);
+            FrameProfiler.begin(FrameProfiler.Section.TEXT);
             TextMaster.render();
+            FrameProfiler.end(FrameProfiler.Section.TEXT);
         }
 
         loader.clearTextVaos();
@@ -311,6 +357,8 @@ public class Handler implements ICallBack {
             timer += DisplayManager.getFrameTimeSeconds();
         }
         timer2 += DisplayManager.getFrameTimeSeconds();
+        FrameProfiler.endFrame(DisplayManager.getFrameTimeSeconds());
+        performanceOverlay.update(DisplayManager.getFrameTimeSeconds());
 
 
         return false;
@@ -346,7 +394,9 @@ public class Handler implements ICallBack {
         masterRenderer.cleanUp();
         TextMaster.cleanUp();
         loader.cleanUp();
+        assets.cleanUp();
         guiRenderer.cleanUp();
+        FrameProfiler.cleanUp();
     }
 
     /**
@@ -408,9 +458,9 @@ public class Handler implements ICallBack {
     private ZoneTile getZoneTile(Buildable buildable) {
         ZoneTile zoneTile = null;
         switch (buildable.getBuildableType()) {
-            case RESIDENTIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getResidentialBuilding(), "zones/residentialzonetile", Assets.RESIDENTIAL.getScale());}
-            case COMMERCIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getCommercialBuilding(), "zones/commercialzonetile", Assets.COMMERCIAL.getScale());}
-            case INDUSTRIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getIndustrialBuilding(), "zones/industrialzonetile", Assets.INDUSTRIAL.getScale());}
+            case RESIDENTIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getResidentialBuilding(), residentialTexture, Assets.RESIDENTIAL.getScale());}
+            case COMMERCIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getCommercialBuilding(), commercialTexture, Assets.COMMERCIAL.getScale());}
+            case INDUSTRIAL -> {zoneTile = getZoneTileHelper(buildable, assets.getIndustrialBuilding(), industrialTexture, Assets.INDUSTRIAL.getScale());}
         }
         return  zoneTile;
     }
@@ -419,13 +469,13 @@ public class Handler implements ICallBack {
      * Helper function to the GetZoneTile which is used to set the asset if it is under construction or not
      * @param buildable
      * @param asset
-     * @param filename
+     * @param texture
      * @param scale
      * @return
      */
-    private ZoneTile getZoneTileHelper(Buildable buildable, TexturedModel asset, String filename, float scale) {
+    private ZoneTile getZoneTileHelper(Buildable buildable, TexturedModel asset, TextureAttribute texture, float scale) {
         Entity entity = null;
-        ZoneTile zoneTile = new ZoneTile(buildable.getCoordinate().getRow(), buildable.getCoordinate().getCol(), loader, new TextureAttribute(loader.loadTexture(filename)));
+        ZoneTile zoneTile = new ZoneTile(buildable.getCoordinate().getRow(), buildable.getCoordinate().getCol(), zoneTileModel, texture);
         if (buildable.isUnderConstruction()) {
             entity = new Entity(assets.getConstruction(), new Vector3f(buildable.getCoordinate().getRow() * Terrain.getSize(), 0, (buildable.getCoordinate().getCol() + 1) * Terrain.getSize()), 0, 0, 0, Assets.CONSTRUCTION.getScale());
         } else {
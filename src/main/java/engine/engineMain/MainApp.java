@@ -1,6 +1,7 @@
 package engine.engineMain;
 
 import engine.display.DisplayManager;
+import model.util.Metrics;
 import view.main.MainMenu;
 
 import static org.lwjgl.glfw.GLFW.*;
@@ -10,6 +11,7 @@ public class MainApp {
     public static void main(String[] args) {
         //MainMenu mainMenu = new MainMenu();
 
+        Metrics.startDumpFromProperties();
         DisplayManager.createDisplay();
         Handler handler = new Handler("Savefile");
         Boolean ended;
@@ -23,6 +25,7 @@ public class MainApp {
 
 
         handler.cleanUp();
+        Metrics.stopDump();
         DisplayManager.closeDisplay();
     }
 
@@ -2,7 +2,9 @@ package engine.entities;
 
 import engine.display.DisplayManager;
 import engine.tools.Keyboard;
+import engine.tools.Maths;
 import engine.tools.Mouse;
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 import static org.lwjgl.glfw.GLFW.*;
@@ -24,6 +26,7 @@ public class Camera extends Entity{
     private float pitch = 45;
     private float yaw = 0;
     private float zoom = 50;
+    private final Matrix4f viewMatrix = new Matrix4f();
 
     /**
      * Constructor which sets initial position and rotation
@@ -32,6 +35,7 @@ public class Camera extends Entity{
     public Camera(Vector3f position) {
         super(position);
         super.increaseRotation(0, -90, 0);
+        Maths.createViewMatrix(this, viewMatrix);
     }
 
     /**
@@ -60,6 +64,15 @@ public class Camera extends Entity{
         float verticalDistance = calculateVerticalDistance();
         calculateCameraPosition(horizontalDistance, verticalDistance);
         zoom = 0;
+        Maths.createViewMatrix(this, viewMatrix);
+    }
+
+    /**
+     * The view matrix is calculated once per frame when the camera moves and shared by the shaders and the mouse picker.
+     * @return the view matrix of the Camera
+     */
+    public Matrix4f getViewMatrix() {
+        return viewMatrix;
     }
 
     /**
@@ -1,10 +1,14 @@
 package engine.entities;
 
 import engine.models.TexturedModel;
+import engine.tools.Maths;
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 /**
  * Represents any 3D entity's textured model, position and rotation within the 3D world.
+ * The transformation matrix of the entity is cached and only recalculated after the entity was moved, rotated or scaled,
+ * so the position, rotation and scale should be changed through the setters and increase methods.
  *
  * Camera extends this class by having position and rotation, but no textured model.
  */
@@ -15,6 +19,9 @@ public class Entity {
     protected float rotX, rotY, rotZ;
     protected float scale;
 
+    private final Matrix4f transformationMatrix = new Matrix4f();
+    private boolean transformationChanged = true;
+
     /**
      * Constructor for regular entities which have a TexturedModel.
      * @param model - The textured model of the entity
@@ -72,6 +79,7 @@ public class Entity {
      */
     public void setPosition(Vector3f position) {
         this.position = position;
+        transformationChanged = true;
     }
 
     /**
@@ -86,6 +94,7 @@ public class Entity {
      */
     public void setRotX(float rotX) {
         this.rotX = rotX;
+        transformationChanged = true;
     }
 
     /**
@@ -100,6 +109,7 @@ public class Entity {
      */
     public void setRotY(float rotY) {
         this.rotY = rotY;
+        transformationChanged = true;
     }
 
     /**
@@ -114,6 +124,7 @@ public class Entity {
      */
     public void setRotZ(float rotZ) {
         this.rotZ = rotZ;
+        transformationChanged = true;
     }
 
     /**
@@ -128,6 +139,7 @@ public class Entity {
      */
     public void setScale(float scale) {
         this.scale = scale;
+        transformationChanged = true;
     }
 
     /**
@@ -140,6 +152,7 @@ public class Entity {
         this.position.x += dx;
         this.position.y += dy;
         this.position.z += dz;
+        transformationChanged = true;
     }
 
     /**
@@ -152,5 +165,17 @@ public class Entity {
         this.rotX += dx;
         this.rotY += dy;
         this.rotZ += dz;
+        transformationChanged = true;
+    }
+
+    /**
+     * @return the transformation matrix of the Entity, recalculated only if the Entity changed since the last call.
+     */
+    public Matrix4f getTransformationMatrix() {
+        if (transformationChanged) {
+            Maths.createTransformationMatrix(position.x, position.y, position.z, rotX, rotY, rotZ, scale, transformationMatrix);
+            transformationChanged = false;
+        }
+        return transformationMatrix;
     }
 }
@@ -3,6 +3,7 @@ package engine.fontRendering;
 
 import engine.fontMeshCreator.FontType;
 import engine.fontMeshCreator.GUIText;
+import engine.tools.FrameProfiler;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL20;
@@ -39,6 +40,7 @@ public class FontRenderer {
 		{
 			GL13.glActiveTexture(GL13.GL_TEXTURE0);
 			GL11.glBindTexture(GL11.GL_TEXTURE_2D,font.getTextureAtlas());
+			FrameProfiler.countTextureBind();
 			for (GUIText text : texts.get(font))
 			{
 				renderText(text);
@@ -69,6 +71,7 @@ public class FontRenderer {
 		shader.loadColour(text.getColour());
 		shader.loadTranslation(text.getPosition());
 		GL11.glDrawArrays(GL11.GL_TRIANGLES,0,text.getVertexCount());
+		FrameProfiler.countDrawCall();
 		GL20.glDisableVertexAttribArray(0);
 		GL20.glDisableVertexAttribArray(1);
 		GL30.glBindVertexArray(0);
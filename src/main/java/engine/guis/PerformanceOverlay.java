@@ -0,0 +1,115 @@
+package engine.guis;
+
+import engine.fontMeshCreator.GUIText;
+import engine.fontRendering.TextMaster;
+import engine.renderEngine.Loader;
+import engine.tools.FrameProfiler;
+import org.joml.Vector2f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance overlay showing the data of the FrameProfiler as text lines:
+ * a histogram of the recent frame times, the CPU and GPU time of each section of the frame,
+ * the draw calls and texture binds of the last frame and the live OpenGL objects of the loaders.
+ * The lines are created once and their text is refreshed a few times per second, so the overlay does not create text meshes every frame.
+ */
+public class PerformanceOverlay {
+
+    private static final float REFRESH_SECONDS = 0.25f;
+    private static final float FONT_SIZE = 0.7f;
+    private static final float LEFT = 0.72f;
+    private static final float TOP = 0.01f;
+    private static final float LINE_HEIGHT = 0.018f;
+    private static final int BAR_WIDTH = 30;
+    private static final float[] HISTOGRAM_BOUNDS = {8.3f, 16.7f, 33.3f, 50f, 100f};
+    private static final String[] HISTOGRAM_LABELS = {"< 8 ms", "8-17 ms", "17-33 ms", "33-50 ms", "50-100 ms", "> 100 ms"};
+
+    private final List<GUIText> lines = new ArrayList<GUIText>();
+    private int shown = 0;
+    private boolean visible = false;
+    private float timer = REFRESH_SECONDS;
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Shows or hides the overlay, the profiler only measures while the overlay is shown.
+     * @param visible
+     */
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+        this.visible = visible;
+        FrameProfiler.setEnabled(visible);
+        if (visible) {
+            timer = REFRESH_SECONDS;
+        } else {
+            clearLines();
+        }
+    }
+
+    /**
+     * Rebuilds the lines of the overlay if it is visible and the refresh time has passed.
+     * @param frameTimeSeconds
+     */
+    public void update(float frameTimeSeconds) {
+        if (!visible) {
+            return;
+        }
+        timer += frameTimeSeconds;
+        if (timer < REFRESH_SECONDS) {
+            return;
+        }
+        timer = 0;
+        List<String> text = new ArrayList<String>();
+        text.add("Frame times (worst " + format(FrameProfiler.getWorstFrameMillis()) + " ms)");
+        int[] histogram = FrameProfiler.getFrameTimeHistogram(HISTOGRAM_BOUNDS);
+        int max = 1;
+        for (int count : histogram) {
+            max = Math.max(max, count);
+        }
+        for (int i = 0; i < histogram.length; i++) {
+            text.add(HISTOGRAM_LABELS[i] + " " + "|".repeat(histogram[i] * BAR_WIDTH / max) + " " + histogram[i]);
+        }
+        text.add("Section: CPU ms / GPU ms");
+        for (FrameProfiler.Section section : FrameProfiler.Section.values()) {
+            String line = section.getLabel() + ": " + format(FrameProfiler.getCpuMillis(section));
+            float gpu = FrameProfiler.getGpuMillis(section);
+            if (gpu >= 0) {
+                line += " / " + format(gpu);
+            }
+            text.add(line);
+        }
+        text.add("Draw calls: " + FrameProfiler.getDrawCalls() + "  Texture binds: " + FrameProfiler.getTextureBinds());
+        text.add("VAOs: " + Loader.getLiveVaoCount() + "  VBOs: " + Loader.getLiveVboCount() + "  Textures: " + Loader.getLiveTextureCount());
+        clearLines();
+        for (int i = 0; i < text.size(); i++) {
+            if (i == lines.size()) {
+                GUIText line = new GUIText("", FONT_SIZE, new Vector2f(LEFT, TOP + i * LINE_HEIGHT), 1 - LEFT, false);
+                line.setColour(0, 0, 0);
+                lines.add(line);
+            }
+            lines.get(i).setTextString(text.get(i));
+            TextMaster.loadText(lines.get(i));
+            shown++;
+        }
+    }
+
+    /**
+     * Removes the shown lines from the TextMaster, the lines are kept to be reused.
+     */
+    private void clearLines() {
+        for (int i = 0; i < shown; i++) {
+            TextMaster.removeText(lines.get(i));
+        }
+        shown = 0;
+    }
+
+    private static String format(float millis) {
+        return String.format("%.2f", millis);
+    }
+}
@@ -6,10 +6,24 @@ package engine.models;
 public class RawModel {
     private int vaoID;
     private int vertexCount;
+    private float furthestPoint;
+    private float height;
 
     public RawModel(int vaoID, int vertexCount) {
+        this(vaoID, vertexCount, 0, 0);
+    }
+
+    /**
+     * @param vaoID
+     * @param vertexCount
+     * @param furthestPoint distance of the furthest vertex from the origin of the model, used as its bounds
+     * @param height the highest y coordinate of the vertices of the model
+     */
+    public RawModel(int vaoID, int vertexCount, float furthestPoint, float height) {
         this.vaoID = vaoID;
         this.vertexCount = vertexCount;
+        this.furthestPoint = furthestPoint;
+        this.height = height;
     }
 
     /**
@@ -25,4 +39,18 @@ public class RawModel {
     public int getVertexCount() {
         return vertexCount;
     }
+
+    /**
+     * @return The distance of the furthest vertex from the origin of the model, 0 if it is not known.
+     */
+    public float getFurthestPoint() {
+        return furthestPoint;
+    }
+
+    /**
+     * @return The highest y coordinate of the vertices of the model, 0 if it is not known.
+     */
+    public float getHeight() {
+        return height;
+    }
 }
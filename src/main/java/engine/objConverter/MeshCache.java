@@ -0,0 +1,184 @@
+package engine.objConverter;
+
+import model.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The MeshCache class is storing the parsed .obj files in a binary format, so they do not have to be parsed on every start.
+ * A cached mesh is a header (magic, version, vertex count, index count, furthest point, height)
+ * followed by the interleaved vertex data and the indices, all in the native byte order.
+ * A cached mesh is memory mapped when loaded, so its data goes straight to the VBOs without copying it into arrays.
+ * The cache is kept in the directory given by the utopia.mesh.cache system property,
+ * by default in a directory of the temporary directory, so it does not depend on where the game is started from.
+ */
+public class MeshCache {
+    private static final Path CACHE_LOC = Path.of(System.getProperty("utopia.mesh.cache",
+            Path.of(System.getProperty("java.io.tmpdir"), "utopia-meshes").toString()));
+    private static final int MAGIC = 0x554D5348;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    /**
+     * Loads the mesh of an .obj file from the cache.
+     * If the cached mesh is missing or older than the .obj file, the .obj file is parsed and the cache is written first.
+     * @param objFile The .obj file of the asset.
+     * @param cacheName The name of the cached mesh.
+     * @return MeshData object containing the mesh in direct buffers.
+     * @throws IllegalStateException if the .obj file cannot be parsed.
+     */
+    public static MeshData load(File objFile, String cacheName) {
+        Path cacheFile = CACHE_LOC.resolve(cacheName + ".mesh");
+        ModelData data = null;
+        try {
+            if (isFresh(cacheFile, objFile)) {
+                MeshData mesh = map(cacheFile);
+                if (mesh != null) {
+                    return mesh;
+                }
+            }
+            data = parse(objFile);
+            write(cacheFile, data);
+            MeshData mesh = map(cacheFile);
+            if (mesh != null) {
+                return mesh;
+            }
+        } catch (IOException e) {
+            Log.warn("Couldn't use the mesh cache of " + objFile + ": " + e.getMessage());
+        }
+        return toMeshData(data != null ? data : parse(objFile));
+    }
+
+    /**
+     * @return the parsed .obj file.
+     * @throws IllegalStateException if the .obj file cannot be parsed.
+     */
+    private static ModelData parse(File objFile) {
+        ModelData data = OBJFileLoader.parseOBJ(objFile);
+        if (data == null) {
+            throw new IllegalStateException("Couldn't parse the mesh " + objFile);
+        }
+        return data;
+    }
+
+    /**
+     * Checks if the cached mesh exists and was written after the last change of the .obj file.
+     */
+    private static boolean isFresh(Path cacheFile, File objFile) throws IOException {
+        return Files.exists(cacheFile) &&
+                Files.getLastModifiedTime(cacheFile).toMillis() >= objFile.lastModified();
+    }
+
+    /**
+     * Maps a cached mesh into memory.
+     * @return the mesh, null if the file is not a valid cached mesh.
+     */
+    private static MeshData map(Path cacheFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int vertexCount = buffer.getInt();
+            int indexCount = buffer.getInt();
+            float furthestPoint = buffer.getFloat();
+            float height = buffer.getFloat();
+            long vertexBytes = (long) vertexCount * MeshData.FLOATS_PER_VERTEX * Float.BYTES;
+            long indexBytes = (long) indexCount * Integer.BYTES;
+            if (channel.size() != HEADER_BYTES + vertexBytes + indexBytes) {
+                return null;
+            }
+            FloatBuffer vertexData = buffer.slice(HEADER_BYTES, (int) vertexBytes)
+                    .order(ByteOrder.nativeOrder()).asFloatBuffer();
+            IntBuffer indices = buffer.slice(HEADER_BYTES + (int) vertexBytes, (int) indexBytes)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+            return new MeshData(vertexData, indices, furthestPoint, height);
+        }
+    }
+
+    /**
+     * Writes the parsed model into the cache.
+     * The file is written next to its final place and moved there, so a half written file is never read.
+     */
+    private static void write(Path cacheFile, ModelData data) throws IOException {
+        int vertexCount = data.getVertices().length / 3;
+        int[] indices = data.getIndices();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES +
+                (vertexCount * MeshData.FLOATS_PER_VERTEX + indices.length) * Float.BYTES);
+        buffer.order(ByteOrder.nativeOrder());
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(indices.length).putFloat(data.getFurthestPoint())
+                .putFloat(height(data));
+        putInterleaved(buffer.asFloatBuffer(), data);
+        buffer.position(buffer.position() + vertexCount * MeshData.FLOATS_PER_VERTEX * Float.BYTES);
+        buffer.asIntBuffer().put(indices);
+        buffer.position(buffer.capacity());
+        buffer.flip();
+
+        Files.createDirectories(cacheFile.getParent());
+        Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Converts a parsed model to a mesh without the cache, used if the cache cannot be written.
+     */
+    private static MeshData toMeshData(ModelData data) {
+        int vertexCount = data.getVertices().length / 3;
+        FloatBuffer vertexData = ByteBuffer.allocateDirect(vertexCount * MeshData.FLOATS_PER_VERTEX * Float.BYTES)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        putInterleaved(vertexData, data);
+        vertexData.flip();
+        IntBuffer indices = ByteBuffer.allocateDirect(data.getIndices().length * Integer.BYTES)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+        indices.put(data.getIndices());
+        indices.flip();
+        return new MeshData(vertexData, indices, data.getFurthestPoint(), height(data));
+    }
+
+    /**
+     * @return the highest y coordinate of the vertices of the model, at least 0.
+     */
+    private static float height(ModelData data) {
+        float[] vertices = data.getVertices();
+        float height = 0;
+        for (int i = 1; i < vertices.length; i += 3) {
+            height = Math.max(height, vertices[i]);
+        }
+        return height;
+    }
+
+    /**
+     * Interleaves the position, texture coordinates and normal of every vertex into the buffer.
+     */
+    private static void putInterleaved(FloatBuffer buffer, ModelData data) {
+        float[] vertices = data.getVertices();
+        float[] textureCoords = data.getTextureCoords();
+        float[] normals = data.getNormals();
+        for (int i = 0; i < vertices.length / 3; i++) {
+            buffer.put(vertices, i * 3, 3);
+            buffer.put(textureCoords, i * 2, 2);
+            buffer.put(normals, i * 3, 3);
+        }
+    }
+}
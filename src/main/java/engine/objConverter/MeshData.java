@@ -0,0 +1,59 @@
+package engine.objConverter;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The MeshData class is storing the data of a binary mesh, ready to be loaded into a VAO.
+ * The vertex data is interleaved: position (3 floats), texture coordinates (2 floats), normal (3 floats).
+ */
+public class MeshData {
+    public static final int FLOATS_PER_VERTEX = 8;
+
+    private FloatBuffer vertexData;
+    private IntBuffer indices;
+    private float furthestPoint;
+    private float height;
+
+    public MeshData(FloatBuffer vertexData, IntBuffer indices, float furthestPoint, float height) {
+        this.vertexData = vertexData;
+        this.indices = indices;
+        this.furthestPoint = furthestPoint;
+        this.height = height;
+    }
+
+    /**
+     * @return direct buffer of the interleaved vertex data.
+     */
+    public FloatBuffer getVertexData() {
+        return vertexData;
+    }
+
+    /**
+     * @return direct buffer of the indices which specify to shader how vertices of assets should be connected.
+     */
+    public IntBuffer getIndices() {
+        return indices;
+    }
+
+    /**
+     * @return the number of indices in the mesh.
+     */
+    public int getIndexCount() {
+        return indices.remaining();
+    }
+
+    /**
+     * @return the distance of the furthest vertex from the origin.
+     */
+    public float getFurthestPoint() {
+        return furthestPoint;
+    }
+
+    /**
+     * @return the highest y coordinate of the vertices, 0 if every vertex is below the origin.
+     */
+    public float getHeight() {
+        return height;
+    }
+}
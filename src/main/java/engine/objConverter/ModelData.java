@@ -46,4 +46,11 @@ public class ModelData {
     public int[] getIndices() {
         return indices;
     }
+
+    /**
+     * @return the distance of the furthest vertex from the origin.
+     */
+    public float getFurthestPoint() {
+        return furthestPoint;
+    }
 }
@@ -1,5 +1,6 @@
 package engine.objConverter;
 
+import model.util.Log;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
 
@@ -14,6 +15,16 @@ import java.util.List;
 public class OBJFileLoader {
     private static final String RES_LOC = "src/main/resources/objects/";
 
+    /**
+     * Loads the mesh of an asset through the binary mesh cache.
+     * The .obj file is only parsed if it has no up-to-date cached mesh.
+     * @param objFileName The name of the asset .obj file.
+     * @return MeshData object containing the interleaved vertex data and the indices in direct buffers.
+     */
+    public static MeshData loadMesh(String objFileName) {
+        return MeshCache.load(new File(RES_LOC + objFileName + ".obj"), objFileName);
+    }
+
     /**
      * This method takes in the filename of the asset and reads through every line of the file.
      * Depending on the prefix in the line, the data is assigned to the relevant arrays and the Modeldata object is created.
@@ -21,12 +32,21 @@ public class OBJFileLoader {
      * @return ModelData object containing all necessary data in arrays.
      */
     public static ModelData loadOBJ(String objFileName) {
-        FileReader isr = null;
-        File objFile = new File(RES_LOC + objFileName + ".obj");
+        return parseOBJ(new File(RES_LOC + objFileName + ".obj"));
+    }
+
+    /**
+     * Parses an .obj file, see loadOBJ().
+     * @param objFile The .obj file of the asset.
+     * @return ModelData object containing all necessary data in arrays, null if the file cannot be read.
+     */
+    static ModelData parseOBJ(File objFile) {
+        FileReader isr;
         try {
             isr = new FileReader(objFile);
         } catch (FileNotFoundException e) {
-            System.err.println("File not found in res; don't use any extension");
+            Log.error("File not found in res; don't use any extension: " + objFile);
+            return null;
         }
         BufferedReader reader = new BufferedReader(isr);
         String line;
@@ -37,6 +57,11 @@ public class OBJFileLoader {
         try {
             while (true) {
                 line = reader.readLine();
+                if (line == null) {
+                    Log.error("No faces in " + objFile);
+                    reader.close();
+                    return null;
+                }
                 if (line.startsWith("v ")) {
                     String[] currentLine = line.split(" ");
                     Vector3f vertex = new Vector3f(Float.parseFloat(currentLine[1]),
@@ -71,8 +96,9 @@ public class OBJFileLoader {
                 line = reader.readLine();
             }
             reader.close();
-        } catch (IOException e) {
-            System.err.println("Error reading the file");
+        } catch (IOException | RuntimeException e) {
+            Log.error("Error reading the file " + objFile, e);
+            return null;
         }
         removeUnusedVertices(vertices);
         float[] verticesArray = new float[vertices.size() * 3];
@@ -5,7 +5,7 @@ import engine.models.RawModel;
 import engine.models.TexturedModel;
 import engine.shaders.EntityShader;
 import engine.textures.TextureAttribute;
-import engine.tools.Maths;
+import engine.tools.FrameProfiler;
 import org.joml.Matrix4f;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
@@ -48,6 +48,7 @@ public class EntityRenderer {
             for(Entity entity: batch) {
                 prepareInstance(entity);
                 GL11.glDrawElements(GL11.GL_TRIANGLES, entity.getModel().getRawModel().getVertexCount(), GL11.GL_UNSIGNED_INT, 0);
+                FrameProfiler.countDrawCall();
             }
             unbindModel();
         }
@@ -70,6 +71,7 @@ public class EntityRenderer {
         shader.loadShineVariables(texture.getShineDamper(), texture.getReflectivity());
         GL13.glActiveTexture(GL13.GL_TEXTURE0);
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture.getTextureID());
+        FrameProfiler.countTextureBind();
 
     }
 
@@ -88,7 +90,6 @@ public class EntityRenderer {
      * @param entity
      */
     private void prepareInstance(Entity entity) {
-        Matrix4f transformationMatrix = Maths.createTransformationMatrix(entity.getPosition(), entity.getRotX(), entity.getRotY(), entity.getRotZ(), entity.getScale());
-        shader.loadTransformationMatrix(transformationMatrix);
+        shader.loadTransformationMatrix(entity.getTransformationMatrix());
     }
 }
@@ -0,0 +1,100 @@
+package engine.renderEngine;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.opengl.GL33;
+
+import java.util.Arrays;
+
+/**
+ * GpuTimer measures how long the GPU works on sections of a frame with timestamp queries.
+ * The queries of a frame are read back a few frames later, when their results are already available,
+ * so measuring never makes the CPU wait for the GPU.
+ */
+public class GpuTimer {
+
+    private static final int FRAMES_IN_FLIGHT = 3;
+
+    private final int sections;
+    private final int[][] queries;
+    private final boolean[][] issued;
+    private final long[] results;
+    private int frame = 0;
+
+    /**
+     * Creates the queries for the given number of sections in each frame slot.
+     * @param sections
+     */
+    public GpuTimer(int sections) {
+        this.sections = sections;
+        this.queries = new int[FRAMES_IN_FLIGHT][sections * 2];
+        this.issued = new boolean[FRAMES_IN_FLIGHT][sections];
+        this.results = new long[sections];
+        Arrays.fill(results, -1);
+        for (int[] frameQueries : queries) {
+            GL15.glGenQueries(frameQueries);
+        }
+    }
+
+    /**
+     * @return true if the OpenGL context supports timestamp queries.
+     */
+    public static boolean isSupported() {
+        GLCapabilities capabilities = GL.getCapabilities();
+        return capabilities.OpenGL33 || capabilities.GL_ARB_timer_query;
+    }
+
+    /**
+     * Records the time when the GPU reaches the start of the section.
+     * @param section
+     */
+    public void begin(int section) {
+        GL33.glQueryCounter(queries[frame][section * 2], GL33.GL_TIMESTAMP);
+    }
+
+    /**
+     * Records the time when the GPU reaches the end of the section.
+     * @param section
+     */
+    public void end(int section) {
+        GL33.glQueryCounter(queries[frame][section * 2 + 1], GL33.GL_TIMESTAMP);
+        issued[frame][section] = true;
+    }
+
+    /**
+     * Moves to the next frame slot and reads the results of the oldest frame before its queries are reused.
+     * Results which are not available yet are skipped, the previous value of the section is kept.
+     */
+    public void endFrame() {
+        frame = (frame + 1) % FRAMES_IN_FLIGHT;
+        for (int section = 0; section < sections; section++) {
+            if (!issued[frame][section]) {
+                continue;
+            }
+            int start = queries[frame][section * 2];
+            int end = queries[frame][section * 2 + 1];
+            if (GL15.glGetQueryObjecti(end, GL15.GL_QUERY_RESULT_AVAILABLE) == GL15.GL_TRUE) {
+                results[section] = GL33.glGetQueryObjecti64(end, GL15.GL_QUERY_RESULT) - GL33.glGetQueryObjecti64(start, GL15.GL_QUERY_RESULT);
+            }
+            issued[frame][section] = false;
+        }
+    }
+
+    /**
+     * @param section
+     * @return the last measured GPU time of the section in nanoseconds, -1 if it has not been measured yet.
+     */
+    public long getNanos(int section) {
+        return results[section];
+    }
+
+    /**
+     * Deletes the queries from the GPU.
+     */
+    public void cleanUp() {
+        for (int[] frameQueries : queries) {
+            GL15.glDeleteQueries(frameQueries);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import engine.models.RawModel;
 import engine.shaders.GuiShader;
 import engine.guis.UiButton;
 import engine.tools.Maths;
+import engine.tools.FrameProfiler;
 import org.joml.Matrix4f;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
@@ -21,6 +22,7 @@ public class GuiRenderer {
 
     private final RawModel quad;
     private GuiShader shader;
+    private final Matrix4f transformationMatrix = new Matrix4f();
 
     /**
      * Constructor which takes in the loader to create a 2D plane.
@@ -52,17 +54,19 @@ public class GuiRenderer {
         for (UiTab tab : tabs){
             GL13.glActiveTexture(GL13.GL_TEXTURE0);
             GL11.glBindTexture(GL11.GL_TEXTURE_2D, tab.getTexture());
-            Matrix4f matrix = Maths.createTransformationMatrix(tab.getPosition(), tab.getScale());
-            shader.loadTransformation(matrix);
+            FrameProfiler.countTextureBind();
+            shader.loadTransformation(Maths.createTransformationMatrix(tab.getPosition(), tab.getScale(), transformationMatrix));
             GL11.glDrawArrays(GL11.GL_TRIANGLE_STRIP, 0, quad.getVertexCount());
+            FrameProfiler.countDrawCall();
         }
 
         for (UiButton button : buttons){
             GL13.glActiveTexture(GL13.GL_TEXTURE0);
             GL11.glBindTexture(GL11.GL_TEXTURE_2D, button.getTexture());
-            Matrix4f matrix = Maths.createTransformationMatrix(button.getPosition(), button.getScale());
-            shader.loadTransformation(matrix);
+            FrameProfiler.countTextureBind();
+            shader.loadTransformation(Maths.createTransformationMatrix(button.getPosition(), button.getScale(), transformationMatrix));
             GL11.glDrawArrays(GL11.GL_TRIANGLE_STRIP, 0, quad.getVertexCount());
+            FrameProfiler.countDrawCall();
         }
 
         GL11.glEnable(GL11.GL_DEPTH_TEST);
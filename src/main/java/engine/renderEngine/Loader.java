@@ -4,6 +4,7 @@ import engine.textures.Texture;
 import org.lwjgl.BufferUtils;
 import engine.models.RawModel;
 import org.lwjgl.opengl.*;
+import org.lwjgl.stb.STBImage;
 
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
@@ -18,6 +19,10 @@ public class Loader {
     private List<Integer> textVaos = new ArrayList<Integer>();
     private List<Integer> vbos = new ArrayList<Integer>();
     private List<Integer> textures = new ArrayList<Integer>();
+    private static int liveVaos = 0;
+    private static int liveVbos = 0;
+    private static int liveTextures = 0;
+
     /**
      * Method used to return RawModel of 3D Object
      * Creates a VAO and then:
@@ -42,6 +47,40 @@ public class Loader {
         return new RawModel(vaoID, indices.length);
     }
 
+    /**
+     * Method used to return RawModel of 3D Object from interleaved vertex data, e.g. a cached binary mesh.
+     * Same process as LoadToVAO for entities, however all vertex data is stored in one VBO:
+     *                  Each vertex is 8 floats - position (3), texture coordinates (2) and normal vector (3)
+     *                  Attributes 0, 1 and 2 of the VAO point into this VBO with a stride of 8 floats
+     * The buffers are passed to OpenGL as they are, so they must be direct buffers.
+     * @param interleavedData
+     *                  - The interleaved vertex data
+     * @param indices
+     *                  - The indices of the vertices
+     * @param furthestPoint
+     *                  - The distance of the furthest vertex from the origin of the model
+     * @param height
+     *                  - The highest y coordinate of the vertices of the model
+     * @return the loaded model
+     */
+    public RawModel loadToVAO(FloatBuffer interleavedData, IntBuffer indices, float furthestPoint, float height) {
+        int vaoID = createVAO();
+        int vertexCount = indices.remaining();
+        bindIndicesBuffer(indices);
+        int vboID = GL15.glGenBuffers();
+        liveVbos++;
+        vbos.add(vboID);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboID);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, interleavedData, GL15.GL_STATIC_DRAW);
+        int stride = 8 * Float.BYTES;
+        GL20.glVertexAttribPointer(0, 3, GL11.GL_FLOAT, false, stride, 0);
+        GL20.glVertexAttribPointer(1, 2, GL11.GL_FLOAT, false, stride, 3 * Float.BYTES);
+        GL20.glVertexAttribPointer(2, 3, GL11.GL_FLOAT, false, stride, 5 * Float.BYTES);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        unbindVAO();
+        return new RawModel(vaoID, vertexCount, furthestPoint, height);
+    }
+
     /**
      * Method responsible for loading VAO for GUI Objects.
      * Same process as LoadToVAO for entities however index array is not required.
@@ -78,10 +117,33 @@ public class Loader {
      * @return ID of the loaded texture
      */
     public int loadTexture(String fileName) {
-        Texture texture = Texture.loadTexture("src/main/resources/textures/" + fileName + ".png");
+        return loadTexture(decodeTexture(fileName));
+    }
 
+    /**
+     * Decodes the png texture into memory without touching OpenGL, so it can be called from any thread.
+     *
+     * @param fileName  - Name of the file which contains the texture of an object
+     * @return the decoded Texture, which can be loaded into OpenGL with loadTexture(Texture)
+     */
+    public static Texture decodeTexture(String fileName) {
+        return Texture.loadTexture("src/main/resources/textures/" + fileName + ".png");
+    }
+
+    /**
+     * Creates a Texture Object from an already decoded texture and frees the decoded image afterwards.
+     * Must be called on the thread of the OpenGL context.
+     *
+     * @param texture  - The decoded texture
+     * @return ID of the loaded texture
+     */
+    public int loadTexture(Texture texture) {
         int textureID = texture.getTextureID();
         textures.add(textureID);
+        liveTextures++;
+        if (texture.getBuffer() != null) {
+            STBImage.stbi_image_free(texture.getBuffer());
+        }
         return textureID;
     }
 
@@ -95,6 +157,7 @@ public class Loader {
         GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL14.GL_TEXTURE_LOD_BIAS,0);
         int textureID = texture.getTextureID();
         textures.add(textureID);
+        liveTextures++;
         return textureID;
     }
 
@@ -111,6 +174,7 @@ public class Loader {
     private int createVAO() {
         int vaoID = GL30.glGenVertexArrays();
         vaos.add(vaoID);
+        liveVaos++;
         GL30.glBindVertexArray(vaoID);
         return vaoID;
     }
@@ -122,6 +186,7 @@ public class Loader {
     private int createTextVAO() {
         int vaoID = GL30.glGenVertexArrays();
         textVaos.add(vaoID);
+        liveVaos++;
         GL30.glBindVertexArray(vaoID);
         return vaoID;
     }
@@ -132,18 +197,43 @@ public class Loader {
     public void cleanUp() {
         for (int vao: vaos) {
             GL30.glDeleteVertexArrays(vao);
+            liveVaos--;
         }
         for (int textVao: textVaos) {
             GL30.glDeleteVertexArrays(textVao);
+            liveVaos--;
         }
         for (int vbo: vbos) {
             GL15.glDeleteBuffers(vbo);
+            liveVbos--;
         }
         for (int texture: textures) {
             GL11.glDeleteTextures(texture);
+            liveTextures--;
         }
     }
 
+    /**
+     * @return the number of VAOs created by all loaders and not deleted yet.
+     */
+    public static int getLiveVaoCount() {
+        return liveVaos;
+    }
+
+    /**
+     * @return the number of VBOs created by all loaders and not deleted yet.
+     */
+    public static int getLiveVboCount() {
+        return liveVbos;
+    }
+
+    /**
+     * @return the number of textures created by all loaders and not deleted yet.
+     */
+    public static int getLiveTextureCount() {
+        return liveTextures;
+    }
+
     /**
      * Unbinds the VAO after the program is finished with it
      * If VAO needs to be edited or used again, it would have to be bound again
@@ -188,6 +278,7 @@ public class Loader {
      */
     private void storeDataInAttributeList(int attributeNumber, int coordinateSize, float[] data) {
         int vboID = GL15.glGenBuffers();
+        liveVbos++;
         vbos.add(vboID);
         GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboID);
         FloatBuffer buffer = storeDataInFloatBuffer(data);
@@ -224,11 +315,19 @@ public class Loader {
      * @param indices
      */
     private void bindIndicesBuffer(int[] indices) {
+        bindIndicesBuffer(storeDataInIntBuffer(indices));
+    }
+
+    /**
+     * Creates an index buffer from indices which are already in a direct buffer, see bindIndicesBuffer(int[]).
+     * @param indices
+     */
+    private void bindIndicesBuffer(IntBuffer indices) {
         int vboID = GL15.glGenBuffers();
+        liveVbos++;
         vbos.add(vboID);
         GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, vboID);
-        IntBuffer buffer = storeDataInIntBuffer(indices);
-        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, buffer, GL15.GL_STATIC_DRAW);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
     }
 
     /**
@@ -12,6 +12,7 @@ import engine.terrain.Selector;
 import engine.terrain.Terrain;
 import engine.terrain.ZoneTile;
 import engine.textures.TextureAttribute;
+import engine.tools.FrameProfiler;
 import engine.world.Tile;
 import org.joml.Matrix4f;
 import org.lwjgl.opengl.GL11;
@@ -65,12 +66,14 @@ public class MasterRenderer {
 
     /**
      * Calls the render function of each renderer as well as loading the camera position and light to each shader.
+     * Each pass is a section of the FrameProfiler.
      * @param selector
      * @param camera
      * @param light
      */
     public void render(Selector selector, Camera camera, Light light) {
         prepare();
+        FrameProfiler.begin(FrameProfiler.Section.ENTITIES);
         entityShader.start();
         entityShader.loadLight(light);
         entityShader.loadSkyColor(RED, GREEN, BLUE);
@@ -78,7 +81,9 @@ public class MasterRenderer {
         entityRenderer.render(entities);
         entityShader.stop();
         entities.clear();
+        FrameProfiler.end(FrameProfiler.Section.ENTITIES);
 
+        FrameProfiler.begin(FrameProfiler.Section.TERRAIN);
         terrainShader.start();
         terrainShader.loadLight(light);
         terrainShader.loadSkyColor(RED, GREEN, BLUE);
@@ -86,17 +91,22 @@ public class MasterRenderer {
         terrainRenderer.render(terrains);
         terrainShader.stop();
         terrains.clear();
+        FrameProfiler.end(FrameProfiler.Section.TERRAIN);
 
+        FrameProfiler.begin(FrameProfiler.Section.SELECTOR);
         selectorShader.start();
         selectorShader.loadViewMatrix(camera);
         selectorRenderer.render(selector);
         selectorShader.stop();
+        FrameProfiler.end(FrameProfiler.Section.SELECTOR);
 
+        FrameProfiler.begin(FrameProfiler.Section.ZONES);
         selectorShader.start();
         selectorShader.loadViewMatrix(camera);
         zoneRenderer.render(zoneTiles);
         selectorShader.stop();
         zoneTiles.clear();
+        FrameProfiler.end(FrameProfiler.Section.ZONES);
     }
 
     /**
@@ -5,8 +5,8 @@ import engine.shaders.SelectorShader;
 import engine.terrain.Selector;
 import engine.textures.TextureAttribute;
 import engine.tools.Maths;
+import engine.tools.FrameProfiler;
 import org.joml.Matrix4f;
-import org.joml.Vector3f;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL20;
@@ -17,6 +17,7 @@ import org.lwjgl.opengl.GL30;
  */
 public class SelectorRenderer {
     private SelectorShader shader;
+    private final Matrix4f transformationMatrix = new Matrix4f();
 
     /**
      * Constructor which starts the shader and loads the projection matrix in the shader.
@@ -38,6 +39,7 @@ public class SelectorRenderer {
         prepareSelector(selector);
         prepareInstance(selector);
         GL11.glDrawElements(GL11.GL_TRIANGLES, selector.getModel().getVertexCount(), GL11.GL_UNSIGNED_INT, 0);
+        FrameProfiler.countDrawCall();
         unbindTexturedModel();
     }
 
@@ -57,6 +59,7 @@ public class SelectorRenderer {
         TextureAttribute texture = selector.getTexture();
         GL13.glActiveTexture(GL13.GL_TEXTURE0);
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture.getTextureID());
+        FrameProfiler.countTextureBind();
     }
 
     /**
@@ -74,7 +77,7 @@ public class SelectorRenderer {
      * @param selector
      */
     private void prepareInstance(Selector selector) {
-        Matrix4f transformationMatrix = Maths.createTransformationMatrix(new Vector3f(selector.getX(), 0, selector.getZ()), 0, 0, 0, 1);
+        Maths.createTransformationMatrix(selector.getX(), 0, selector.getZ(), 0, 0, 0, 1, transformationMatrix);
         shader.loadTransformationMatrix(transformationMatrix);
     }
 }
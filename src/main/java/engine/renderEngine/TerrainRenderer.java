@@ -6,8 +6,8 @@ import engine.terrain.Terrain;
 
 import engine.textures.TextureAttribute;
 import engine.tools.Maths;
+import engine.tools.FrameProfiler;
 import org.joml.Matrix4f;
-import org.joml.Vector3f;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL20;
@@ -23,6 +23,7 @@ import java.util.Map;
 public class TerrainRenderer {
 
     private TerrainShader shader;
+    private final Matrix4f transformationMatrix = new Matrix4f();
 
     /**
      * Constructor which starts the shader and loads the projection matrix in the shader.
@@ -45,9 +46,15 @@ public class TerrainRenderer {
         for(TextureAttribute texture: terrains.keySet()) {
             List<Terrain> batch = terrains.get(texture);
             prepareTerrain(batch.get(0));
+            RawModel bound = batch.get(0).getModel();
             for (Terrain terrain: batch) {
+                if (terrain.getModel() != bound) {
+                    bound = terrain.getModel();
+                    bindModel(bound);
+                }
                 prepareInstance(terrain);
                 GL11.glDrawElements(GL11.GL_TRIANGLES, terrain.getModel().getVertexCount(), GL11.GL_UNSIGNED_INT, 0);
+                FrameProfiler.countDrawCall();
             }
             unbindTexturedModel();
         }
@@ -60,16 +67,25 @@ public class TerrainRenderer {
      * @param terrain
      */
     private void prepareTerrain(Terrain terrain) {
-        RawModel rawModel = terrain.getModel();
-        GL30.glBindVertexArray(rawModel.getVaoID());
-        GL20.glEnableVertexAttribArray(0);
-        GL20.glEnableVertexAttribArray(1);
-        GL20.glEnableVertexAttribArray(2);
+        bindModel(terrain.getModel());
 
         TextureAttribute texture = terrain.getTexture();
         shader.loadShineVariables(texture.getShineDamper(), texture.getReflectivity());
         GL13.glActiveTexture(GL13.GL_TEXTURE0);
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture.getTextureID());
+        FrameProfiler.countTextureBind();
+    }
+
+    /**
+     * Binds the vertex array of a model and enables its attributes.
+     * Terrains of a batch share the texture but the chunks at the edge of the world have a smaller model.
+     * @param rawModel
+     */
+    private void bindModel(RawModel rawModel) {
+        GL30.glBindVertexArray(rawModel.getVaoID());
+        GL20.glEnableVertexAttribArray(0);
+        GL20.glEnableVertexAttribArray(1);
+        GL20.glEnableVertexAttribArray(2);
     }
 
     /**
@@ -87,7 +103,7 @@ public class TerrainRenderer {
      * @param terrain
      */
     private void prepareInstance(Terrain terrain) {
-        Matrix4f transformationMatrix = Maths.createTransformationMatrix(new Vector3f(terrain.getX(), 0, terrain.getZ()), 0, 0, 0, 1);
+        Maths.createTransformationMatrix(terrain.getX(), 0, terrain.getZ(), 0, 0, 0, 1, transformationMatrix);
         shader.loadTransformationMatrix(transformationMatrix);
     }
 
@@ -5,8 +5,8 @@ import engine.shaders.SelectorShader;
 import engine.terrain.ZoneTile;
 import engine.textures.TextureAttribute;
 import engine.tools.Maths;
+import engine.tools.FrameProfiler;
 import org.joml.Matrix4f;
-import org.joml.Vector3f;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL20;
@@ -17,6 +17,7 @@ import java.util.Map;
 
 public class ZoneRenderer {
     private SelectorShader shader;
+    private final Matrix4f transformationMatrix = new Matrix4f();
 
     public ZoneRenderer(SelectorShader shader, Matrix4f projectionMatrix) {
         this.shader = shader;
@@ -32,6 +33,7 @@ public class ZoneRenderer {
             for(ZoneTile tile: batch) {
                 prepareInstance(tile);
                 GL11.glDrawElements(GL11.GL_TRIANGLES, tile.getModel().getVertexCount(), GL11.GL_UNSIGNED_INT, 0);
+                FrameProfiler.countDrawCall();
             }
             unbindTexturedModel();
         }
@@ -47,6 +49,7 @@ public class ZoneRenderer {
         TextureAttribute texture = zoneTile.getTexture();
         GL13.glActiveTexture(GL13.GL_TEXTURE0);
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture.getTextureID());
+        FrameProfiler.countTextureBind();
     }
 
     private void unbindTexturedModel() {
@@ -57,7 +60,7 @@ public class ZoneRenderer {
     }
 
     private void prepareInstance(ZoneTile zoneTile) {
-        Matrix4f transformationMatrix = Maths.createTransformationMatrix(new Vector3f(zoneTile.getX(), 0, zoneTile.getZ()), 0, 0, 0, 1);
+        Maths.createTransformationMatrix(zoneTile.getX(), 0, zoneTile.getZ(), 0, 0, 0, 1, transformationMatrix);
         shader.loadTransformationMatrix(transformationMatrix);
     }
 }
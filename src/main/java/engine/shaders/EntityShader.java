@@ -2,9 +2,7 @@ package engine.shaders;
 
 import engine.entities.Camera;
 import engine.entities.Light;
-import engine.tools.Maths;
 import org.joml.Matrix4f;
-import org.joml.Vector3f;
 
 /**
  * Extends the ShaderProgram and is responsible for handling the shaders for all 3D entities.
@@ -74,8 +72,7 @@ public class EntityShader extends ShaderProgram{
      * @param camera
      */
     public void loadViewMatrix(Camera camera){
-        Matrix4f viewMatrix = Maths.createViewMatrix(camera);
-        super.loadMatrix(location_viewMatrix, viewMatrix);
+        super.loadMatrix(location_viewMatrix, camera.getViewMatrix());
     }
 
     /**
@@ -104,7 +101,7 @@ public class EntityShader extends ShaderProgram{
      * @param b
      */
     public void loadSkyColor(float r, float g, float b) {
-        super.loadVector(location_skyColor, new Vector3f(r, g, b));
+        super.loadVector(location_skyColor, r, g, b);
     }
 
 }
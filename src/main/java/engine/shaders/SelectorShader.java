@@ -1,7 +1,6 @@
 package engine.shaders;
 
 import engine.entities.Camera;
-import engine.tools.Maths;
 import org.joml.Matrix4f;
 
 /**
@@ -52,8 +51,7 @@ public class SelectorShader extends ShaderProgram {
      * @param camera
      */
     public void loadViewMatrix(Camera camera) {
-        Matrix4f viewMatrix = Maths.createViewMatrix(camera);
-        super.loadMatrix(location_viewMatrix, viewMatrix);
+        super.loadMatrix(location_viewMatrix, camera.getViewMatrix());
     }
 
     /**
@@ -140,6 +140,17 @@ public abstract class ShaderProgram {
         GL20.glUniform3f(location, vector.x, vector.y, vector.z);
     }
 
+    /**
+     * Loads a vector given by its components into the shader.
+     * @param location
+     * @param x
+     * @param y
+     * @param z
+     */
+    protected void loadVector(int location, float x, float y, float z) {
+        GL20.glUniform3f(location, x, y, z);
+    }
+
     /**
      * Loads a Vector2f into the shader
      * @param location
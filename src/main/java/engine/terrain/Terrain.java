@@ -12,7 +12,7 @@ public class Terrain {
     private static final int VERTEX_COUNT = 4;
 
     private float x;
-    private float y = 0;
+    private static final float Y = 0;
     private float z;
     private RawModel model;
     private TextureAttribute texture;
@@ -28,7 +28,21 @@ public class Terrain {
         this.texture = texture;
         this.x = gridX * SIZE;
         this.z = gridZ * SIZE;
-        this.model = generateTerrain(loader);
+        this.model = generateTerrain(loader, 1, 1);
+    }
+
+    /**
+     * Sets the position and texture and uses an already generated model, so terrains of the same size share one VAO.
+     * @param gridX
+     * @param gridZ
+     * @param model
+     * @param texture
+     */
+    public Terrain(int gridX, int gridZ, RawModel model, TextureAttribute texture) {
+        this.texture = texture;
+        this.x = gridX * SIZE;
+        this.z = gridZ * SIZE;
+        this.model = model;
     }
 
     public static float getSize() {
@@ -60,11 +74,14 @@ public class Terrain {
     }
 
     /**
-     * Smaller version of the OBJFile loader which creates the vertices, normals and texture coordinates for the terrain as it is just a 2D plane
+     * Smaller version of the OBJFile loader which creates the vertices, normals and texture coordinates for the terrain as it is just a 2D plane.
+     * The plane covers tilesX x tilesZ cells and the texture repeats once per cell.
      * @param loader
+     * @param tilesX
+     * @param tilesZ
      * @return
      */
-    private RawModel generateTerrain(Loader loader){
+    public static RawModel generateTerrain(Loader loader, int tilesX, int tilesZ){
         int count = VERTEX_COUNT * VERTEX_COUNT;
         float[] vertices = new float[count * 3];
         float[] normals = new float[count * 3];
@@ -73,14 +90,14 @@ public class Terrain {
         int vertexPointer = 0;
         for(int i=0;i<VERTEX_COUNT;i++){
             for(int j=0;j<VERTEX_COUNT;j++){
-                vertices[vertexPointer*3] = (float)j/((float)VERTEX_COUNT - 1) * SIZE;
-                vertices[vertexPointer*3+1] = y;
-                vertices[vertexPointer*3+2] = (float)i/((float)VERTEX_COUNT - 1) * SIZE;
+                vertices[vertexPointer*3] = (float)j/((float)VERTEX_COUNT - 1) * SIZE * tilesX;
+                vertices[vertexPointer*3+1] = Y;
+                vertices[vertexPointer*3+2] = (float)i/((float)VERTEX_COUNT - 1) * SIZE * tilesZ;
                 normals[vertexPointer*3] = 0;
                 normals[vertexPointer*3+1] = 1;
                 normals[vertexPointer*3+2] = 0;
-                textureCoords[vertexPointer*2] = (float)j/((float)VERTEX_COUNT - 1);
-                textureCoords[vertexPointer*2+1] = (float)i/((float)VERTEX_COUNT - 1);
+                textureCoords[vertexPointer*2] = (float)j/((float)VERTEX_COUNT - 1) * tilesX;
+                textureCoords[vertexPointer*2+1] = (float)i/((float)VERTEX_COUNT - 1) * tilesZ;
                 vertexPointer++;
             }
         }
@@ -13,7 +13,7 @@ public class ZoneTile {
     private static final int VERTEX_COUNT = 4;
 
     private float x;
-    private float y = 0.05f;
+    private static final float Y = 0.05f;
     private float z;
     private RawModel model;
     private TextureAttribute texture;
@@ -32,6 +32,20 @@ public class ZoneTile {
         this.model = generateSelector(loader);
     }
 
+    /**
+     * Sets the position and texture and uses an already generated model, so that all zone tiles share one VAO.
+     * @param gridX
+     * @param gridZ
+     * @param model
+     * @param texture
+     */
+    public ZoneTile(int gridX, int gridZ, RawModel model, TextureAttribute texture) {
+        this.texture = texture;
+        this.x = gridX * SIZE;
+        this.z = gridZ * SIZE;
+        this.model = model;
+    }
+
     public static float getSize() {
         return SIZE;
     }
@@ -65,7 +79,7 @@ public class ZoneTile {
      * @param loader
      * @return
      */
-    private RawModel generateSelector(Loader loader){
+    public static RawModel generateSelector(Loader loader){
         int count = VERTEX_COUNT * VERTEX_COUNT;
         float[] vertices = new float[count * 3];
         float[] normals = new float[count * 3];
@@ -75,7 +89,7 @@ public class ZoneTile {
         for(int i=0;i<VERTEX_COUNT;i++){
             for(int j=0;j<VERTEX_COUNT;j++){
                 vertices[vertexPointer*3] = (float)j/((float)VERTEX_COUNT - 1) * SIZE;
-                vertices[vertexPointer*3+1] = y;
+                vertices[vertexPointer*3+1] = Y;
                 vertices[vertexPointer*3+2] = (float)i/((float)VERTEX_COUNT - 1) * SIZE;
                 normals[vertexPointer*3] = 0;
                 normals[vertexPointer*3+1] = 1;
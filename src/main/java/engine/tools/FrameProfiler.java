@@ -0,0 +1,203 @@
+package engine.tools;
+
+import engine.renderEngine.GpuTimer;
+
+import java.util.Arrays;
+
+/**
+ * FrameProfiler collects where the time of a frame goes.
+ * The sections of the frame are timed on the CPU, the render passes on the GPU as well, and the renderers count their draw calls and texture binds.
+ * Timing only happens while the profiler is enabled, the frame times are always kept so the histogram is full when it is shown.
+ */
+public class FrameProfiler {
+
+    /**
+     * Timed sections of a frame, the render passes are also timed on the GPU.
+     */
+    public enum Section {
+        SIMULATION("Simulation", false),
+        PROCESS_ASSETS("processAllAssets", false),
+        ENTITIES("Entities", true),
+        TERRAIN("Terrain", true),
+        SELECTOR("Selector", true),
+        ZONES("Zones", true),
+        GUI("GuiRenderer", true),
+        TEXT("TextMaster", true);
+
+        private final String label;
+        private final boolean gpu;
+
+        Section(String label, boolean gpu) {
+            this.label = label;
+            this.gpu = gpu;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public boolean isGpu() {
+            return gpu;
+        }
+    }
+
+    private static final int HISTORY = 240;
+    private static final Section[] SECTIONS = Section.values();
+
+    private static boolean enabled = false;
+    private static GpuTimer gpuTimer;
+    private static final long[] starts = new long[SECTIONS.length];
+    private static final long[] cpuNanos = new long[SECTIONS.length];
+    private static final long[] lastCpuNanos = new long[SECTIONS.length];
+    private static int drawCalls = 0;
+    private static int textureBinds = 0;
+    private static int lastDrawCalls = 0;
+    private static int lastTextureBinds = 0;
+    private static final float[] frameTimes = new float[HISTORY];
+    private static int frameIndex = 0;
+    private static int frameCount = 0;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches the profiler on or off, the GPU queries are created the first time it is switched on.
+     * Must be called on the thread of the OpenGL context.
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        FrameProfiler.enabled = enabled;
+        if (enabled && gpuTimer == null && GpuTimer.isSupported()) {
+            gpuTimer = new GpuTimer(SECTIONS.length);
+        }
+    }
+
+    /**
+     * Marks the start of a section.
+     * @param section
+     */
+    public static void begin(Section section) {
+        if (!enabled) {
+            return;
+        }
+        if (section.isGpu() && gpuTimer != null) {
+            gpuTimer.begin(section.ordinal());
+        }
+        starts[section.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a section, a section can run more than once in a frame.
+     * @param section
+     */
+    public static void end(Section section) {
+        if (!enabled) {
+            return;
+        }
+        cpuNanos[section.ordinal()] += System.nanoTime() - starts[section.ordinal()];
+        if (section.isGpu() && gpuTimer != null) {
+            gpuTimer.end(section.ordinal());
+        }
+    }
+
+    /**
+     * Counts a draw call of a renderer.
+     */
+    public static void countDrawCall() {
+        drawCalls++;
+    }
+
+    /**
+     * Counts a texture bind of a renderer.
+     */
+    public static void countTextureBind() {
+        textureBinds++;
+    }
+
+    /**
+     * Closes the frame: stores its time and counters and starts counting the next one.
+     * @param frameTimeSeconds
+     */
+    public static void endFrame(float frameTimeSeconds) {
+        frameTimes[frameIndex] = frameTimeSeconds * 1000;
+        frameIndex = (frameIndex + 1) % HISTORY;
+        frameCount = Math.min(frameCount + 1, HISTORY);
+        lastDrawCalls = drawCalls;
+        lastTextureBinds = textureBinds;
+        drawCalls = 0;
+        textureBinds = 0;
+        if (enabled) {
+            System.arraycopy(cpuNanos, 0, lastCpuNanos, 0, cpuNanos.length);
+            if (gpuTimer != null) {
+                gpuTimer.endFrame();
+            }
+        }
+        Arrays.fill(cpuNanos, 0);
+    }
+
+    /**
+     * @param section
+     * @return the CPU time of the section in the last frame in milliseconds.
+     */
+    public static float getCpuMillis(Section section) {
+        return lastCpuNanos[section.ordinal()] / 1e6f;
+    }
+
+    /**
+     * @param section
+     * @return the last measured GPU time of the section in milliseconds, -1 if it is not measured.
+     */
+    public static float getGpuMillis(Section section) {
+        if (!section.isGpu() || gpuTimer == null || gpuTimer.getNanos(section.ordinal()) < 0) {
+            return -1;
+        }
+        return gpuTimer.getNanos(section.ordinal()) / 1e6f;
+    }
+
+    public static int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    public static int getTextureBinds() {
+        return lastTextureBinds;
+    }
+
+    /**
+     * Sorts the times of the recent frames into buckets.
+     * @param upperBoundsMillis the upper bound of each bucket but the last, in increasing order
+     * @return the number of frames in each bucket, the last bucket holds the frames above every bound.
+     */
+    public static int[] getFrameTimeHistogram(float[] upperBoundsMillis) {
+        int[] buckets = new int[upperBoundsMillis.length + 1];
+        for (int i = 0; i < frameCount; i++) {
+            int bucket = 0;
+            while (bucket < upperBoundsMillis.length && frameTimes[i] >= upperBoundsMillis[bucket]) {
+                bucket++;
+            }
+            buckets[bucket]++;
+        }
+        return buckets;
+    }
+
+    /**
+     * @return the longest frame time of the recent frames in milliseconds.
+     */
+    public static float getWorstFrameMillis() {
+        float worst = 0;
+        for (int i = 0; i < frameCount; i++) {
+            worst = Math.max(worst, frameTimes[i]);
+        }
+        return worst;
+    }
+
+    /**
+     * Deletes the GPU queries.
+     */
+    public static void cleanUp() {
+        if (gpuTimer != null) {
+            gpuTimer.cleanUp();
+            gpuTimer = null;
+        }
+    }
+}
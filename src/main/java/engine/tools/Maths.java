@@ -7,6 +7,7 @@ import org.joml.Vector3f;
 
 /**
  * Class used to create the Matrices needed by the shaders for calculations.
+ * Every matrix has a variant which writes into a given matrix, so the render loop can reuse its matrices instead of allocating new ones.
  */
 public class Maths {
 
@@ -17,11 +18,19 @@ public class Maths {
      * @return
      */
     public static Matrix4f createTransformationMatrix(Vector2f translation, Vector2f scale) {
-        Matrix4f matrix = new Matrix4f();
-        matrix.identity();
-        matrix.translate(new Vector3f(translation.x, translation.y, 0));
-        matrix.scale(new Vector3f(scale.x, scale.y, 1f));
-        return matrix;
+        return createTransformationMatrix(translation, scale, new Matrix4f());
+    }
+
+    /**
+     * Same as createTransformationMatrix(translation, scale), but the result is written into dest.
+     * @param translation
+     * @param scale
+     * @param dest
+     * @return dest
+     */
+    public static Matrix4f createTransformationMatrix(Vector2f translation, Vector2f scale, Matrix4f dest) {
+        return dest.translation(translation.x, translation.y, 0)
+                .scale(scale.x, scale.y, 1f);
     }
 
     /**
@@ -34,14 +43,27 @@ public class Maths {
      * @return
      */
     public static Matrix4f createTransformationMatrix(Vector3f translation, float rx, float ry, float rz, float scale) {
-        Matrix4f matrix = new Matrix4f();
-        matrix.identity();
-        matrix.translate(translation);
-        matrix.rotate((float) Math.toRadians(rx), new Vector3f(1,0,0));
-        matrix.rotate((float) Math.toRadians(ry), new Vector3f(0,1,0));
-        matrix.rotate((float) Math.toRadians(rz), new Vector3f(0,0,1));
-        matrix.scale(new Vector3f(scale, scale, scale));
-        return matrix;
+        return createTransformationMatrix(translation.x, translation.y, translation.z, rx, ry, rz, scale, new Matrix4f());
+    }
+
+    /**
+     * Same as createTransformationMatrix(translation, rx, ry, rz, scale), but the result is written into dest.
+     * @param x
+     * @param y
+     * @param z
+     * @param rx
+     * @param ry
+     * @param rz
+     * @param scale
+     * @param dest
+     * @return dest
+     */
+    public static Matrix4f createTransformationMatrix(float x, float y, float z, float rx, float ry, float rz, float scale, Matrix4f dest) {
+        return dest.translation(x, y, z)
+                .rotateX((float) Math.toRadians(rx))
+                .rotateY((float) Math.toRadians(ry))
+                .rotateZ((float) Math.toRadians(rz))
+                .scale(scale);
     }
 
     /**
@@ -50,13 +72,19 @@ public class Maths {
      * @return
      */
     public static Matrix4f createViewMatrix(Camera camera) {
-        Matrix4f viewMatrix = new Matrix4f();
-        viewMatrix.identity();
-        viewMatrix.rotate((float) Math.toRadians(camera.getPitch()), new Vector3f(1, 0, 0));
-        viewMatrix.rotate((float) Math.toRadians(camera.getYaw()), new Vector3f(0, 1, 0));
+        return createViewMatrix(camera, new Matrix4f());
+    }
+
+    /**
+     * Same as createViewMatrix(camera), but the result is written into dest.
+     * @param camera
+     * @param dest
+     * @return dest
+     */
+    public static Matrix4f createViewMatrix(Camera camera, Matrix4f dest) {
         Vector3f cameraPos = camera.getPosition();
-        Vector3f negativeCameraPos = new Vector3f(-cameraPos.x,-cameraPos.y,-cameraPos.z);
-        viewMatrix.translate(negativeCameraPos);
-        return viewMatrix;
+        return dest.rotationX((float) Math.toRadians(camera.getPitch()))
+                .rotateY((float) Math.toRadians(camera.getYaw()))
+                .translate(-cameraPos.x, -cameraPos.y, -cameraPos.z);
     }
 }
@@ -2,29 +2,36 @@ package engine.tools;
 
 import engine.display.DisplayManager;
 import engine.entities.Camera;
+import engine.entities.Entity;
 import engine.terrain.Terrain;
 import engine.world.Tile;
 import engine.world.WorldGrid;
 import org.joml.*;
 
+import java.lang.Math;
+
 /**
  * Mousepicker class is used to know with which Tile in the world the mouse is intersecting.
  * This is done by reversing the process in which the mouse position is calculated by going backwards from 3D ray to position in 2D space.
+ * The ground is the flat y = 0 plane, so the point where the ray hits it is calculated directly.
+ * The picker keeps its matrices and vectors between frames, so an update does not allocate.
  */
 public class MousePicker {
 
-    private static final int RECURSION_COUNT = 200;
     private static final float RAY_RANGE = 800;
-    private Vector3f currentRay;
+    private final Vector3f currentRay = new Vector3f();
 
-    private Matrix4f projectionMatrix;
-    private Matrix4f viewMatrix;
+    private final Matrix4f invertedProjection = new Matrix4f();
+    private final Matrix4f invertedView = new Matrix4f();
+    private final Vector4f rayCoords = new Vector4f();
     private Camera camera;
 
-    private Terrain terrain;
-    Tile[][] worldMatrix;
     WorldGrid worldGrid;
+    private final Vector3f terrainPoint = new Vector3f();
     private Vector3f currentTerrainPoint;
+    private final Vector2i currentTile = new Vector2i();
+    private final Vector2i entityTile = new Vector2i();
+    private boolean entityHit;
 
 
     /**
@@ -35,10 +42,16 @@ public class MousePicker {
      */
     public MousePicker(Camera camera, Matrix4f projectionMatrix, WorldGrid worldGrid) {
         this.camera = camera;
-        this.projectionMatrix = projectionMatrix;
-        this.viewMatrix = Maths.createViewMatrix(camera);
         this.worldGrid = worldGrid;
-        this.worldMatrix = this.worldGrid.getWorldmatrix();
+        setProjectionMatrix(projectionMatrix);
+    }
+
+    /**
+     * Sets the projection matrix and inverts it once, must be called when the projection changes e.g. on resize.
+     * @param projectionMatrix
+     */
+    public void setProjectionMatrix(Matrix4f projectionMatrix) {
+        projectionMatrix.invert(invertedProjection);
     }
 
     public Vector3f getCurrentRay() {
@@ -51,42 +64,61 @@ public class MousePicker {
 
     /**
      * Gets the current tile on which the mouse is hovering.
+     * The returned vector is reused by the next update.
      * @return
      */
     public Vector2i getCurrentTileCoords() {
         if (currentTerrainPoint == null) {
             return null;
         }
-        int x = (int) (currentTerrainPoint.x / Terrain.getSize());
-        int z = (int) (currentTerrainPoint.z / Terrain.getSize());
-        return new Vector2i(x, z);
+        return currentTile;
+    }
+
+    /**
+     * Gets the first tile along the ray whose entity is hit by the ray, the tile of the terrain if no entity is in the way.
+     * The returned vector is reused by the next update.
+     * @return
+     */
+    public Vector2i getCurrentEntityTileCoords() {
+        if (entityHit) {
+            return entityTile;
+        }
+        return getCurrentTileCoords();
     }
 
     /**
      * Updates variables in the mousepicker class with the new ones when called each frame.
      */
     public void update() {
-        viewMatrix = Maths.createViewMatrix(camera);
-        currentRay = calculateMouseRay();
-        if (intersectionInRange(0, RAY_RANGE, currentRay)) {
-            currentTerrainPoint = binarySearch(0, 0, RAY_RANGE, currentRay);
+        camera.getViewMatrix().invert(invertedView);
+        calculateMouseRay();
+        float distance = groundDistance();
+        if (distance >= 0 && distance <= RAY_RANGE) {
+            Vector3f cameraPos = camera.getPosition();
+            currentRay.mulAdd(distance, cameraPos, terrainPoint);
+            currentTerrainPoint = isOnWorld(terrainPoint.x, terrainPoint.z) ? terrainPoint : null;
         } else {
             currentTerrainPoint = null;
         }
+        if (currentTerrainPoint != null) {
+            currentTile.set((int) (currentTerrainPoint.x / Terrain.getSize()), (int) (currentTerrainPoint.z / Terrain.getSize()));
+            entityHit = traverseGrid(distance);
+        } else {
+            entityHit = false;
+        }
     }
 
     /**
-     * Method which calls all the methods needed to calculate the ray.
-     * @return
+     * Calculates the ray through the mouse position: from the normalized device coords, through eye coords to world coords.
      */
-    private Vector3f calculateMouseRay() {
-        float mouseX = Mouse.getX();
-        float mouseY = Mouse.getY();
-        Vector2f normalizedDeviceCoords = getNormalizedDeviceCoords(mouseX, mouseY);
-        Vector4f clipCoords = new Vector4f(normalizedDeviceCoords.x, normalizedDeviceCoords.y, -1f, 1f);
-        Vector4f eyeCoords = toEyeCoords(clipCoords);
-        Vector3f worldRay = toWorldCoords(eyeCoords);
-        return worldRay;
+    private void calculateMouseRay() {
+        float x = (2f * Mouse.getX()) / DisplayManager.getWindowWidth() - 1f;
+        float y = (2f * Mouse.getY()) / DisplayManager.getWindowHeight() - 1f;
+        invertedProjection.transform(rayCoords.set(x, y, -1f, 1f));
+        rayCoords.z = -1f;
+        rayCoords.w = 0f;
+        invertedView.transform(rayCoords);
+        currentRay.set(rayCoords.x, rayCoords.y, rayCoords.z).normalize();
     }
 
     /**
@@ -102,123 +134,82 @@ public class MousePicker {
     }
 
     /**
-     * Calculates the coords before the projection matrix was applied.
-     * @param clipCoords
-     * @return
-     */
-    private Vector4f toEyeCoords(Vector4f clipCoords) {
-        Matrix4f invertedProjection = new Matrix4f();
-        projectionMatrix.invert(invertedProjection);
-        Vector4f eyeCoords = new Vector4f();
-        invertedProjection.transform(clipCoords, eyeCoords);
-        return new Vector4f(eyeCoords.x, eyeCoords.y, -1f, 0f);
-    }
-
-    /**
-     * Calculates the position coords before the viewmatrix was applied.
-     * @param eyeCoords
-     * @return
-     */
-    private Vector3f toWorldCoords(Vector4f eyeCoords) {
-        Matrix4f invertedView = viewMatrix;
-        invertedView.invert();
-        Vector4f rayWorld = new Vector4f();
-        invertedView.transform(eyeCoords, rayWorld);
-        Vector3f mouseRay = new Vector3f(rayWorld.x, rayWorld.y, rayWorld.z);
-        mouseRay.normalize();
-        return mouseRay;
-    }
-
-    /**
-     * Finds where the Camera sits on the ray.
-     * @param ray
-     * @param distance
-     * @return
+     * Calculates the distance along the ray from the camera to the ground plane.
+     * @return the distance, -1 if the ray does not go down to the ground from above it.
      */
-    private Vector3f getPointOnRay(Vector3f ray, float distance) {
-        Vector3f cameraPos = camera.getPosition();
-        Vector3f start = new Vector3f(cameraPos.x, cameraPos.y, cameraPos.z);
-        Vector3f scaledRay = new Vector3f(ray.x * distance, ray.y * distance, ray.z * distance);
-        Vector3f pointOnRay = new Vector3f();
-        start.add(scaledRay, pointOnRay);
-        return pointOnRay;
+    private float groundDistance() {
+        float cameraY = camera.getPosition().y;
+        if (cameraY < 0 || currentRay.y >= 0) {
+            return -1;
+        }
+        return -cameraY / currentRay.y;
     }
 
     /**
-     * Searches where the ray intersects the tile or terrain.
-     * @param count
-     * @param start
-     * @param finish
-     * @param ray
-     * @return
+     * Walks the tiles under the ray from the camera to the ground point, in the order the ray crosses them (grid DDA).
+     * A tile is hit if the ray is below the top of its entity while crossing the tile.
+     * @param groundDistance distance from the camera to the ground point
+     * @return true if an entity was hit, its tile is stored in entityTile.
      */
-    private Vector3f binarySearch(int count, float start, float finish, Vector3f ray) {
-        float half = start + ((finish - start) / 2f);
-        if (count >= RECURSION_COUNT) {
-            Vector3f endPoint = getPointOnRay(ray, half);
-            Terrain terrain = getTerrain(ray.x, endPoint.z);
-            if (terrain != null) {
-                return endPoint;
+    private boolean traverseGrid(float groundDistance) {
+        float size = Terrain.getSize();
+        Vector3f origin = camera.getPosition();
+        int x = (int) Math.floor(origin.x / size);
+        int z = (int) Math.floor(origin.z / size);
+        int stepX = currentRay.x > 0 ? 1 : -1;
+        int stepZ = currentRay.z > 0 ? 1 : -1;
+        float deltaX = currentRay.x != 0 ? Math.abs(size / currentRay.x) : Float.POSITIVE_INFINITY;
+        float deltaZ = currentRay.z != 0 ? Math.abs(size / currentRay.z) : Float.POSITIVE_INFINITY;
+        float nextX = currentRay.x != 0 ? ((x + (stepX > 0 ? 1 : 0)) * size - origin.x) / currentRay.x : Float.POSITIVE_INFINITY;
+        float nextZ = currentRay.z != 0 ? ((z + (stepZ > 0 ? 1 : 0)) * size - origin.z) / currentRay.z : Float.POSITIVE_INFINITY;
+        while (true) {
+            float exit = Math.min(Math.min(nextX, nextZ), groundDistance);
+            float height = entityHeight(x, z);
+            if (height > 0 && origin.y + currentRay.y * exit <= height) {
+                entityTile.set(x, z);
+                return true;
+            }
+            if (exit >= groundDistance) {
+                return false;
+            }
+            if (nextX < nextZ) {
+                x += stepX;
+                nextX += deltaX;
             } else {
-                return null;
+                z += stepZ;
+                nextZ += deltaZ;
             }
         }
-        if (intersectionInRange(start, half, ray)) {
-            return binarySearch(count + 1, start, half, ray);
-        } else {
-            return binarySearch(count+1, half, finish, ray);
-        }
     }
 
     /**
-     * Checks if the intersection is within the intersection range specified.
-     * @param start
-     * @param finish
-     * @param ray
-     * @return
+     * @return the height of the highest entity on the tile, 0 if it has none or it is outside of the world.
      */
-    private boolean intersectionInRange(float start, float finish, Vector3f ray) {
-        Vector3f startPoint = getPointOnRay(ray, start);
-        Vector3f endPoint = getPointOnRay(ray, finish);
-        if (!isUnderGround(startPoint) && isUnderGround(endPoint)) {
-            return true;
-        } else {
-            return false;
+    private float entityHeight(int x, int z) {
+        Tile tile = worldGrid.getTile(x, z);
+        if (tile == null) {
+            return 0;
         }
+        return Math.max(entityHeight(tile.getBuildable()), entityHeight(tile.getZoneBuildable()));
     }
 
-    /**
-     * Checks if the point is underground
-     * @param point
-     * @return
-     */
-    private boolean isUnderGround(Vector3f point) {
-        Terrain t = getTerrain(point.x, point.z);
-        float height = 0;
-        if (terrain != null) {
-            height = 0;
-        }
-        if (point.y < height) {
-            return true;
-        } else {
-            return false;
+    private float entityHeight(Entity entity) {
+        if (entity == null || entity.getModel() == null) {
+            return 0;
         }
+        return entity.getModel().getRawModel().getHeight() * entity.getScale();
     }
 
     /**
-     * Returns the terrain which is selected.
+     * Returns whether the point is on the terrain of the world.
      * @param worldX
      * @param worldZ
      * @return
      */
-    private Terrain getTerrain(float worldX, float worldZ) {
+    private boolean isOnWorld(float worldX, float worldZ) {
         int x = (int) (worldX / Terrain.getSize());
         int z = (int) (worldZ / Terrain.getSize());
 
-        if (x >= worldGrid.getWorldSize() || x < 0 || z >= worldGrid.getWorldSize() || z < 0) {
-            return null;
-        } else {
-            return worldMatrix[x][z].getTerrain();
-        }
+        return worldX >= 0 && worldZ >= 0 && x < worldGrid.getWorldSize() && z < worldGrid.getWorldSize();
     }
 }
@@ -1,31 +1,20 @@
 package engine.world;
 
 import engine.entities.Entity;
-import engine.renderEngine.Loader;
-import engine.terrain.Terrain;
 import engine.terrain.ZoneTile;
-import engine.textures.TextureAttribute;
 
 /**
  * Single Tile class contains all necessary data for one tile of the grid.
- * Tile can contain a zone or a buildable
- * Always contains a terrain.
+ * Tile can contain a zone or a buildable.
+ * Tiles are only created for cells which have something on them, the terrain is drawn per chunk by the WorldGrid.
  */
 public class Tile {
 
-    private Terrain terrain;
     private ZoneTile zone;
     private Entity buildable;
     private Entity zoneBuildable;
 
     boolean isSelected = false;
-    public Tile(int gridX, int gridZ, Loader loader, TextureAttribute texture) {
-        this.terrain = new Terrain(gridX, gridZ, loader, texture);
-    }
-
-    public Terrain getTerrain() {
-        return terrain;
-    }
 
     public ZoneTile getZone() {
         return zone;
@@ -1,106 +1,159 @@
 package engine.world;
 
 import engine.entities.Entity;
+import engine.models.RawModel;
 import engine.renderEngine.Loader;
 import engine.terrain.Terrain;
 import engine.terrain.ZoneTile;
 import engine.textures.TextureAttribute;
+import model.common.ChunkedGrid;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Stores the entire grid of tiles in a matrix.
+ * Stores the grid of tiles in a ChunkedGrid, a tile is only created when something is placed on it.
+ * The terrain is one plane per chunk instead of one per cell, and the lists of zones and entities
+ * are rebuilt from the occupied tiles only after the grid changed, so a large world is not scanned every frame.
+ * The size of the world can be set with the utopia.world.size system property.
  */
 public class WorldGrid {
 
-    private static final int WORLD_SIZE = 20;
-    private Tile[][] worldmatrix = new Tile[WORLD_SIZE][WORLD_SIZE];
+    public static final int DEFAULT_WORLD_SIZE = 20;
 
-    private List<Terrain> terrains = new ArrayList<Terrain>();
-    private List<ZoneTile> zones = new ArrayList<ZoneTile>();
-    private List<Entity> buildables = new ArrayList<Entity>();
-    private List<Entity> zoneBuildables = new ArrayList<Entity>();
+    private final int worldSize;
+    private final ChunkedGrid<Tile> tiles;
+
+    private final List<Terrain> terrains = new ArrayList<Terrain>();
+    private final List<ZoneTile> zones = new ArrayList<ZoneTile>();
+    private final List<Entity> buildables = new ArrayList<Entity>();
+    private final List<Entity> zoneBuildables = new ArrayList<Entity>();
+    private boolean changed = true;
 
     /**
-     * Generates the complete grid of all terrains.
+     * Generates the grid with the configured world size.
      * @param loader
      * @param texture
      */
     public WorldGrid(Loader loader, TextureAttribute texture) {
-        for (int i = 0; i < WORLD_SIZE; i++) {
-            for (int j = 0; j < WORLD_SIZE; j++) {
-                worldmatrix[i][j] = new Tile(i, j, loader, texture);
+        this(loader, texture, getConfiguredWorldSize());
+    }
 
-                terrains.add(worldmatrix[i][j].getTerrain());
+    /**
+     * Generates the terrain of every chunk, chunks of the same size share one model.
+     * @param loader
+     * @param texture
+     * @param worldSize the number of cells along each side of the world.
+     */
+    public WorldGrid(Loader loader, TextureAttribute texture, int worldSize) {
+        this.worldSize = worldSize;
+        this.tiles = new ChunkedGrid<Tile>(worldSize, worldSize);
+        Map<Integer, RawModel> models = new HashMap<Integer, RawModel>();
+        for (int i = 0; i < tiles.getChunkRows(); i++) {
+            for (int j = 0; j < tiles.getChunkCols(); j++) {
+                int gridX = i * ChunkedGrid.CHUNK_SIZE;
+                int gridZ = j * ChunkedGrid.CHUNK_SIZE;
+                int tilesX = Math.min(ChunkedGrid.CHUNK_SIZE, worldSize - gridX);
+                int tilesZ = Math.min(ChunkedGrid.CHUNK_SIZE, worldSize - gridZ);
+                RawModel model = models.computeIfAbsent(tilesX * (ChunkedGrid.CHUNK_SIZE + 1) + tilesZ,
+                        key -> Terrain.generateTerrain(loader, tilesX, tilesZ));
+                terrains.add(new Terrain(gridX, gridZ, model, texture));
             }
         }
     }
 
+    /**
+     * @return the world size of the utopia.world.size system property, or the default if it is not set or not positive.
+     */
+    public static int getConfiguredWorldSize() {
+        int size = Integer.getInteger("utopia.world.size", DEFAULT_WORLD_SIZE);
+        return size > 0 ? size : DEFAULT_WORLD_SIZE;
+    }
+
     public int getWorldSize() {
-        return WORLD_SIZE;
+        return worldSize;
     }
 
-    public Tile[][] getWorldmatrix() {
-        return worldmatrix;
+    /**
+     * @param x
+     * @param z
+     * @return the tile of the cell, null if nothing is placed on it or it is outside of the world.
+     */
+    public Tile getTile(int x, int z) {
+        return tiles.isInside(x, z) ? tiles.get(x, z) : null;
     }
 
     public List<Terrain> getTerrainList() {
         return terrains;
     }
-    
+
     public List<ZoneTile> getZoneList() {
-        zones.clear();
-        for (int i = 0; i < WORLD_SIZE; i++) {
-            for (int j = 0; j < WORLD_SIZE; j++) {
-                if (worldmatrix[i][j].getZone() != null) {
-                    zones.add(worldmatrix[i][j].getZone());
-                }
-            }
-        }
+        collectLists();
         return zones;
     }
 
     public List<Entity> getBuildableList() {
-        buildables.clear();
-        for (int i = 0; i < WORLD_SIZE; i++) {
-            for (int j = 0; j < WORLD_SIZE; j++) {
-                if (worldmatrix[i][j].getBuildable() != null) {
-                    buildables.add(worldmatrix[i][j].getBuildable());
-                }
-            }
-        }
+        collectLists();
         return buildables;
     }
 
     public List<Entity> getZoneBuildableList() {
-        zoneBuildables.clear();
-        for (int i = 0; i < WORLD_SIZE; i++) {
-            for (int j = 0; j < WORLD_SIZE; j++) {
-                if (worldmatrix[i][j].getZoneBuildable() != null) {
-                    zoneBuildables.add(worldmatrix[i][j].getZoneBuildable());
-                }
-            }
-        }
+        collectLists();
         return zoneBuildables;
     }
 
     public void addBuildable(int x, int z, Entity buildable) {
-        worldmatrix[x][z].setBuildable(buildable);
+        tileAt(x, z).setBuildable(buildable);
     }
 
-    public void addZone(int x, int z, ZoneTile zoneTile) {worldmatrix[x][z].setZone(zoneTile);}
+    public void addZone(int x, int z, ZoneTile zoneTile) {tileAt(x, z).setZone(zoneTile);}
 
-    public void addZoneBuildable(int x, int z, Entity zoneBuildable) {worldmatrix[x][z].setZoneBuildable(zoneBuildable);}
+    public void addZoneBuildable(int x, int z, Entity zoneBuildable) {tileAt(x, z).setZoneBuildable(zoneBuildable);}
 
+    /**
+     * Removes every tile, only the occupied cells are visited.
+     */
     public void clearGrid() {
-        for (int i = 0; i < WORLD_SIZE; i++) {
-            for (int j = 0; j < WORLD_SIZE; j++) {
-                worldmatrix[i][j].setZone(null);
-                worldmatrix[i][j].setBuildable(null);
-                worldmatrix[i][j].setZoneBuildable(null);
-            }
+        tiles.clear();
+        changed = true;
+    }
+
+    /**
+     * @return the tile of the cell, created on first use; the lists are rebuilt on the next request.
+     */
+    private Tile tileAt(int x, int z) {
+        Tile tile = tiles.get(x, z);
+        if (tile == null) {
+            tile = new Tile();
+            tiles.set(x, z, tile);
         }
+        changed = true;
+        return tile;
     }
 
+    /**
+     * Rebuilds the lists of zones and entities from the occupied tiles if the grid changed since the last call.
+     */
+    private void collectLists() {
+        if (!changed) {
+            return;
+        }
+        zones.clear();
+        buildables.clear();
+        zoneBuildables.clear();
+        tiles.forEach((x, z, tile) -> {
+            if (tile.getZone() != null) {
+                zones.add(tile.getZone());
+            }
+            if (tile.getBuildable() != null) {
+                buildables.add(tile.getBuildable());
+            }
+            if (tile.getZoneBuildable() != null) {
+                zoneBuildables.add(tile.getZoneBuildable());
+            }
+        });
+        changed = false;
+    }
 }
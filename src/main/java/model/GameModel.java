@@ -3,6 +3,8 @@ package model;
 import controller.ICallBack;
 import model.city.CityRegistry;
 import model.city.CityStatistics;
+import model.city.EducationCatchment;
+import model.city.SimulationLod;
 import model.city.SocialSecurity;
 import model.common.*;
 import model.exceptions.OperationException;
@@ -13,8 +15,11 @@ import model.util.*;
 import model.zone.Zone;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import static model.common.Constants.*;
 import static model.util.BuildableType.*;
@@ -29,6 +34,16 @@ public class GameModel implements java.io.Serializable {
     private List<Forest> youthForest;
     private Date lastTaxDate;
     private final SocialSecurity socialSecurity;
+    private final EducationCatchment educationCatchment;
+    private final SimulationLod simulationLod;
+    private final CitizenStore citizenStore;
+    private final EventScheduler<TimedEvent> scheduler;
+    private transient RoadNetwork roadNetwork;
+    private transient RoadHierarchy roadHierarchy;
+    private transient PackedGrid packedGrid;
+    private transient List<Buildable> allBuildableView;
+    private transient List<Buildable> facilityBuildableView;
+    private transient List<Buildable> zoneBuildableView;
 
     public GameModel(int rows, int cols) {
         this.rows = rows;
@@ -40,7 +55,27 @@ public class GameModel implements java.io.Serializable {
         lastTaxDate = new Date(1, Month.JANUARY, 2020);
         masterRoads = new ArrayList<>();
         youthForest = new ArrayList<>();
-        socialSecurity = new SocialSecurity(cityRegistry);
+        educationCatchment = new EducationCatchment();
+        simulationLod = new SimulationLod();
+        citizenStore = new CitizenStore();
+        socialSecurity = new SocialSecurity(cityRegistry, citizenStore);
+        scheduler = new EventScheduler<>();
+        scheduler.schedule(lastTaxDate.epochDayAfterYears(1), new TimedEvent(TimedEvent.Kind.YEAR_END, null));
+        createGrids();
+    }
+
+    /**
+     * Creates the packed grid and the road hierarchy, which are not saved with the game.
+     * They are created up front, so the path finders of several threads share the same ones.
+     */
+    private void createGrids() {
+        packedGrid = PackedGrid.of(map);
+        roadHierarchy = new RoadHierarchy(map, packedGrid);
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        createGrids();
     }
 
     /**
@@ -73,36 +108,65 @@ public class GameModel implements java.io.Serializable {
         return map;
     }
 
+    /**
+     * The packed copy of the map used by the grid scans, kept in sync by addToMap and removeFromMap.
+     *
+     * @return the packed grid.
+     */
+    public PackedGrid getPackedGrid() {
+        return packedGrid;
+    }
+
     /**
      * Gets everything on the map.
      *
-     * @return list of buildable.
+     * @return read only view of the zones, facilities and master roads, in no particular order, it follows the city without copying it.
      */
     public List<Buildable> getAllBuildable() {
-        List<Buildable> buildableList = new ArrayList<>();
-        buildableList.addAll(cityRegistry.getZones());
-        buildableList.addAll(cityRegistry.getFacilities());
-        buildableList.addAll(masterRoads);
-        return buildableList;
+        if (allBuildableView == null) {
+            allBuildableView = new JoinedList<>(List.of(cityRegistry.getZones(), cityRegistry.getFacilities(), masterRoads));
+        }
+        return allBuildableView;
     }
 
     public List<Road> getMasterRoads() {
         return masterRoads;
     }
 
+    /**
+     * @return read only view of the zones, in no particular order, it follows the city without copying it.
+     */
     public List<Buildable> getZoneBuildable() {
-        return new ArrayList<>(cityRegistry.getZones());
+        if (zoneBuildableView == null) {
+            zoneBuildableView = Collections.unmodifiableList(cityRegistry.getZones());
+        }
+        return zoneBuildableView;
     }
 
     public CityRegistry getCityRegistry() {
         return cityRegistry;
     }
 
+    public EducationCatchment getEducationCatchment() {
+        return educationCatchment;
+    }
+
+    public SimulationLod getSimulationLod() {
+        return simulationLod;
+    }
+
+    public CitizenStore getCitizenStore() {
+        return citizenStore;
+    }
+
+    /**
+     * @return read only view of the facilities and master roads, in no particular order, it follows the city without copying it.
+     */
     public List<Buildable> getFacilityBuildable() {
-        List<Buildable> buildableList = new ArrayList<>();
-        buildableList.addAll(cityRegistry.getFacilities());
-        buildableList.addAll(masterRoads);
-        return buildableList;
+        if (facilityBuildableView == null) {
+            facilityBuildableView = new JoinedList<>(List.of(cityRegistry.getFacilities(), masterRoads));
+        }
+        return facilityBuildableView;
     }
 
     /**
@@ -119,10 +183,69 @@ public class GameModel implements java.io.Serializable {
         checkTemporaryDirectView(zone);
         addToMap(zone);
         zone.resetConnected(masterRoads.get(0), map);
+        registerZone(zone);
+    }
+
+    /**
+     * Adds several zones to the city in one transaction.
+     * Every plot is validated before anything is changed, so either all zones are added or none.
+     * The road network is flooded once for the connections of all zones.
+     *
+     * @param zones the zones to be added
+     * @throws OperationException if a plot is not available or two zones overlap.
+     */
+    public void addZones(List<? extends Zone> zones) throws OperationException {
+        validateBatch(zones, "Add zones failed, no available plot.");
+        for (Zone zone : zones) {
+            checkTemporaryDirectView(zone);
+            addToMap(zone);
+        }
+        Road masterRoad = masterRoads.get(0);
+        PathFinder pathFinder = getPathFinder();
+        boolean[][] reachedRoads = pathFinder.reachableRoads(masterRoad);
+        for (Zone zone : zones) {
+            zone.resetConnected(masterRoad, pathFinder, reachedRoads);
+            registerZone(zone);
+        }
+    }
+
+    /**
+     * Applies the effects of a zone already on the map, registers it and schedules its construction.
+     *
+     * @param zone the new zone
+     */
+    private void registerZone(Zone zone) {
         effectExists(zone);
         beEffectedByExisting(zone);
         cityRegistry.addZone(zone);
         cityRegistry.updateBalance(-zone.getOneTimeCost(), getCurrentDate());
+        scheduler.schedule(zone.getBirthday().toEpochDay() + Constants.DAYS_FOR_CONSTRUCTION + 1,
+                new TimedEvent(TimedEvent.Kind.CONSTRUCTION, zone));
+    }
+
+    /**
+     * Checks that every buildable of a batch has an available plot and that they do not overlap each other.
+     *
+     * @param buildables the batch
+     * @param message    message of the exception
+     * @throws OperationException if a buildable cannot be placed.
+     */
+    private void validateBatch(List<? extends Buildable> buildables, String message) throws OperationException {
+        Set<Integer> claimed = new HashSet<>();
+        for (Buildable buildable : buildables) {
+            if (buildable == null || !isPlotAvailable(buildable)) {
+                throw new OperationException(message);
+            }
+            Coordinate coordinate = buildable.getCoordinate();
+            Dimension dimension = buildable.getDimension();
+            for (int row = coordinate.getRow(); row < coordinate.getRow() + dimension.getHeight(); row++) {
+                for (int col = coordinate.getCol(); col < coordinate.getCol() + dimension.getWidth(); col++) {
+                    if (!claimed.add(row * cols + col)) {
+                        throw new OperationException(message);
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -131,17 +254,11 @@ public class GameModel implements java.io.Serializable {
      * @param buildable the new buildable to check.
      */
     public void checkTemporaryDirectView(Buildable buildable) {
-        for (Buildable b : getFacilityBuildable()) {
-            if (b.getBuildableType() == FOREST) {
-                Forest f = (Forest) b;
-                for (Zone z : getAllZones()) {
-                    boolean cond = f.condition(z, this);
-                    addToMap(buildable);
-                    boolean cond2 = f.condition(z, this);
-                    removeFromMap(buildable);
-                    if (cond2 != cond) {
-                        f.reverseEffect(z, this);
-                    }
+        for (Facility facility : cityRegistry.getFacilities(FOREST)) {
+            Forest f = (Forest) facility;
+            for (Zone z : getAllZones()) {
+                if (f.wouldBlockView(z, buildable, this)) {
+                    f.reverseEffect(z, this);
                 }
             }
         }
@@ -168,7 +285,7 @@ public class GameModel implements java.io.Serializable {
     }
 
     private List<Zone> getAllZones() {
-        return new ArrayList<>(cityRegistry.getZones());
+        return cityRegistry.getZoneView();
     }
 
     /**
@@ -186,7 +303,7 @@ public class GameModel implements java.io.Serializable {
     }
 
     private boolean hasSideEffect(Buildable buildable) {
-        return SideEffect.class.isAssignableFrom(buildable.getClass());
+        return buildable.getBuildableType().hasSideEffect();
     }
 
     /**
@@ -199,10 +316,57 @@ public class GameModel implements java.io.Serializable {
         if (!isPlotAvailable(facility)) {
             throw new OperationException("Add facility failed, no available slot");
         }
+        boolean catchments = settleCatchments(List.of(facility));
         checkTemporaryDirectView(facility);
         addToMap(facility);
+        if (catchments) {
+            educationCatchment.invalidate();
+        }
         facility.setConnected(masterRoads.get(0), map);
+        registerFacility(facility);
+        if (facility.getBuildableType() == ROAD) {
+            recheckConnections();
+        }
+    }
+
+    /**
+     * Adds several facilities to the city in one transaction, e.g. a dragged line of roads.
+     * Every plot is validated before anything is changed, so either all facilities are added or none.
+     * The road network is flooded once, and the connections are rechecked once if the batch has roads.
+     *
+     * @param facilities the facilities to be added
+     * @throws OperationException if a plot is not available or two facilities overlap.
+     */
+    public void addFacilities(List<? extends Facility> facilities) throws OperationException {
+        validateBatch(facilities, "Add facilities failed, no available slot");
+        boolean catchments = settleCatchments(facilities);
+        boolean hasRoad = false;
+        for (Facility facility : facilities) {
+            checkTemporaryDirectView(facility);
+            addToMap(facility);
+            hasRoad |= facility.getBuildableType() == ROAD;
+        }
+        if (catchments) {
+            educationCatchment.invalidate();
+        }
+        Road masterRoad = masterRoads.get(0);
+        PathFinder pathFinder = getPathFinder();
+        boolean[][] reachedRoads = pathFinder.reachableRoads(masterRoad);
+        for (Facility facility : facilities) {
+            facility.resetConnected(masterRoad, pathFinder, reachedRoads);
+            registerFacility(facility);
+        }
+        if (hasRoad) {
+            recheckConnections(pathFinder, reachedRoads);
+        }
+    }
 
+    /**
+     * Applies the effects of a facility already on the map, pays for it and registers it.
+     *
+     * @param facility the new facility
+     */
+    private void registerFacility(Facility facility) {
         effectExists(facility);
         cityRegistry.updateBalance(-facility.getOneTimeCost(), getCurrentDate());
         cityStatistics.getBudget().addMaintenanceFee(facility.getMaintenanceFee());
@@ -214,25 +378,36 @@ public class GameModel implements java.io.Serializable {
                 youthForest.add(forest);
             }
         }
-        if (facility.getBuildableType() == ROAD) {
-            recheckConnections();
-        }
     }
 
     /**
      * Rechecks the connections and apply effect with new connections.
      */
     private void recheckConnections() {
-        for (Zone z : getAllZones()) {
+        PathFinder pathFinder = getPathFinder();
+        recheckConnections(pathFinder, pathFinder.reachableRoads(masterRoads.get(0)));
+    }
+
+    /**
+     * Rechecks the connections with the roads already flooded from the master road.
+     * Goes through copies of the city lists, as the effects of the new connections may change the registry.
+     *
+     * @param pathFinder   path finder of the map
+     * @param reachedRoads roads reachable from the master road
+     */
+    private void recheckConnections(PathFinder pathFinder, boolean[][] reachedRoads) {
+        Road masterRoad = masterRoads.get(0);
+        for (Zone z : List.copyOf(getAllZones())) {
             if (!z.isConnected()) {
-                z.resetConnected(masterRoads.get(0), map);
+                z.resetConnected(masterRoad, pathFinder, reachedRoads);
+                cityRegistry.updateVacancy(z);
                 beEffectedByExisting(z);
             }
         }
-        for (Buildable buildable : getFacilityBuildable()) {
+        for (Buildable buildable : List.copyOf(getFacilityBuildable())) {
             Facility f = (Facility) buildable;
             if (!f.isConnected() && f.getBuildableType() != FOREST) {
-                f.resetConnected(masterRoads.get(0), map);
+                f.resetConnected(masterRoad, pathFinder, reachedRoads);
                 if (hasSideEffect(f)) {
                     effectExists(f);
                 }
@@ -260,11 +435,15 @@ public class GameModel implements java.io.Serializable {
         } else if (bad.getBuildableType() == FOREST) {
             youthForest.remove((Forest) bad);
         }
+        boolean catchments = settleCatchments(List.of(bad));
         removeSideEffects(bad);
         removeFromMap(bad);
+        if (catchments) {
+            educationCatchment.invalidate();
+        }
         cityStatistics.getBudget().addBalance(bad.getOneTimeCost() * Constants.RETURN_RATE, getCurrentDate());
         removeFromCity(bad);
-        System.out.println("Remove Success");
+        Log.debug("Remove Success");
     }
 
     /**
@@ -275,7 +454,7 @@ public class GameModel implements java.io.Serializable {
     private void removeSideEffects(Buildable bad) {
         if (hasSideEffect(bad)) {
             SideEffect badBuildable = (SideEffect) bad;
-            for (Zone z : cityRegistry.getZones()) {
+            for (Zone z : List.copyOf(cityRegistry.getZones())) {
                 badBuildable.reverseEffect(z, this);
             }
         }
@@ -289,6 +468,8 @@ public class GameModel implements java.io.Serializable {
     private void removeFromCity(Buildable bad) {
         if (isZone(bad)) {
             cityRegistry.removeZone((Zone) bad);
+            educationCatchment.remove((Zone) bad);
+            simulationLod.remove((Zone) bad);
         } else {
             cityRegistry.removeFacility((Facility) bad);
             cityStatistics.getBudget().deductMaintenanceFee(((Facility) bad).getMaintenanceFee());
@@ -296,21 +477,43 @@ public class GameModel implements java.io.Serializable {
     }
 
     /**
-     * Checks if the removal of road will result in lost of existing connection
+     * Checks if the removal of road will result in lost of existing connection.
+     * Answered from the road network analysis, which is only redone after the map changed.
      *
      * @param road th road to be checked
      * @return true if it will cause lost, otherwise false.
      */
     public boolean roadIsEssentialForConnection(Road road) {
-        removeFromMap(road);
-        for (Buildable b : getAllBuildable()) {
-            if (b.isConnected() && new PathFinder(map).manhattanDistance(masterRoads.get(0), b) == -1) {
-                addToMap(road);
-                return true;
-            }
+        return getRoadNetwork().isEssential(road.getCoordinate(), masterRoads.get(0), getAllBuildable());
+    }
+
+    /**
+     * Gets every road which cannot be removed because it would break connections, e.g. to highlight them.
+     *
+     * @return coordinates of the essential roads.
+     */
+    public List<Coordinate> getEssentialRoads() {
+        return getRoadNetwork().getEssentialRoads(masterRoads.get(0), getAllBuildable());
+    }
+
+    /**
+     * Gets a path finder which answers long range distances from the road hierarchy of the map.
+     * The hierarchy follows the changes made through addToMap and removeFromMap.
+     *
+     * @return the path finder.
+     */
+    public PathFinder getPathFinder() {
+        return new PathFinder(map, packedGrid, PathFinder.Search.A_STAR, roadHierarchy);
+    }
+
+    /**
+     * @return the road network analysis, created on first use as it is not saved with the game.
+     */
+    private RoadNetwork getRoadNetwork() {
+        if (roadNetwork == null) {
+            roadNetwork = new RoadNetwork(map, getPackedGrid());
         }
-        addToMap(road);
-        return false;
+        return roadNetwork;
     }
 
     /**
@@ -376,6 +579,7 @@ public class GameModel implements java.io.Serializable {
 
     /**
      * Adds the buildable to the world map, reverse operation of removeFromMap
+     * The education catchments are left alone, the add and remove operations of the city drop them once per operation.
      *
      * @param buildable buildable to be added.
      */
@@ -388,6 +592,13 @@ public class GameModel implements java.io.Serializable {
                 map[coordinate.getRow() + i][coordinate.getCol() + j] = buildable;
             }
         }
+        packedGrid.place(buildable);
+        if (roadNetwork != null) {
+            roadNetwork.invalidate();
+        }
+        if (buildable.getBuildableType() == ROAD) {
+            roadHierarchy.roadChanged(coordinate, dimension);
+        }
     }
 
     /**
@@ -404,6 +615,36 @@ public class GameModel implements java.io.Serializable {
                 map[coordinate.getRow() + i][coordinate.getCol() + j] = null;
             }
         }
+        packedGrid.remove(buildable);
+        if (roadNetwork != null) {
+            roadNetwork.invalidate();
+        }
+        if (buildable.getBuildableType() == ROAD) {
+            roadHierarchy.roadChanged(coordinate, dimension);
+        }
+    }
+
+    /**
+     * Catches up the quiet zones if the buildables change the road network or the education facilities,
+     * so the days they missed are evaluated with the catchments they had.
+     * Called once per operation before the map changes, the catchments are dropped after the change.
+     *
+     * @param buildables the buildables to be placed or removed.
+     * @return true if the catchments have to be dropped after the change.
+     */
+    private boolean settleCatchments(List<? extends Buildable> buildables) {
+        boolean changes = false;
+        for (Buildable buildable : buildables) {
+            BuildableType type = buildable.getBuildableType();
+            changes |= type == ROAD || type == SCHOOL || type == UNIVERSITY;
+        }
+        if (changes) {
+            long today = dateOfWorld.toEpochDay();
+            for (Zone zone : cityRegistry.getZones(RESIDENTIAL)) {
+                educate(zone, simulationLod.catchUp(zone, today, today));
+            }
+        }
+        return changes;
     }
 
     /**
@@ -446,46 +687,15 @@ public class GameModel implements java.io.Serializable {
         }
         Coordinate coordinate = b.getCoordinate();
         Dimension dimension = b.getDimension();
-        int topRow = coordinate.getRow();
-        int leftestCol = coordinate.getCol();
-        int rightestCol = leftestCol + dimension.getWidth();
-        int bottomRow = topRow + dimension.getHeight();
-
-        if (bottomRow > rows || rightestCol > cols) {
-            return false;
-        }
-
-        for (int row = topRow; row < bottomRow; row++) {
-            for (int col = leftestCol; col < rightestCol; col++) {
-                if (map[row][col] != null) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return getPackedGrid().isFree(coordinate.getRow(), coordinate.getCol(), dimension.getHeight(), dimension.getWidth());
     }
 
     private boolean existFreeResidentialZones() {
-        for (Buildable buildable : getZoneBuildable()) {
-            Zone zone = (Zone) buildable;
-            if (zone.getBuildableType() == BuildableType.RESIDENTIAL &&
-                    zone.getStatistics().getPopulation() < zone.getLevel().getCapacity() &&
-                    zone.isConnected()) {
-                return true;
-            }
-        }
-        return false;
+        return !cityRegistry.getFreeHomes().isEmpty();
     }
 
     private boolean existFreeWorkingZones() {
-        for (Buildable buildable : getZoneBuildable()) {
-            Zone zone = (Zone) buildable;
-            if ((zone.getBuildableType() == BuildableType.INDUSTRIAL || zone.getBuildableType() == BuildableType.COMMERCIAL) &&
-                    zone.getStatistics().getPopulation() < zone.getCapacity()) {
-                return true;
-            }
-        }
-        return false;
+        return !cityRegistry.getFreeWorkplaces().isEmpty();
     }
 
     private void updateUnemployedStatusForCitizens() {
@@ -501,17 +711,29 @@ public class GameModel implements java.io.Serializable {
 
     /**
      * Regular updating of the world.
+     * The days pass in stretches: the days between two scheduled events are simulated at once,
+     * and a day with an event is simulated on its own right after its events are processed,
+     * so the events happen in order on their own day however many days pass.
+     * The cost depends on the number of events and citizens on the way, not on the number of days.
      *
      * @param dayPass  the day passed since last updates.
      * @param callBack a call back function, called after the updating,
      *                 to synchronize the change to the view.
      */
     public void regularUpdate(int dayPass, ICallBack callBack) {
-        dateOfWorld.addDay(dayPass);
-        filterConstructed();
-        citizenshipManipulation();
-        citizenshipEducationUpdate();
-        cityAging();
+        long tickStart = Metrics.start();
+        long allocatedAtStart = Metrics.allocatedBytes();
+        long today = dateOfWorld.toEpochDay();
+        long end = today + dayPass;
+        while (today < end) {
+            long stretchEnd = Math.min(end, Math.max(today + 1, scheduler.nextDueDay() - 1));
+            int days = (int) (stretchEnd - today);
+            dateOfWorld.addDay(days);
+            today = stretchEnd;
+            simulateDays(days, processDueEvents(today));
+        }
+        Metrics.recordAllocation(allocatedAtStart);
+        Metrics.stop(Metrics.Phase.TICK, tickStart);
         if (callBack == null) {
             return;
         }
@@ -519,58 +741,142 @@ public class GameModel implements java.io.Serializable {
     }
 
     /**
-     * Updates citizen ages and budgets once a year.
+     * Processes the events due on or before the day in the order they are due.
+     *
+     * @param today the epoch day of the current date
+     * @return true if the year ended.
      */
-    private void cityAging() {
-        if (lastTaxDate.dateDifference(dateOfWorld).get("years") >= 1) {
-            socialSecurity.census(this);
-            updateCityBalance();
-            lastTaxDate = getCurrentDate();
-            updateForests();
+    private boolean processDueEvents(long today) {
+        boolean yearEnd = false;
+        TimedEvent event;
+        long phaseStart = Metrics.start();
+        while ((event = scheduler.pollDue(today)) != null) {
+            switch (event.getKind()) {
+                case CONSTRUCTION -> finishConstruction((Zone) event.getTarget());
+                case YEAR_END -> yearEnd = true;
+            }
         }
+        Metrics.stop(Metrics.Phase.EVENTS, phaseStart);
+        return yearEnd;
     }
 
     /**
-     * Distributes new citizens and new jobs.
+     * Runs the daily processes of the citizens for a number of days without events in between.
+     *
+     * @param days    the number of days
+     * @param yearEnd true if the year ended on the last day
+     */
+    private void simulateDays(int days, boolean yearEnd) {
+        long today = dateOfWorld.toEpochDay();
+        long phaseStart = Metrics.start();
+        citizenshipManipulation(days);
+        Metrics.stop(Metrics.Phase.CITIZENSHIP_MANIPULATION, phaseStart);
+        phaseStart = Metrics.start();
+        citizenshipEducationUpdate(today - days, today, yearEnd);
+        Metrics.stop(Metrics.Phase.CITIZENSHIP_EDUCATION_UPDATE, phaseStart);
+        if (yearEnd) {
+            phaseStart = Metrics.start();
+            cityAging();
+            Metrics.stop(Metrics.Phase.CITY_AGING, phaseStart);
+        }
+    }
+
+    /**
+     * Updates citizen ages and budgets once a year, and schedules the next year end.
      */
-    private void citizenshipManipulation() {
+    private void cityAging() {
+        updateCityBalance();
+        lastTaxDate = getCurrentDate();
+        updateForests();
+        scheduler.schedule(lastTaxDate.epochDayAfterYears(1), new TimedEvent(TimedEvent.Kind.YEAR_END, null));
+    }
+
+    /**
+     * Distributes new citizens and new jobs over a number of days.
+     * While the city is smaller than the starting population, one citizen moves in every day.
+     * After that a citizen moves in on each day with a probability given by the satisfaction,
+     * so the number of newcomers of the days is drawn at once instead of deciding day by day.
+     *
+     * @param days the number of days
+     */
+    private void citizenshipManipulation(int days) {
         if (existFreeWorkingZones()) updateUnemployedStatusForCitizens();
         cityStatistics.setCitySatisfaction(this);
-        if (existFreeResidentialZones()) {
-            if (cityStatistics.getPopulation(cityRegistry) < HumanManufacture.startingNrCitizens) {
-                HumanManufacture.createYoungCitizen(this);
-            } else {
-                Zone possibleLivingZone = HumanManufacture.getLivingPlace(this);
-                Zone possibleWorkingZone = HumanManufacture.getWorkingPlace(this, possibleLivingZone);
-                if (possibleLivingZone != null) {
-                    double metrics = cityStatistics.getCitySatisfaction() +
-                            possibleLivingZone.getFreeWorkSpaceEffect() +
-                            possibleLivingZone.getIndustrialEffect();
-                    metrics = metrics > 100 ? 100 : metrics;
-                    metrics = metrics < 0 ? 0 : metrics;
-                    if (ProbabilitySelector.decision(metrics / 100)) {
-                        HumanManufacture.createYoungCitizen(this, possibleWorkingZone, possibleLivingZone);
-                    }
-                }
-            }
+        if (!existFreeResidentialZones()) {
+            return;
+        }
+        int starting = Math.max(0, HumanManufacture.startingNrCitizens - cityStatistics.getPopulation(cityRegistry));
+        long from = dateOfWorld.toEpochDay() - days;
+        int settled = 0;
+        Zone home;
+        while (settled < Math.min(days, starting) && (home = HumanManufacture.getLivingPlace(this)) != null) {
+            educate(home, simulationLod.catchUp(home, from, from));
+            HumanManufacture.createYoungCitizen(this, HumanManufacture.getWorkingPlace(this, home), home);
+            settled++;
+        }
+        if (settled == days || starting > settled) {
+            return;
+        }
+        Zone possibleLivingZone = HumanManufacture.getLivingPlace(this);
+        if (possibleLivingZone == null) {
+            return;
+        }
+        double metrics = cityStatistics.getCitySatisfaction() +
+                possibleLivingZone.getFreeWorkSpaceEffect() +
+                possibleLivingZone.getIndustrialEffect();
+        metrics = metrics > 100 ? 100 : metrics;
+        metrics = metrics < 0 ? 0 : metrics;
+        int arrivals = ProbabilitySelector.binomial(days - settled, metrics / 100);
+        for (int i = 0; i < arrivals && possibleLivingZone != null; i++) {
+            educate(possibleLivingZone, simulationLod.catchUp(possibleLivingZone, from, from));
+            Zone possibleWorkingZone = HumanManufacture.getWorkingPlace(this, possibleLivingZone);
+            HumanManufacture.createYoungCitizen(this, possibleWorkingZone, possibleLivingZone);
+            possibleLivingZone = HumanManufacture.getLivingPlace(this);
+        }
+    }
+
+    /**
+     * Gives a chance of education to every citizen with primary education every day of the given days.
+     * Quiet zones are only evaluated at the cadence of the simulation level of detail, for all the days they missed,
+     * and every zone is caught up at the end of the year.
+     *
+     * @param from    the epoch day the days start after
+     * @param today   the epoch day of the current date
+     * @param catchUp true to evaluate every zone up to today
+     */
+    private void citizenshipEducationUpdate(long from, long today, boolean catchUp) {
+        for (Zone zone : cityRegistry.getZones(RESIDENTIAL)) {
+            educate(zone, catchUp ? simulationLod.catchUp(zone, from, today) : simulationLod.takeDueDays(zone, from, today));
         }
     }
 
-    private void citizenshipEducationUpdate() {
-        for (Citizen citizen : getCityRegistry().getAllCitizens()) {
+    /**
+     * Gives a chance of education to the citizens with primary education of a zone for a number of days.
+     * Zones without a reachable school or university are skipped.
+     *
+     * @param zone the residential zone
+     * @param days the number of days
+     */
+    private void educate(Zone zone, int days) {
+        if (days <= 0 || educationCatchment.getCatchment(zone, this).isEmpty()) {
+            return;
+        }
+        for (Citizen citizen : zone.getCitizens()) {
             if (citizen.getLevelOfEducation() == LevelOfEducation.PRIMARY) {
-                citizen.setLevelOfEducation(HumanManufacture.getEducationLevel(this, citizen.getLivingPlace()));
+                LevelOfEducation newLevel = HumanManufacture.getEducationLevel(this, zone, days);
+                cityStatistics.updateEducationCount(newLevel, 1);
+                citizen.setLevelOfEducation(newLevel);
             }
         }
     }
 
     /**
-     * Collects tax and pays the maintenance fee as well as pension
+     * Settles the year of the citizens, collects tax and pays the maintenance fee as well as pension
      */
     private void updateCityBalance() {
-        double revenue = calculateRevenue();
-        double spend = calculateSpend();
-        cityRegistry.updateBalance(revenue - spend, getCurrentDate());
+        SocialSecurity.FiscalYear year = socialSecurity.settleYear(this);
+        double spend = cityStatistics.getBudget().getTotalMaintenanceFee() + year.getPension();
+        cityRegistry.updateBalance(year.getRevenue() - spend, getCurrentDate());
     }
 
     /**
@@ -586,12 +892,12 @@ public class GameModel implements java.io.Serializable {
     }
 
     /**
-     * Getting the revenue of the city.
+     * Getting the expected revenue of the city, the tax is not collected.
      *
-     * @return the amount of tax collected
+     * @return the amount of tax to be collected
      */
     public double calculateRevenue() {
-        return socialSecurity.collectTax(queryCityBudget().getTaxRate());
+        return socialSecurity.estimateTax(queryCityBudget().getTaxRate());
     }
 
     /**
@@ -612,29 +918,26 @@ public class GameModel implements java.io.Serializable {
     }
 
     /**
-     * Filter out the already finished constructions and update their level.
+     * Finishes the construction of a zone and updates its level.
+     * Zones demolished while under construction are skipped.
+     *
+     * @param zone the zone whose construction time is over
      */
-    private void filterConstructed() {
-        for (Zone zone : getUnderConstructions()) {
-            if (zone.getBirthday().dateDifference(getCurrentDate()).get("days") > Constants.DAYS_FOR_CONSTRUCTION) {
-                zone.setLevel(Level.ONE);
-                zone.setUnderConstruction(false);
-            }
+    private void finishConstruction(Zone zone) {
+        Coordinate coordinate = zone.getCoordinate();
+        if (zone.isUnderConstruction() && map[coordinate.getRow()][coordinate.getCol()] == zone) {
+            zone.setLevel(Level.ONE);
+            zone.setUnderConstruction(false);
+            cityRegistry.updateVacancy(zone);
         }
     }
 
     /**
      * Gets all zones which status is still under constructed.
      *
-     * @return the list
+     * @return read only view of the zones in no particular order, it follows the city without copying it.
      */
     public List<Zone> getUnderConstructions() {
-        List<Zone> underConstructions = new ArrayList<>();
-        for (Zone zone : getAllZones()) {
-            if (zone.isUnderConstruction()) {
-                underConstructions.add(zone);
-            }
-        }
-        return underConstructions;
+        return cityRegistry.getUnderConstruction();
     }
 }
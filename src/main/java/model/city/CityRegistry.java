@@ -1,18 +1,42 @@
 package model.city;
 
 import model.common.Citizen;
+import model.common.IndexedList;
 import model.facility.Facility;
 import model.util.BuildableType;
 import model.util.Date;
 import model.zone.Zone;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 
+/**
+ * Holds the zones and facilities of the city.
+ * Besides the lists of all zones and facilities, they are kept in buckets by their type,
+ * so the buildables of a type are found and counted without going through the whole city,
+ * and every list knows the position of its elements, so removing a buildable takes constant time.
+ * Two pools hold the zones with room left: the connected, finished residential zones which can take a new citizen,
+ * and the industrial and commercial zones with open jobs, a third one holds the zones under construction.
+ * They are updated whenever the population, the construction or the connection of a zone changes,
+ * so finding a home or a job does not go through every zone.
+ * The buckets and pools are not saved with the game, they are built again from the lists on first use.
+ * None of the lists keeps an order: a removed buildable is replaced by the last one of the list.
+ * The views follow the registry, so a caller which adds or removes buildables while going through one
+ * has to go through a copy of it.
+ */
 public class CityRegistry implements java.io.Serializable {
 
     private final ArrayList<Facility> facilities;
     private final ArrayList<Zone> zones;
     private final CityStatistics cityStatistics;
+    private transient IndexedList<Facility> facilityIndex;
+    private transient IndexedList<Zone> zoneIndex;
+    private transient EnumMap<BuildableType, IndexedList<Facility>> facilitiesByType;
+    private transient EnumMap<BuildableType, IndexedList<Zone>> zonesByType;
+    private transient IndexedList<Zone> freeHomes;
+    private transient IndexedList<Zone> freeWorkplaces;
+    private transient IndexedList<Zone> underConstruction;
 
     public CityRegistry(CityStatistics cityStatistics) {
         this.facilities = new ArrayList<>();
@@ -24,23 +48,168 @@ public class CityRegistry implements java.io.Serializable {
         return cityStatistics;
     }
 
+    /**
+     * @return the list of the facilities in no particular order, to be changed only through addFacility and removeFacility.
+     */
     public ArrayList<Facility> getFacilities() {
         return facilities;
     }
 
+    /**
+     * @return the list of the zones in no particular order, to be changed only through addZone and removeZone.
+     */
     public ArrayList<Zone> getZones() {
         return zones;
     }
 
+    /**
+     * @return read only view of the facilities in no particular order, it follows the registry without copying it.
+     */
+    public List<Facility> getFacilityView() {
+        index();
+        return facilityIndex.view();
+    }
+
+    /**
+     * @return read only view of the zones in no particular order, it follows the registry without copying it.
+     */
+    public List<Zone> getZoneView() {
+        index();
+        return zoneIndex.view();
+    }
+
+    /**
+     * @param type the type of the zones
+     * @return read only view of the zones of the type.
+     */
+    public List<Zone> getZones(BuildableType type) {
+        index();
+        return zonesByType.get(type).view();
+    }
+
+    /**
+     * @param type the type of the facilities
+     * @return read only view of the facilities of the type.
+     */
+    public List<Facility> getFacilities(BuildableType type) {
+        index();
+        return facilitiesByType.get(type).view();
+    }
+
+    /**
+     * @param type a type of buildable
+     * @return the number of zones and facilities of the type.
+     */
+    public int count(BuildableType type) {
+        index();
+        return zonesByType.get(type).size() + facilitiesByType.get(type).size();
+    }
+
+    /**
+     * @return read only view of the connected, finished residential zones which can take a new citizen.
+     */
+    public List<Zone> getFreeHomes() {
+        index();
+        return freeHomes.view();
+    }
+
+    /**
+     * @return read only view of the industrial and commercial zones with open jobs.
+     */
+    public List<Zone> getFreeWorkplaces() {
+        index();
+        return freeWorkplaces.view();
+    }
+
+    /**
+     * @return read only view of the zones under construction.
+     */
+    public List<Zone> getUnderConstruction() {
+        index();
+        return underConstruction.view();
+    }
+
+    /**
+     * Puts the zone into the pools it belongs to and takes it out of the others.
+     * Called whenever the population, the construction or the connection of the zone changes.
+     *
+     * @param zone the changed zone
+     */
+    public void updateVacancy(Zone zone) {
+        index();
+        if (!zoneIndex.contains(zone)) {
+            return;
+        }
+        setMember(freeHomes, zone, isFreeHome(zone));
+        setMember(freeWorkplaces, zone, isFreeWorkplace(zone));
+        setMember(underConstruction, zone, zone.isUnderConstruction());
+    }
+
+    private static void setMember(IndexedList<Zone> pool, Zone zone, boolean member) {
+        if (member) {
+            pool.add(zone);
+        } else {
+            pool.remove(zone);
+        }
+    }
+
+    private static boolean isFreeHome(Zone zone) {
+        int population = zone.getStatistics().getPopulation();
+        return zone.getBuildableType() == BuildableType.RESIDENTIAL && zone.isConnected() &&
+                population < zone.getCapacity() && population < zone.getLevel().getCapacity();
+    }
+
+    private static boolean isFreeWorkplace(Zone zone) {
+        BuildableType type = zone.getBuildableType();
+        return (type == BuildableType.INDUSTRIAL || type == BuildableType.COMMERCIAL) &&
+                zone.getStatistics().getPopulation() < zone.getCapacity();
+    }
+
+    /**
+     * Builds the buckets and pools from the lists if they are not there yet, e.g. after loading a game.
+     */
+    private void index() {
+        if (zoneIndex != null) {
+            return;
+        }
+        facilityIndex = new IndexedList<>(facilities);
+        zoneIndex = new IndexedList<>(zones);
+        facilitiesByType = new EnumMap<>(BuildableType.class);
+        zonesByType = new EnumMap<>(BuildableType.class);
+        for (BuildableType type : BuildableType.values()) {
+            facilitiesByType.put(type, new IndexedList<>());
+            zonesByType.put(type, new IndexedList<>());
+        }
+        for (Facility facility : facilities) {
+            facilitiesByType.get(facility.getBuildableType()).add(facility);
+        }
+        freeHomes = new IndexedList<>();
+        freeWorkplaces = new IndexedList<>();
+        underConstruction = new IndexedList<>();
+        for (Zone zone : zones) {
+            zonesByType.get(zone.getBuildableType()).add(zone);
+            updateVacancy(zone);
+        }
+    }
+
+    /**
+     * @return the number of citizens living in the city, without collecting them.
+     */
+    public int getCitizenCount() {
+        int count = 0;
+        for (Zone zone : getZones(BuildableType.RESIDENTIAL)) {
+            count += zone.getCitizens().size();
+        }
+        return count;
+    }
+
     /**
      * @return list of all citizens from the city.
      */
     public ArrayList<Citizen> getAllCitizens() {
         ArrayList<Citizen> citizens = new ArrayList<>();
-        for (Zone zone : getZones()) {
-            if (zone.getBuildableType() == BuildableType.RESIDENTIAL) {
-                citizens.addAll(zone.getCitizens());
-            }
+        for (Zone zone : getZones(BuildableType.RESIDENTIAL)) {
+            citizens.addAll(zone.getCitizens());
         }
         return citizens;
     }
@@ -51,7 +220,11 @@ public class CityRegistry implements java.io.Serializable {
      * @param zone to be added
      */
     public void addZone(Zone zone) {
-        zones.add(zone);
+        index();
+        if (zoneIndex.add(zone)) {
+            zonesByType.get(zone.getBuildableType()).add(zone);
+            updateVacancy(zone);
+        }
         cityStatistics.updateNrZones(this);
     }
 
@@ -61,7 +234,13 @@ public class CityRegistry implements java.io.Serializable {
      * @param zone to be removed
      */
     public void removeZone(Zone zone) {
-        zones.remove(zone);
+        index();
+        if (zoneIndex.remove(zone)) {
+            zonesByType.get(zone.getBuildableType()).remove(zone);
+            freeHomes.remove(zone);
+            freeWorkplaces.remove(zone);
+            underConstruction.remove(zone);
+        }
         cityStatistics.updateNrZones(this);
     }
 
@@ -71,7 +250,10 @@ public class CityRegistry implements java.io.Serializable {
      * @param facility to be added
      */
     public void addFacility(Facility facility) {
-        facilities.add(facility);
+        index();
+        if (facilityIndex.add(facility)) {
+            facilitiesByType.get(facility.getBuildableType()).add(facility);
+        }
     }
 
     /**
@@ -80,7 +262,10 @@ public class CityRegistry implements java.io.Serializable {
      * @param facility to be removed
      */
     public void removeFacility(Facility facility) {
-        facilities.remove(facility);
+        index();
+        if (facilityIndex.remove(facility)) {
+            facilitiesByType.get(facility.getBuildableType()).remove(facility);
+        }
     }
 
     /**
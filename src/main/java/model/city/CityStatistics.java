@@ -2,16 +2,16 @@ package model.city;
 
 import model.GameModel;
 import model.common.Budget;
-import model.common.Citizen;
+import model.util.BuildableType;
 import model.util.Date;
 import model.util.LevelOfEducation;
-import model.zone.CommercialZone;
-import model.zone.IndustrialZone;
 import model.zone.Zone;
 
 public class CityStatistics implements java.io.Serializable {
     private int nrCommercialZones;
     private int nrIndustrialZones;
+    private int nrCitizenSecondaryEducation;
+    private int nrCitizenHigherEducation;
     private final Budget budget;
     private double citySatisfaction;
 
@@ -19,6 +19,8 @@ public class CityStatistics implements java.io.Serializable {
         this.budget = budget;
         this.nrCommercialZones = 0;
         this.nrIndustrialZones = 0;
+        this.nrCitizenSecondaryEducation = 0;
+        this.nrCitizenHigherEducation = 0;
         this.citySatisfaction = 0;
     }
 
@@ -39,7 +41,7 @@ public class CityStatistics implements java.io.Serializable {
      * @return number of citizens.
      */
     public int getPopulation(CityRegistry cityRegistry) {
-        return cityRegistry.getAllCitizens().size();
+        return cityRegistry.getCitizenCount();
     }
 
     public double getCitySatisfaction() {
@@ -92,37 +94,40 @@ public class CityStatistics implements java.io.Serializable {
      * @param cityRegistry to get the zones
      */
     public void updateNrZones(CityRegistry cityRegistry) {
-        this.nrCommercialZones = (int) cityRegistry.getZones().stream().filter(z -> z.getClass()
-                .equals(CommercialZone.class)).count();
-        this.nrIndustrialZones = (int) cityRegistry.getZones().stream().filter(z -> z.getClass()
-                .equals(IndustrialZone.class)).count();
+        this.nrCommercialZones = cityRegistry.getZones(BuildableType.COMMERCIAL).size();
+        this.nrIndustrialZones = cityRegistry.getZones(BuildableType.INDUSTRIAL).size();
+    }
+
+    /**
+     * Updates the number of citizens with the given level of education.
+     * Called when a citizen moves in, moves out or graduates.
+     *
+     * @param levelOfEducation the level of education of the citizen
+     * @param change           +1 when counted in, -1 when counted out
+     */
+    public void updateEducationCount(LevelOfEducation levelOfEducation, int change) {
+        if (levelOfEducation == LevelOfEducation.SCHOOL) {
+            nrCitizenSecondaryEducation += change;
+        } else if (levelOfEducation == LevelOfEducation.UNIVERSITY) {
+            nrCitizenHigherEducation += change;
+        }
     }
 
     /**
      * Get the number of citizens who have a secondary level of education (school).
      *
-     * @param cityRegistry to get the collection of citizens.
      * @return nr of citizens who have a secondary level of education (school).
      */
-    public int getNrCitizenSecondaryEducation(CityRegistry cityRegistry) {
-        int nrCitizenSecondaryEducation = 0;
-        for (Citizen citizen : cityRegistry.getAllCitizens()) {
-            if (citizen.getLevelOfEducation() == LevelOfEducation.SCHOOL) nrCitizenSecondaryEducation += 1;
-        }
+    public int getNrCitizenSecondaryEducation() {
         return nrCitizenSecondaryEducation;
     }
 
     /**
      * Get the number of citizens who have a higher level of education (university).
      *
-     * @param cityRegistry to get the collection of citizens.
      * @return nr of citizens who have a higher level of education (university).
      */
-    public int getNrCitizenHigherEducation(CityRegistry cityRegistry) {
-        int nrCitizenHigherEducation = 0;
-        for (Citizen citizen : cityRegistry.getAllCitizens()) {
-            if (citizen.getLevelOfEducation() == LevelOfEducation.UNIVERSITY) nrCitizenHigherEducation += 1;
-        }
+    public int getNrCitizenHigherEducation() {
         return nrCitizenHigherEducation;
     }
 
@@ -0,0 +1,129 @@
+package model.city;
+
+import model.GameModel;
+import model.facility.Facility;
+import model.facility.School;
+import model.facility.University;
+import model.util.BuildableType;
+import model.util.PathFinder;
+import model.zone.Zone;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the schools and universities reachable from each residential zone.
+ * A catchment is computed on first request and kept until roads or education facilities change.
+ */
+public class EducationCatchment implements java.io.Serializable {
+
+    private final Map<Zone, Catchment> catchments;
+
+    public EducationCatchment() {
+        this.catchments = new HashMap<>();
+    }
+
+    /**
+     * Gets the catchment of a living place, computes it if it is not known yet.
+     *
+     * @param livingPlace the residential zone
+     * @param gm          game model
+     * @return the education facilities reachable from the zone
+     */
+    public Catchment getCatchment(Zone livingPlace, GameModel gm) {
+        Catchment catchment = catchments.get(livingPlace);
+        if (catchment == null) {
+            catchment = computeCatchment(livingPlace, gm);
+            catchments.put(livingPlace, catchment);
+        }
+        return catchment;
+    }
+
+    /**
+     * Drops every catchment, called when the road network or the education facilities change.
+     */
+    public void invalidate() {
+        if (!catchments.isEmpty()) {
+            catchments.clear();
+        }
+    }
+
+    /**
+     * Drops the catchment of a removed zone.
+     *
+     * @param zone the removed zone
+     */
+    public void remove(Zone zone) {
+        catchments.remove(zone);
+    }
+
+    private Catchment computeCatchment(Zone livingPlace, GameModel gm) {
+        PathFinder pathFinder = gm.getPathFinder();
+        boolean[][] reached = pathFinder.reachableRoads(livingPlace);
+        Catchment catchment = new Catchment();
+        for (Facility facility : gm.getCityRegistry().getFacilities(BuildableType.SCHOOL)) {
+            if (pathFinder.isReachable(livingPlace, facility, reached)) {
+                catchment.schools.add((School) facility);
+                catchment.schoolCapacity += ((School) facility).getCapacity();
+            }
+        }
+        for (Facility facility : gm.getCityRegistry().getFacilities(BuildableType.UNIVERSITY)) {
+            if (pathFinder.isReachable(livingPlace, facility, reached)) {
+                catchment.universities.add((University) facility);
+                catchment.universityCapacity += ((University) facility).getCapacity();
+            }
+        }
+        return catchment;
+    }
+
+    /**
+     * The schools and universities reachable from one residential zone, with their aggregate capacity.
+     */
+    public static class Catchment implements java.io.Serializable {
+        private final List<School> schools = new ArrayList<>();
+        private final List<University> universities = new ArrayList<>();
+        private int schoolCapacity;
+        private int universityCapacity;
+
+        public List<School> getSchools() {
+            return schools;
+        }
+
+        public List<University> getUniversities() {
+            return universities;
+        }
+
+        public int getSchoolCapacity() {
+            return schoolCapacity;
+        }
+
+        public int getUniversityCapacity() {
+            return universityCapacity;
+        }
+
+        /**
+         * @return true if no education facility can be reached.
+         */
+        public boolean isEmpty() {
+            return schools.isEmpty() && universities.isEmpty();
+        }
+
+        /**
+         * @param enrolled the number of citizens with secondary education in the city
+         * @return the free school capacity of the catchment
+         */
+        public int getFreeSchoolCapacity(int enrolled) {
+            return schoolCapacity - enrolled;
+        }
+
+        /**
+         * @param enrolled the number of citizens with higher education in the city
+         * @return the free university capacity of the catchment
+         */
+        public int getFreeUniversityCapacity(int enrolled) {
+            return universityCapacity - enrolled;
+        }
+    }
+}
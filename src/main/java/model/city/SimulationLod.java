@@ -0,0 +1,110 @@
+package model.city;
+
+import model.zone.Zone;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Level of detail of the daily simulation of the zones.
+ * A zone is active while it changes, see Zone.getChanges(), and is evaluated every day like before.
+ * A zone without any change for QUIET_AFTER_DAYS days is quiet and is only evaluated every QUIET_CADENCE_DAYS days,
+ * the days it missed are evaluated at once on its next evaluation, or right away when it is caught up.
+ */
+public class SimulationLod implements java.io.Serializable {
+
+    public static final int QUIET_AFTER_DAYS = 60;
+    public static final int QUIET_CADENCE_DAYS = 30;
+
+    private final Map<Zone, State> states;
+
+    public SimulationLod() {
+        this.states = new HashMap<>();
+    }
+
+    /**
+     * Gets the days to evaluate the zone for now, they count as evaluated afterwards.
+     *
+     * @param zone  the zone
+     * @param from  the epoch day the simulated days start after, the start of a zone seen the first time
+     * @param today the epoch day of the current date
+     * @return the days not evaluated yet if the zone is active or its cadence is due, otherwise 0.
+     */
+    public int takeDueDays(Zone zone, long from, long today) {
+        State state = stateOf(zone, from);
+        long pending = today - state.evaluatedUntil;
+        if (pending <= 0 || (isQuiet(state, zone, today) && pending < QUIET_CADENCE_DAYS)) {
+            return 0;
+        }
+        state.evaluatedUntil = today;
+        return (int) pending;
+    }
+
+    /**
+     * Gets the days the zone was not evaluated for until the given day, whether it is quiet or not.
+     * Called before the zone is touched, so the days it missed are evaluated as they were.
+     *
+     * @param zone  the zone
+     * @param from  the start of a zone seen the first time
+     * @param until the epoch day to catch up to
+     * @return the days not evaluated yet, they count as evaluated afterwards.
+     */
+    public int catchUp(Zone zone, long from, long until) {
+        State state = stateOf(zone, from);
+        long pending = until - state.evaluatedUntil;
+        if (pending <= 0) {
+            return 0;
+        }
+        state.evaluatedUntil = until;
+        return (int) pending;
+    }
+
+    /**
+     * @param zone  the zone
+     * @param today the epoch day of the current date
+     * @return true if the zone is known and did not change for QUIET_AFTER_DAYS days.
+     */
+    public boolean isQuiet(Zone zone, long today) {
+        State state = states.get(zone);
+        return state != null && isQuiet(state, zone, today);
+    }
+
+    /**
+     * Forgets a removed zone.
+     *
+     * @param zone the removed zone
+     */
+    public void remove(Zone zone) {
+        states.remove(zone);
+    }
+
+    private boolean isQuiet(State state, Zone zone, long today) {
+        if (state.changes != zone.getChanges()) {
+            state.changes = zone.getChanges();
+            state.lastActive = today;
+            return false;
+        }
+        return today - state.lastActive >= QUIET_AFTER_DAYS;
+    }
+
+    private State stateOf(Zone zone, long from) {
+        State state = states.get(zone);
+        if (state == null) {
+            state = new State(zone.getChanges(), from);
+            states.put(zone, state);
+        }
+        return state;
+    }
+
+    private static class State implements java.io.Serializable {
+        private int changes;
+        private long lastActive;
+        private long evaluatedUntil;
+
+        private State(int changes, long day) {
+            this.changes = changes;
+            this.lastActive = day;
+            this.evaluatedUntil = day;
+        }
+    }
+}
@@ -2,105 +2,254 @@ package model.city;
 
 import model.GameModel;
 import model.common.Citizen;
+import model.common.CitizenStore;
 import model.common.Constants;
 import model.common.HumanManufacture;
+import model.util.BuildableType;
+import model.util.Log;
 import model.util.ProbabilitySelector;
+import model.zone.Zone;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class SocialSecurity implements java.io.Serializable {
 
     CityRegistry cityRegistry;
+    CitizenStore citizenStore;
 
-    public SocialSecurity(CityRegistry cityRegistry) {
+    public SocialSecurity(CityRegistry cityRegistry, CitizenStore citizenStore) {
         this.cityRegistry = cityRegistry;
+        this.citizenStore = citizenStore;
     }
 
+    private static final byte WORKS = 0;
+    private static final byte RETIRED = 1;
+    private static final byte DIES = 2;
+    private static final byte LEAVES = 3;
+
     /**
-     * Dies existing citizens and aging them.
+     * Settles the year of the whole population in a single pass:
+     * ages every citizen, lets retired citizens die (replaced by young ones),
+     * lets unsatisfied workers leave, collects the tax of the workers and
+     * settles the pension of the retired.
+     * The population is partitioned by residential zone, the zones are processed in parallel
+     * if the population reaches PARALLEL_FISCAL_YEAR_POPULATION.
+     * Deaths, departures and births are applied after the pass, in the order of the zones.
+     *
+     * @param gm game model
+     * @return the totals of the year
      */
-    public void census(GameModel gm) {
+    public FiscalYear settleYear(GameModel gm) {
+        return settleYear(gm, citizenStore.getCitizenCount() >= Constants.PARALLEL_FISCAL_YEAR_POPULATION);
+    }
 
-        for (Citizen c : cityRegistry.getAllCitizens()) {
-            c.incAge();
+    /**
+     * Settles the year, see settleYear(gm).
+     * Whatever reaches the rest of the model, the satisfaction through the path finder and the random decisions,
+     * is decided first, zone by zone on the calling thread.
+     * The parallel pass only ages the citizens and books their tax and pension, each in its own row of the store.
+     *
+     * @param gm       game model
+     * @param parallel true to book the zones in parallel
+     * @return the totals of the year
+     */
+    FiscalYear settleYear(GameModel gm, boolean parallel) {
+        List<Zone> residentialZones = new ArrayList<>();
+        for (Zone zone : cityRegistry.getZones(BuildableType.RESIDENTIAL)) {
+            if (!zone.getCitizens().isEmpty()) {
+                residentialZones.add(zone);
+            }
+        }
+        int nrZones = residentialZones.size();
+        double taxRate = gm.queryCityBudget().getTaxRate();
+        double[] taxes = new double[nrZones];
+        int[] pensions = new int[nrZones];
+        int[] workers = new int[nrZones];
+        int[] retired = new int[nrZones];
+        byte[][] outcomes = new byte[nrZones][];
+        for (int i = 0; i < nrZones; i++) {
+            List<Citizen> citizens = residentialZones.get(i).getCitizens();
+            outcomes[i] = new byte[citizens.size()];
+            for (int c = 0; c < citizens.size(); c++) {
+                outcomes[i][c] = outcome(citizens.get(c), gm);
+            }
         }
 
-        for (Citizen retire : getListOfRetired()) {
-            if (ProbabilitySelector.decision(retire.getAge() / 100.0)) {
-                try {
-                    System.out.println("One citizen died");
-                    die(retire, gm);
-                } catch (NullPointerException ignored) {
+        IntStream zones = IntStream.range(0, nrZones);
+        if (parallel) {
+            zones = zones.parallel();
+        }
+        zones.forEach(i -> {
+            List<Citizen> citizens = residentialZones.get(i).getCitizens();
+            for (int c = 0; c < citizens.size(); c++) {
+                Citizen citizen = citizens.get(c);
+                citizen.incAge();
+                if (outcomes[i][c] == RETIRED) {
+                    pensions[i] += citizen.getPension();
+                    retired[i]++;
+                } else if (outcomes[i][c] == WORKS) {
+                    taxes[i] += citizen.payTax(taxRate);
+                    workers[i]++;
                 }
-                HumanManufacture.createYoungCitizen(gm);
             }
+        });
+
+        FiscalYear year = new FiscalYear();
+        for (int i = 0; i < nrZones; i++) {
+            year.revenue += taxes[i];
+            year.pension += pensions[i];
+            year.workers += workers[i];
+            year.retired += retired[i];
         }
 
-        for (Citizen worker : getListOfWorkForce()) {
-            if (worker.getSatisfaction(gm) < Constants.CITIZEN_LEAVING_SATISFACTION) {
-                System.out.println("One citizen left");
-                try {
-                    die(worker, gm);
-                } catch (NullPointerException ignored) {
+        List<Citizen> dying = new ArrayList<>();
+        List<Citizen> leaving = new ArrayList<>();
+        for (int i = 0; i < nrZones; i++) {
+            List<Citizen> citizens = residentialZones.get(i).getCitizens();
+            for (int c = 0; c < citizens.size(); c++) {
+                if (outcomes[i][c] == DIES) {
+                    dying.add(citizens.get(c));
+                } else if (outcomes[i][c] == LEAVES) {
+                    leaving.add(citizens.get(c));
                 }
             }
         }
-    }
-
-    private List<Citizen> getListOfRetired() {
-        List<Citizen> retired = new LinkedList<>();
-        for (Citizen citizen : cityRegistry.getAllCitizens()) {
-            if (citizen.getAge() >= 65) {
-                retired.add(citizen);
+        List<Citizen> born = new ArrayList<>();
+        for (Citizen dead : dying) {
+            Log.debug("One citizen died");
+            die(dead, gm);
+            year.deaths++;
+            Citizen young = HumanManufacture.createYoungCitizen(gm);
+            if (young != null) {
+                born.add(young);
+            }
+        }
+        for (Citizen worker : leaving) {
+            Log.debug("One citizen left");
+            die(worker, gm);
+            year.emigrants++;
+        }
+        for (Citizen young : born) {
+            if (young.getSatisfaction(gm) < Constants.CITIZEN_LEAVING_SATISFACTION) {
+                Log.debug("One citizen left");
+                die(young, gm);
+                year.emigrants++;
+            } else {
+                year.revenue += young.payTax(taxRate);
+                year.workers++;
             }
         }
-        return retired;
+        year.births = born.size();
+
+        if (Log.isEnabled(Log.Level.INFO)) {
+            Log.info("Social Security: Got tax " + year.revenue + " from " + year.workers + " workers");
+            Log.info("Social Security: Paid " + year.pension + " pension to " + year.retired + " retires");
+        }
+        return year;
     }
 
-    private List<Citizen> getListOfWorkForce() {
-        List<Citizen> workForce = new LinkedList<>();
-        for (Citizen citizen : cityRegistry.getAllCitizens()) {
-            if (citizen.getAge() < 65) {
-                workForce.add(citizen);
-            }
+    /**
+     * Decides what the year brings to a citizen, with the age it reaches this year.
+     *
+     * @param citizen the citizen
+     * @param gm      game model
+     * @return WORKS, RETIRED, DIES or LEAVES.
+     */
+    private byte outcome(Citizen citizen, GameModel gm) {
+        int age = citizen.getAge() + 1;
+        if (age >= Constants.RETIREMENT_AGE) {
+            return ProbabilitySelector.decision(age / 100.0) ? DIES : RETIRED;
         }
-        return workForce;
+        return citizen.getSatisfaction(gm) < Constants.CITIZEN_LEAVING_SATISFACTION ? LEAVES : WORKS;
     }
 
-    private void die(Citizen dead, GameModel gm) throws NullPointerException {
+    /**
+     * Removes a citizen from its zones and frees its row in the store.
+     *
+     * @param dead the citizen to remove
+     * @param gm   game model
+     */
+    private void die(Citizen dead, GameModel gm) {
         dead.getLivingPlace().removeCitizen(dead, gm);
-        dead.getWorkplace().removeCitizen(dead, gm);
+        Zone workplace = dead.getWorkplace();
+        dead.release();
+        if (workplace != null) {
+            workplace.removeCitizen(dead, gm);
+        }
     }
 
-
     /**
-     * Calculates the spend of pension
+     * Calculates the spend of pension.
+     * Settles the pension of every retired citizen in one pass over the citizen store.
      *
      * @return the total amount of pension to be paid by city.
      */
     public int payPension() {
         int total = 0;
-        for (Citizen retire : getListOfRetired()) {
-            total += retire.getPension();
+        for (int id = 0; id < citizenStore.getRowCount(); id++) {
+            if (citizenStore.isAlive(id) && citizenStore.getAge(id) >= Constants.RETIREMENT_AGE) {
+                total += citizenStore.retire(id);
+            }
         }
-        System.out.println("Social Security: Paid " + total + " pension to " + getListOfRetired().size() + " retires");
         return total;
     }
 
     /**
-     * Calculate the total tax revenue from tax
+     * Calculates the tax the work force would pay with the given rate, without collecting it.
      *
      * @param taxRate current tax rate
      * @return total tax from work forces.
      */
-    public double collectTax(double taxRate) {
+    public double estimateTax(double taxRate) {
         double total = 0;
-        for (Citizen c : getListOfWorkForce()) {
-            total += c.payTax(taxRate);
+        for (int id = 0; id < citizenStore.getRowCount(); id++) {
+            if (citizenStore.isAlive(id) && citizenStore.getAge(id) < Constants.RETIREMENT_AGE) {
+                total += Constants.BASE_TAX * taxRate + citizenStore.getLevelOfEducation(id).getAdditionalValue();
+            }
         }
-        System.out.println("Social Security: Got tax " + total + " from" + getListOfWorkForce().size() + " workers");
         return total;
     }
-    
+
+    /**
+     * Totals of one settled year.
+     */
+    public static class FiscalYear {
+        private double revenue;
+        private int pension;
+        private int workers;
+        private int retired;
+        private int deaths;
+        private int emigrants;
+        private int births;
+
+        public double getRevenue() {
+            return revenue;
+        }
+
+        public int getPension() {
+            return pension;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public int getRetired() {
+            return retired;
+        }
+
+        public int getDeaths() {
+            return deaths;
+        }
+
+        public int getEmigrants() {
+            return emigrants;
+        }
+
+        public int getBirths() {
+            return births;
+        }
+    }
 }
@@ -0,0 +1,218 @@
+package model.common;
+
+import java.io.Serializable;
+
+/**
+ * Sparse grid of cells split into square chunks of CHUNK_SIZE x CHUNK_SIZE cells.
+ * A chunk is only allocated when a value is first set in it, so a large empty world costs almost nothing.
+ * Every chunk keeps the list of its occupied cells, so iterating the values and clearing the grid
+ * costs time proportional to the number of values and not to the size of the grid.
+ *
+ * @param <T> the type of the values.
+ */
+public class ChunkedGrid<T> implements Serializable {
+
+    public static final int CHUNK_SIZE = 32;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    /**
+     * Receives the occupied cells of the grid.
+     *
+     * @param <T> the type of the values.
+     */
+    @FunctionalInterface
+    public interface CellVisitor<T> {
+        void visit(int row, int col, T value);
+    }
+
+    private static class Chunk implements Serializable {
+        private final Object[] cells = new Object[CHUNK_CELLS];
+        /**
+         * The local indices of the occupied cells, the first count are valid.
+         */
+        private final int[] occupied = new int[CHUNK_CELLS];
+        /**
+         * The position of each occupied cell in the occupied list, for removal in constant time.
+         */
+        private final int[] position = new int[CHUNK_CELLS];
+        private int count = 0;
+    }
+
+    private final int rows, cols;
+    private final int chunkRows, chunkCols;
+    private final Chunk[] chunks;
+    private int size = 0;
+    private int allocatedChunks = 0;
+
+    /**
+     * @param rows the number of rows of the grid.
+     * @param cols the number of columns of the grid.
+     */
+    public ChunkedGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkCols = (cols + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new Chunk[chunkRows * chunkCols];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getChunkCols() {
+        return chunkCols;
+    }
+
+    /**
+     * @return the number of occupied cells.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of chunks allocated so far, chunks are kept once allocated.
+     */
+    public int getAllocatedChunkCount() {
+        return allocatedChunks;
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return the value of the cell, null if it is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int row, int col) {
+        checkInside(row, col);
+        Chunk chunk = chunks[chunkIndex(row, col)];
+        return chunk == null ? null : (T) chunk.cells[localIndex(row, col)];
+    }
+
+    /**
+     * Sets the value of a cell, allocating its chunk on first use.
+     *
+     * @param row   the row of the cell.
+     * @param col   the column of the cell.
+     * @param value the new value, null empties the cell.
+     * @return the previous value of the cell.
+     */
+    @SuppressWarnings("unchecked")
+    public T set(int row, int col, T value) {
+        if (value == null) {
+            return remove(row, col);
+        }
+        checkInside(row, col);
+        int index = chunkIndex(row, col);
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks[index] = chunk;
+            allocatedChunks++;
+        }
+        int local = localIndex(row, col);
+        T previous = (T) chunk.cells[local];
+        chunk.cells[local] = value;
+        if (previous == null) {
+            chunk.position[local] = chunk.count;
+            chunk.occupied[chunk.count++] = local;
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Empties a cell, the chunk stays allocated.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return the previous value of the cell.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int row, int col) {
+        checkInside(row, col);
+        Chunk chunk = chunks[chunkIndex(row, col)];
+        if (chunk == null) {
+            return null;
+        }
+        int local = localIndex(row, col);
+        T previous = (T) chunk.cells[local];
+        if (previous != null) {
+            chunk.cells[local] = null;
+            int last = chunk.occupied[--chunk.count];
+            int position = chunk.position[local];
+            chunk.occupied[position] = last;
+            chunk.position[last] = position;
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Empties every occupied cell, visiting only the occupied ones.
+     */
+    public void clear() {
+        for (Chunk chunk : chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < chunk.count; i++) {
+                chunk.cells[chunk.occupied[i]] = null;
+            }
+            chunk.count = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Visits every occupied cell chunk by chunk, the order inside a chunk is not specified.
+     * The grid must not be changed during the visit.
+     *
+     * @param visitor receives the cells.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(CellVisitor<? super T> visitor) {
+        for (int index = 0; index < chunks.length; index++) {
+            Chunk chunk = chunks[index];
+            if (chunk == null || chunk.count == 0) {
+                continue;
+            }
+            int baseRow = (index / chunkCols) * CHUNK_SIZE;
+            int baseCol = (index % chunkCols) * CHUNK_SIZE;
+            for (int i = 0; i < chunk.count; i++) {
+                int local = chunk.occupied[i];
+                visitor.visit(baseRow + local / CHUNK_SIZE, baseCol + local % CHUNK_SIZE, (T) chunk.cells[local]);
+            }
+        }
+    }
+
+    private int chunkIndex(int row, int col) {
+        return (row / CHUNK_SIZE) * chunkCols + col / CHUNK_SIZE;
+    }
+
+    private static int localIndex(int row, int col) {
+        return (row % CHUNK_SIZE) * CHUNK_SIZE + col % CHUNK_SIZE;
+    }
+
+    private void checkInside(int row, int col) {
+        if (!isInside(row, col)) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside of the " + rows + "x" + cols + " grid");
+        }
+    }
+}
@@ -2,44 +2,50 @@ package model.common;
 
 import model.GameModel;
 import model.util.LevelOfEducation;
-import model.util.PathFinder;
 import model.zone.Zone;
 
-import java.util.LinkedList;
 import java.util.Random;
 
+/**
+ * A citizen of the city.
+ * The properties are kept in a row of the CitizenStore, this object is only a handle of that row.
+ */
 public class Citizen implements java.io.Serializable {
-    private Zone workplace;
-    private final Zone livingPlace;
-    private LevelOfEducation levelOfEducation;
-    private int pension;
-    private int age;
-    private boolean isUnemployed;
+    private final CitizenStore store;
+    private final int id;
+    private final int generation;
 
-    private final LinkedList<Double> taxPaidPast20Years;
+    public Citizen(CitizenStore store, Zone workplace, Zone livingPlace, LevelOfEducation levelOfEducation) {
+        this.store = store;
+        this.id = store.allocate(workplace, livingPlace, levelOfEducation, new Random().nextInt(42) + 18);
+        this.generation = store.getGeneration(id);
+    }
 
-    public Citizen(Zone workplace, Zone livingPlace, LevelOfEducation levelOfEducation) {
-        this.workplace = workplace;
-        this.livingPlace = livingPlace;
-        this.levelOfEducation = levelOfEducation;
-        pension = 0;
-        age = new Random().nextInt(42) + 18;
-        isUnemployed = workplace == null;
-        taxPaidPast20Years = new LinkedList<>();
+    /**
+     * @return the row of the citizen.
+     * @throws IllegalStateException if the citizen was released, so a stale handle never reads the citizen reusing its row.
+     */
+    private int row() {
+        if (store.getGeneration(id) != generation) {
+            throw new IllegalStateException("Citizen used after it left the city");
+        }
+        return id;
     }
 
     public double getSatisfaction(GameModel gm) {
+        Zone workplace = getWorkplace();
+        Zone livingPlace = getLivingPlace();
         if (workplace == null) {
             return livingPlace.getZoneSatisfaction(gm);
         }
-        double distanceEffect = new PathFinder(gm.getMap()).manhattanDistance(workplace, livingPlace);
+        double distanceEffect = gm.getPathFinder().manhattanDistance(workplace, livingPlace);
         return (workplace.getZoneSatisfaction(gm) +
                 livingPlace.getZoneSatisfaction(gm)) / 2.0 -
                 distanceEffect;
     }
 
     public double getTax(double taxRate) {
-        return Constants.BASE_TAX * taxRate + levelOfEducation.getAdditionalValue();
+        return Constants.BASE_TAX * taxRate + getLevelOfEducation().getAdditionalValue();
     }
 
     /**
@@ -49,7 +55,7 @@ public class Citizen implements java.io.Serializable {
      * @return the tax to be paid by the person
      */
     public double payTax(double taxRate) {
-        double tax = Constants.BASE_TAX * taxRate + levelOfEducation.getAdditionalValue();
+        double tax = getTax(taxRate);
         addPaidTax(tax);
         return tax;
     }
@@ -63,87 +69,83 @@ public class Citizen implements java.io.Serializable {
      * @return distance from living place to working place
      */
     public static int getDistanceLiveWork(GameModel gm, Zone livingPlace, Zone workplace) {
-        return new PathFinder(gm.getMap()).manhattanDistance(livingPlace, workplace);
+        return gm.getPathFinder().manhattanDistance(livingPlace, workplace);
     }
 
     public Zone getWorkplace() {
-        return workplace;
+        return store.getWorkplace(row());
     }
 
     public Zone getLivingPlace() {
-        return livingPlace;
+        return store.getLivingPlace(row());
     }
 
     public LevelOfEducation getLevelOfEducation() {
-        return levelOfEducation;
+        return store.getLevelOfEducation(row());
     }
 
     public int getPension() {
         retire();
-        return pension;
+        return store.getPension(row());
     }
 
     public int getAge() {
-        return age;
+        return store.getAge(row());
     }
 
     public void setWorkplace(GameModel gm, Zone workplace) {
-        this.workplace = workplace;
+        store.setWorkplace(row(), workplace);
         setIsUnemployed(false);
         workplace.addCitizen(this, gm);
     }
 
     public void setLevelOfEducation(LevelOfEducation levelOfEducation) {
-        this.levelOfEducation = levelOfEducation;
+        store.setLevelOfEducation(row(), levelOfEducation);
     }
 
     public void setIsUnemployed(boolean isUnemployed) {
-        this.isUnemployed = isUnemployed;
+        store.setUnemployed(row(), isUnemployed);
     }
 
     public void incAge() {
-        age++;
+        store.incAge(row());
     }
 
     public boolean isUnemployed() {
-        return this.isUnemployed;
+        return store.isUnemployed(row());
     }
 
     public void retire() {
-        pension = (int) getPast20AvgIncome();
+        store.retire(row());
     }
 
     public void addPaidTax(double newTax) {
-        if (taxPaidPast20Years.size() == 20) {
-            taxPaidPast20Years.addLast(newTax);
-            taxPaidPast20Years.removeFirst();
-        } else {
-            taxPaidPast20Years.addLast(newTax);
-        }
+        store.addPaidTax(row(), newTax);
     }
 
     /**
      * @return average income of the last 20 years.
      */
     public double getPast20AvgIncome() {
-        double sumTax = 0;
-        int cnt = 0;
-        for (Double taxRatePast20Year : taxPaidPast20Years) {
-            sumTax += taxRatePast20Year;
-            cnt += 1;
-        }
-        return sumTax / cnt;
+        return store.getAveragePaidTax(row());
+    }
+
+    /**
+     * Frees the row of the citizen in the store, called when the citizen leaves the city.
+     */
+    public void release() {
+        store.release(row());
     }
 
     @Override
     public String toString() {
         return "Citizen{" +
-                "workplace=" + workplace +
-                ", livingPlace=" + livingPlace +
-                ", levelOfEducation=" + levelOfEducation +
-                ", pension=" + pension +
-                ", age=" + age +
-                ", isUnemployed=" + isUnemployed +
+                "workplace=" + getWorkplace() +
+                ", livingPlace=" + getLivingPlace() +
+                ", levelOfEducation=" + getLevelOfEducation() +
+                ", pension=" + store.getPension(row()) +
+                ", age=" + getAge() +
+                ", isUnemployed=" + isUnemployed() +
                 ", taxPaidPast20Years=" + getPast20AvgIncome() +
                 '}';
     }
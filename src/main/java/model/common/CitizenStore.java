@@ -0,0 +1,246 @@
+package model.common;
+
+import model.util.LevelOfEducation;
+import model.util.Metrics;
+import model.zone.Zone;
+
+import java.util.Arrays;
+
+/**
+ * Columnar storage of the citizens of a city.
+ * Every citizen is a row id, its properties are kept in primitive arrays,
+ * zones are referenced directly and the tax history is a ring buffer of TAX_HISTORY_YEARS slots per row.
+ * Rows of removed citizens are reused by new ones, the generation of a row counts its releases,
+ * so a handle kept after its citizen left can be told apart from the citizen now in the row.
+ */
+public class CitizenStore implements java.io.Serializable {
+
+    private static final LevelOfEducation[] LEVELS = LevelOfEducation.values();
+    private static final int HISTORY = Constants.TAX_HISTORY_YEARS;
+
+    private int[] age;
+    private byte[] education;
+    private int[] pension;
+    private boolean[] unemployed;
+    private Zone[] livingPlace;
+    private Zone[] workplace;
+    private double[] taxHistory;
+    private double[] taxSum;
+    private byte[] taxHead;
+    private byte[] taxCount;
+    private boolean[] alive;
+    private int[] generation;
+
+    private int size;
+    private int[] freeIds;
+    private int freeCount;
+    private int citizenCount;
+
+    public CitizenStore() {
+        this(64);
+    }
+
+    public CitizenStore(int initialCapacity) {
+        age = new int[initialCapacity];
+        education = new byte[initialCapacity];
+        pension = new int[initialCapacity];
+        unemployed = new boolean[initialCapacity];
+        livingPlace = new Zone[initialCapacity];
+        workplace = new Zone[initialCapacity];
+        taxHistory = new double[initialCapacity * HISTORY];
+        taxSum = new double[initialCapacity];
+        taxHead = new byte[initialCapacity];
+        taxCount = new byte[initialCapacity];
+        alive = new boolean[initialCapacity];
+        generation = new int[initialCapacity];
+        freeIds = new int[16];
+    }
+
+    /**
+     * Allocates a row for a new citizen.
+     *
+     * @param workplace        working zone, can be null
+     * @param livingPlace      living zone
+     * @param levelOfEducation level of education
+     * @param age              starting age
+     * @return the id of the row
+     */
+    public int allocate(Zone workplace, Zone livingPlace, LevelOfEducation levelOfEducation, int age) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (size == this.age.length) {
+                grow();
+            }
+            id = size++;
+        }
+        this.age[id] = age;
+        this.education[id] = (byte) levelOfEducation.ordinal();
+        this.pension[id] = 0;
+        this.unemployed[id] = workplace == null;
+        this.livingPlace[id] = livingPlace;
+        this.workplace[id] = workplace;
+        this.taxSum[id] = 0;
+        this.taxHead[id] = 0;
+        this.taxCount[id] = 0;
+        this.alive[id] = true;
+        citizenCount++;
+        Metrics.increment(Metrics.Counter.CITIZENS_CREATED);
+        return id;
+    }
+
+    /**
+     * Frees the row of a removed citizen, so it can be reused.
+     * The zones of the row are dropped and its generation is moved on.
+     *
+     * @param id row id
+     */
+    public void release(int id) {
+        if (!alive[id]) {
+            return;
+        }
+        alive[id] = false;
+        livingPlace[id] = null;
+        workplace[id] = null;
+        generation[id]++;
+        citizenCount--;
+        Metrics.increment(Metrics.Counter.CITIZENS_REMOVED);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    private void grow() {
+        int capacity = Math.max(age.length * 2, 16);
+        age = Arrays.copyOf(age, capacity);
+        education = Arrays.copyOf(education, capacity);
+        pension = Arrays.copyOf(pension, capacity);
+        unemployed = Arrays.copyOf(unemployed, capacity);
+        livingPlace = Arrays.copyOf(livingPlace, capacity);
+        workplace = Arrays.copyOf(workplace, capacity);
+        taxHistory = Arrays.copyOf(taxHistory, capacity * HISTORY);
+        taxSum = Arrays.copyOf(taxSum, capacity);
+        taxHead = Arrays.copyOf(taxHead, capacity);
+        taxCount = Arrays.copyOf(taxCount, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+    }
+
+    /**
+     * @return the number of living citizens in the store.
+     */
+    public int getCitizenCount() {
+        return citizenCount;
+    }
+
+    public int getAge(int id) {
+        return age[id];
+    }
+
+    public void incAge(int id) {
+        age[id]++;
+    }
+
+    public LevelOfEducation getLevelOfEducation(int id) {
+        return LEVELS[education[id]];
+    }
+
+    public void setLevelOfEducation(int id, LevelOfEducation levelOfEducation) {
+        education[id] = (byte) levelOfEducation.ordinal();
+    }
+
+    public int getPension(int id) {
+        return pension[id];
+    }
+
+    public boolean isUnemployed(int id) {
+        return unemployed[id];
+    }
+
+    public void setUnemployed(int id, boolean unemployed) {
+        this.unemployed[id] = unemployed;
+    }
+
+    public Zone getLivingPlace(int id) {
+        return livingPlace[id];
+    }
+
+    public Zone getWorkplace(int id) {
+        return workplace[id];
+    }
+
+    public void setWorkplace(int id, Zone workplace) {
+        this.workplace[id] = workplace;
+    }
+
+    /**
+     * Records a paid tax, dropping the oldest record if the history is full.
+     * The running sum is updated with the difference, and recomputed from the slots
+     * every time the ring wraps around, so rounding errors cannot pile up.
+     *
+     * @param id  row id
+     * @param tax the paid tax
+     */
+    public void addPaidTax(int id, double tax) {
+        int slot = id * HISTORY + taxHead[id];
+        if (taxCount[id] == HISTORY) {
+            taxSum[id] -= taxHistory[slot];
+        } else {
+            taxCount[id]++;
+        }
+        taxHistory[slot] = tax;
+        taxSum[id] += tax;
+        taxHead[id] = (byte) ((taxHead[id] + 1) % HISTORY);
+        if (taxHead[id] == 0) {
+            double sum = 0;
+            for (int i = id * HISTORY; i < (id + 1) * HISTORY; i++) {
+                sum += taxHistory[i];
+            }
+            taxSum[id] = sum;
+        }
+    }
+
+    /**
+     * @param id row id
+     * @return average of the recorded taxes, NaN if there is none.
+     */
+    public double getAveragePaidTax(int id) {
+        return taxSum[id] / taxCount[id];
+    }
+
+    /**
+     * Sets the pension of a citizen to its average paid tax.
+     *
+     * @param id row id
+     * @return the new pension
+     */
+    public int retire(int id) {
+        pension[id] = (int) getAveragePaidTax(id);
+        return pension[id];
+    }
+
+    /**
+     * @return the number of rows, including the free ones; ids are below this number.
+     */
+    public int getRowCount() {
+        return size;
+    }
+
+    /**
+     * @param id row id
+     * @return true if the row belongs to a citizen who still lives in the city.
+     */
+    public boolean isAlive(int id) {
+        return alive[id];
+    }
+
+    /**
+     * @param id row id
+     * @return the number of times the row was released.
+     */
+    public int getGeneration(int id) {
+        return generation[id];
+    }
+}
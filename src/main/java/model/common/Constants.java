@@ -8,6 +8,9 @@ public class Constants implements java.io.Serializable {
     public static final int INDUSTRY_BASE_CAPACITY = 2;
     public static final int COMMERCIAL_BASE_CAPACITY = 2;
     public static final int RESIDENTIAL_BASE_CAPACITY = 3;
+    public static final int TAX_HISTORY_YEARS = 20;
+    public static final int RETIREMENT_AGE = 65;
+    public static final int PARALLEL_FISCAL_YEAR_POPULATION = 10000;
 
     // ONE TIME COSTS
     public static final int ZONE_ONE_TIME_COST = 1000;
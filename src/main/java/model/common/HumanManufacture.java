@@ -1,14 +1,16 @@
 package model.common;
 
 import model.GameModel;
+import model.city.CityStatistics;
+import model.city.EducationCatchment;
 import model.facility.School;
 import model.facility.University;
-import model.util.BuildableType;
 import model.util.LevelOfEducation;
 import model.util.PathFinder;
 import model.zone.Zone;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 public class HumanManufacture {
@@ -22,21 +24,11 @@ public class HumanManufacture {
      * @return Residential zone if found, otherwise null.
      */
     public static Zone getLivingPlace(GameModel gm) {
-        ArrayList<Zone> availableResidentialZones = new ArrayList<>();
-        for (Buildable buildable : gm.getZoneBuildable()) {
-            Zone zone = (Zone) buildable;
-            if (zone.getBuildableType() == BuildableType.RESIDENTIAL &&
-                    zone.getStatistics().getPopulation() < zone.getCapacity() && zone.isConnected()) {
-                availableResidentialZones.add(zone);
-            }
-        }
-        Random rand = new Random();
-        if (availableResidentialZones.size() > 0) {
-            int random = rand.nextInt(availableResidentialZones.size());
-            return availableResidentialZones.get(random);
-        } else {
+        List<Zone> freeHomes = gm.getCityRegistry().getFreeHomes();
+        if (freeHomes.isEmpty()) {
             return null;
         }
+        return freeHomes.get(new Random().nextInt(freeHomes.size()));
     }
 
     /**
@@ -67,21 +59,37 @@ public class HumanManufacture {
      * @return the random education level
      */
     public static LevelOfEducation getEducationLevel(GameModel gm, Zone livingPlace) {
-        Random rand = new Random();
-        int random = rand.nextInt(3);
-
-        ArrayList<School> availableSchools = getAvailableSchools(gm, livingPlace);
-        ArrayList<University> availableUniversities = getAvailableUniversities(gm, livingPlace);
+        return getEducationLevel(gm, livingPlace, 1);
+    }
 
-        if (random == 1 && areEnoughPlacesSecondaryEducation(gm, availableSchools)) {
-            return LevelOfEducation.SCHOOL;
+    /**
+     * Returns the level of education reached after trying for a number of days.
+     * Every day school and university are chosen with a chance of one third each, if they have free capacity,
+     * so the chance to still have primary education after the days is (1 - chance of a day) ^ days.
+     *
+     * @param gm          game model
+     * @param livingPlace living place of the citizen
+     * @param days        the number of days
+     * @return the random education level
+     */
+    public static LevelOfEducation getEducationLevel(GameModel gm, Zone livingPlace, int days) {
+        EducationCatchment.Catchment catchment = gm.getEducationCatchment().getCatchment(livingPlace, gm);
+        CityStatistics cityStatistics = gm.getCityStatistics();
+        boolean school = catchment.getFreeSchoolCapacity(cityStatistics.getNrCitizenSecondaryEducation()) > 0;
+        boolean university = catchment.getFreeUniversityCapacity(cityStatistics.getNrCitizenHigherEducation()) > 0;
+        int options = (school ? 1 : 0) + (university ? 1 : 0);
+        if (options == 0) {
+            return LevelOfEducation.PRIMARY;
         }
 
-        if (random == 2 && areEnoughPlacesHigherEducation(gm, availableUniversities)) {
-            return LevelOfEducation.UNIVERSITY;
+        Random rand = new Random();
+        if (rand.nextDouble() < Math.pow(1 - options / 3.0, days)) {
+            return LevelOfEducation.PRIMARY;
         }
-
-        return LevelOfEducation.PRIMARY;
+        if (options == 2) {
+            return rand.nextBoolean() ? LevelOfEducation.SCHOOL : LevelOfEducation.UNIVERSITY;
+        }
+        return school ? LevelOfEducation.SCHOOL : LevelOfEducation.UNIVERSITY;
     }
 
     /**
@@ -89,18 +97,20 @@ public class HumanManufacture {
      * (if available)
      *
      * @param gm game model
+     * @return the new citizen, null if there is no available living place.
      */
-    public static void createYoungCitizen(GameModel gm) {
+    public static Citizen createYoungCitizen(GameModel gm) {
         Zone livingPlace = getLivingPlace(gm);
         if (livingPlace == null) {
-            return;
+            return null;
         }
         Zone workPlace = getWorkingPlace(gm, livingPlace);
-        Citizen newCitizen = new Citizen(workPlace, livingPlace, getEducationLevel(gm, livingPlace));
+        Citizen newCitizen = new Citizen(gm.getCitizenStore(), workPlace, livingPlace, getEducationLevel(gm, livingPlace));
         livingPlace.addCitizen(newCitizen, gm);
         if (workPlace != null) {
             workPlace.addCitizen(newCitizen, gm);
         }
+        return newCitizen;
     }
 
     /**
@@ -111,7 +121,7 @@ public class HumanManufacture {
      * @param livingPlace living zone for the new citizen
      */
     public static void createYoungCitizen(GameModel gm, Zone workPlace, Zone livingPlace) {
-        Citizen newCitizen = new Citizen(workPlace, livingPlace, getEducationLevel(gm, livingPlace));
+        Citizen newCitizen = new Citizen(gm.getCitizenStore(), workPlace, livingPlace, getEducationLevel(gm, livingPlace));
         livingPlace.addCitizen(newCitizen, gm);
         if (workPlace != null) workPlace.addCitizen(newCitizen, gm);
     }
@@ -125,64 +135,34 @@ public class HumanManufacture {
      */
     public static Zone getWorkingPlace(GameModel gm, Zone livingPlace) {
         ArrayList<Zone> availableWorkingZones = new ArrayList<>();
-        for (Buildable buildable : gm.getZoneBuildable()) {
-            Zone zone = (Zone) buildable;
-            int distanceLiveWork = new PathFinder(gm.getMap()).manhattanDistance(zone, livingPlace);
-            if ((zone.getBuildableType() == BuildableType.INDUSTRIAL ||
-                    zone.getBuildableType() == BuildableType.COMMERCIAL) &&
-                    zone.getStatistics().getPopulation() < zone.getCapacity()
-                    && distanceLiveWork != -1) {
+        PathFinder pathFinder = gm.getPathFinder();
+        for (Zone zone : gm.getCityRegistry().getFreeWorkplaces()) {
+            if (pathFinder.manhattanDistance(zone, livingPlace) != -1) {
                 availableWorkingZones.add(zone);
             }
         }
         return getClosestWorkingPlace(availableWorkingZones, livingPlace, gm);
     }
 
+    /**
+     * Gets the schools reachable from a living place.
+     *
+     * @param gm          game model
+     * @param livingPlace the residential zone
+     * @return list of reachable schools
+     */
     public static ArrayList<School> getAvailableSchools(GameModel gm, Zone livingPlace) {
-        ArrayList<School> availableSchools = new ArrayList<>();
-        for (Buildable buildable : gm.getAllBuildable()) {
-            if (new PathFinder(gm.getMap()).manhattanDistance(buildable, livingPlace) != -1) {
-                if (buildable.getBuildableType() == BuildableType.SCHOOL) {
-                    availableSchools.add((School) buildable);
-                }
-            }
-        }
-        return availableSchools;
-    }
-
-    private static boolean areEnoughPlacesSecondaryEducation(GameModel gm, ArrayList<School> availableSchools) {
-        return gm.getCityStatistics().getNrCitizenSecondaryEducation(gm.getCityRegistry()) < getCapacitySchools(availableSchools);
-    }
-
-    private static int getCapacitySchools(ArrayList<School> schools) {
-        int capacityAllSchools = 0;
-        for (School school : schools) {
-            capacityAllSchools += school.getCapacity();
-        }
-        return capacityAllSchools;
+        return new ArrayList<>(gm.getEducationCatchment().getCatchment(livingPlace, gm).getSchools());
     }
 
+    /**
+     * Gets the universities reachable from a living place.
+     *
+     * @param gm          game model
+     * @param livingPlace the residential zone
+     * @return list of reachable universities
+     */
     public static ArrayList<University> getAvailableUniversities(GameModel gm, Zone livingPlace) {
-        ArrayList<University> availableUniversities = new ArrayList<>();
-        for (Buildable buildable : gm.getAllBuildable()) {
-            if (new PathFinder(gm.getMap()).manhattanDistance(buildable, livingPlace) != -1) {
-                if (buildable.getClass() == University.class) {
-                    availableUniversities.add((University) buildable);
-                }
-            }
-        }
-        return availableUniversities;
-    }
-
-    private static boolean areEnoughPlacesHigherEducation(GameModel gm, ArrayList<University> availableUniversities) {
-        return gm.getCityStatistics().getNrCitizenHigherEducation(gm.getCityRegistry()) < getCapacityUniversities(availableUniversities);
-    }
-
-    private static int getCapacityUniversities(ArrayList<University> universities) {
-        int capacityAllUniversities = 0;
-        for (University university : universities) {
-            capacityAllUniversities += university.getCapacity();
-        }
-        return capacityAllUniversities;
+        return new ArrayList<>(gm.getEducationCatchment().getCatchment(livingPlace, gm).getUniversities());
     }
 }
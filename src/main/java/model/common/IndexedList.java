@@ -0,0 +1,81 @@
+package model.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List which knows the position of each of its elements, so removing one takes constant time.
+ * An element is removed by moving the last element into its place, so the order of the elements is not kept.
+ * Elements are told apart by reference and each may be added once.
+ *
+ * @param <T> the type of the elements.
+ */
+public class IndexedList<T> {
+
+    private final ArrayList<T> elements;
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+    private final List<T> view;
+
+    public IndexedList() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * @param elements the list to keep, its elements are indexed once
+     */
+    public IndexedList(ArrayList<T> elements) {
+        this.elements = elements;
+        this.view = Collections.unmodifiableList(elements);
+        for (int i = 0; i < elements.size(); i++) {
+            positions.put(elements.get(i), i);
+        }
+    }
+
+    /**
+     * @param element the element to add
+     * @return false if the element was already in the list.
+     */
+    public boolean add(T element) {
+        if (positions.containsKey(element)) {
+            return false;
+        }
+        positions.put(element, elements.size());
+        elements.add(element);
+        return true;
+    }
+
+    /**
+     * @param element the element to remove
+     * @return false if the element was not in the list.
+     */
+    public boolean remove(T element) {
+        Integer position = positions.remove(element);
+        if (position == null) {
+            return false;
+        }
+        T last = elements.remove(elements.size() - 1);
+        if (last != element) {
+            elements.set(position, last);
+            positions.put(last, position);
+        }
+        return true;
+    }
+
+    public boolean contains(T element) {
+        return positions.containsKey(element);
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * @return read only view of the elements, it follows the list without copying it.
+     */
+    public List<T> view() {
+        return view;
+    }
+}
@@ -0,0 +1,56 @@
+package model.common;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Read only view of several lists one after the other, without copying them.
+ * The view follows the changes of the lists, and every attempt to change it through the view throws UnsupportedOperationException.
+ * The lists should be random access, as an element is found by its index in them.
+ *
+ * @param <T> the type of the elements.
+ */
+public class JoinedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<List<? extends T>> parts;
+
+    /**
+     * @param parts the lists to join, in order
+     */
+    public JoinedList(List<List<? extends T>> parts) {
+        this.parts = List.copyOf(parts);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        int offset = index;
+        for (List<? extends T> part : parts) {
+            if (offset < part.size()) {
+                return part.get(offset);
+            }
+            offset -= part.size();
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (List<? extends T> part : parts) {
+            size += part.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (List<? extends T> part : parts) {
+            part.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package model.common;
+
+import model.util.BuildableType;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Flat copy of the map holding only what the grid scans need: a type code and a buildable id per cell, row by row.
+ * Checking a cell is an array read instead of following the reference and calling getBuildableType(),
+ * and the neighbours of a cell are next to each other in memory.
+ * Every cell covered by a buildable holds the same id, 0 marks an empty cell.
+ */
+public final class PackedGrid {
+
+    public static final byte EMPTY = 0;
+    public static final byte ROAD = code(BuildableType.ROAD);
+
+    private final int rows, cols;
+    private final byte[] types;
+    private final int[] ids;
+    private final Map<Buildable, Integer> idOf = new IdentityHashMap<>();
+    private int nextId = 1;
+
+    /**
+     * @param rows the number of rows of the map
+     * @param cols the number of columns of the map
+     */
+    public PackedGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.types = new byte[rows * cols];
+        this.ids = new int[rows * cols];
+    }
+
+    /**
+     * @param map the map to copy
+     * @return a packed grid holding the same buildable in every cell as the map.
+     */
+    public static PackedGrid of(Buildable[][] map) {
+        PackedGrid grid = new PackedGrid(map.length, map[0].length);
+        for (int row = 0; row < grid.rows; row++) {
+            for (int col = 0; col < grid.cols; col++) {
+                Buildable b = map[row][col];
+                if (b != null) {
+                    int index = grid.index(row, col);
+                    grid.types[index] = code(b.getBuildableType());
+                    grid.ids[index] = grid.idOf.computeIfAbsent(b, key -> grid.nextId++);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param type the type of a buildable
+     * @return the code of the type in the grid, never EMPTY.
+     */
+    public static byte code(BuildableType type) {
+        return (byte) (type.ordinal() + 1);
+    }
+
+    /**
+     * Writes the buildable into every cell it covers.
+     *
+     * @param buildable the buildable placed on the map
+     */
+    public void place(Buildable buildable) {
+        int id = idOf.computeIfAbsent(buildable, b -> nextId++);
+        fill(buildable, code(buildable.getBuildableType()), id);
+    }
+
+    /**
+     * Clears the cells of the buildable.
+     *
+     * @param buildable the buildable removed from the map
+     */
+    public void remove(Buildable buildable) {
+        Integer id = idOf.remove(buildable);
+        if (id != null) {
+            fill(buildable, EMPTY, 0);
+        }
+    }
+
+    private void fill(Buildable buildable, byte type, int id) {
+        Coordinate coordinate = buildable.getCoordinate();
+        Dimension dimension = buildable.getDimension();
+        for (int row = coordinate.getRow(); row < coordinate.getRow() + dimension.getHeight(); row++) {
+            int index = row * cols + coordinate.getCol();
+            for (int col = 0; col < dimension.getWidth(); col++) {
+                types[index + col] = type;
+                ids[index + col] = id;
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * @return the type code of the cell at the index, EMPTY if nothing is there.
+     */
+    public byte typeAt(int index) {
+        return types[index];
+    }
+
+    /**
+     * @return the id of the buildable covering the cell at the index, 0 if nothing is there.
+     */
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @param buildable a buildable
+     * @return the id of the buildable, -1 if it is not on the grid.
+     */
+    public int idOf(Buildable buildable) {
+        Integer id = idOf.get(buildable);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return true if the cell is on the grid and holds a road.
+     */
+    public boolean isRoad(int row, int col) {
+        return isInside(row, col) && types[row * cols + col] == ROAD;
+    }
+
+    /**
+     * @return true if the cell holds something other than a road, the cell has to be on the grid.
+     */
+    public boolean isBuilding(int row, int col) {
+        byte type = types[row * cols + col];
+        return type != EMPTY && type != ROAD;
+    }
+
+    /**
+     * @return true if the rectangle is on the grid and every cell of it is empty.
+     */
+    public boolean isFree(int top, int left, int height, int width) {
+        if (top < 0 || left < 0 || top + height > rows || left + width > cols) {
+            return false;
+        }
+        for (int row = top; row < top + height; row++) {
+            int index = row * cols + left;
+            for (int col = 0; col < width; col++) {
+                if (types[index + col] != EMPTY) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -35,6 +35,18 @@ public abstract class Facility implements Buildable, java.io.Serializable {
         isConnected = new PathFinder(map).manhattanDistance(this, connectingPoint) > -1;
     }
 
+    /**
+     * Resets the connected property from roads already flooded from the connecting point,
+     * gives the same result as resetConnected(connectingPoint, map).
+     *
+     * @param connectingPoint master road
+     * @param pathFinder      path finder of the map
+     * @param reachedRoads    result of pathFinder.reachableRoads(connectingPoint)
+     */
+    public void resetConnected(Buildable connectingPoint, PathFinder pathFinder, boolean[][] reachedRoads) {
+        isConnected = pathFinder.isReachable(connectingPoint, this, reachedRoads);
+    }
+
     public void setConnected(Buildable connectingPoint, Buildable[][] map) {
         isConnected = new PathFinder(map).manhattanDistance(this, connectingPoint) > -1;
     }
@@ -4,6 +4,7 @@ import model.GameModel;
 import model.common.*;
 import model.util.BuildableType;
 import model.util.Date;
+import model.util.Log;
 import model.util.PathFinder;
 import model.zone.IndustrialZone;
 import model.zone.Zone;
@@ -66,11 +67,9 @@ public class Forest extends EffectualFacility {
      */
     public LinkedList<IndustrialZone> getBadEffectIndustrial(Zone zone, GameModel gm) {
         LinkedList<IndustrialZone> iz = new LinkedList<>();
-        for (Buildable buildable :
-                gm.getZoneBuildable()) {
-            if (buildable.getBuildableType() == BuildableType.INDUSTRIAL &&
-                    isInBetween(zone.getCoordinate(), this.getCoordinate(), buildable.getCoordinate())) {
-                SideEffect z = (SideEffect) buildable;
+        for (Zone other : gm.getCityRegistry().getZones(BuildableType.INDUSTRIAL)) {
+            if (isInBetween(zone.getCoordinate(), this.getCoordinate(), other.getCoordinate())) {
+                SideEffect z = (SideEffect) other;
                 if (z.condition(zone, gm)) {
                     iz.add((IndustrialZone) z);
                 }
@@ -98,7 +97,7 @@ public class Forest extends EffectualFacility {
             zone.updateForestEffect(zone.getStatistics().getSatisfaction().getForestEffect() + totalEffectCnt);
             for (IndustrialZone s : getBadEffectIndustrial(zone, gm)) {
                 s.reversePollute(zone, gm);
-                System.out.println("Bad effects removed by Forest...");
+                Log.debug("Bad effects removed by Forest...");
             }
         }
     }
@@ -109,15 +108,14 @@ public class Forest extends EffectualFacility {
             zone.updateForestEffect(zone.getStatistics().getSatisfaction().getForestEffect() - totalEffectCnt);
             for (IndustrialZone s : getBadEffectIndustrial(zone, gm)) {
                 s.pollute(zone, gm);
-                System.out.println("Bad effects back...");
-                System.out.println(s);
+                Log.debug("Bad effects back... ", s);
             }
         }
     }
 
     @Override
     public boolean condition(Zone zone, GameModel gm) {
-        return (hasDirectView(zone, gm.getMap()) &&
+        return (hasDirectView(zone, gm.getPackedGrid()) &&
                 new PathFinder(gm.getMap()).squareDistance(zone, this) <= influenceRadius + 1) &&
                 zone.isConnected();
     }
@@ -134,13 +132,55 @@ public class Forest extends EffectualFacility {
      * @return true if can
      */
     public boolean hasDirectView(Zone zone, Buildable[][] map) {
+        return hasDirectView(zone, (row, col) -> map[row][col] != null && map[row][col].getBuildableType() != BuildableType.ROAD);
+    }
+
+    /**
+     * Checks if a zone can see the forest directly
+     *
+     * @param zone zone to be checked
+     * @param grid packed grid of the city
+     * @return true if can
+     */
+    public boolean hasDirectView(Zone zone, PackedGrid grid) {
+        return hasDirectView(zone, grid::isBuilding);
+    }
+
+    /**
+     * Checks if a new buildable would take away the view of a zone which can see the forest now, without placing it on the map.
+     *
+     * @param zone      zone to be checked
+     * @param candidate the buildable to be placed
+     * @param gm        game model
+     * @return true if the zone sees the forest now and would not see it with the candidate on the map
+     */
+    public boolean wouldBlockView(Zone zone, Buildable candidate, GameModel gm) {
+        if (candidate.getBuildableType() == BuildableType.ROAD || !condition(zone, gm)) {
+            return false;
+        }
+        PackedGrid grid = gm.getPackedGrid();
+        Coordinate top = candidate.getCoordinate();
+        Dimension dimension = candidate.getDimension();
+        return !hasDirectView(zone, (row, col) -> grid.isBuilding(row, col) ||
+                (row >= top.getRow() && row < top.getRow() + dimension.getHeight() &&
+                        col >= top.getCol() && col < top.getCol() + dimension.getWidth()));
+    }
+
+    /**
+     * Tells whether a cell holds a building which blocks the view.
+     */
+    private interface Cells {
+        boolean isBuilding(int row, int col);
+    }
+
+    private boolean hasDirectView(Zone zone, Cells grid) {
         Coordinate zC = zone.getCoordinate();
         Coordinate self = this.getCoordinate();
 
         if (zC.getRow() == self.getRow()) { // check horizontally
-            return !horizontallyBlocked(map, zC, self);
+            return !horizontallyBlocked(grid, zC, self);
         } else if (zC.getCol() == self.getCol()) { // check vertically
-            return !verticallyBlocked(map, zC, self);
+            return !verticallyBlocked(grid, zC, self);
         } else {
             return false;
         }
@@ -164,32 +204,20 @@ public class Forest extends EffectualFacility {
         return vertically || horizontally;
     }
 
-    /**
-     * Checks if there is a real building at the given place
-     *
-     * @param sRow row coordinate
-     * @param sCol column coordinate
-     * @param map  map of the city
-     * @return true if there is one.
-     */
-    private boolean isNotEmpty(int sRow, int sCol, Buildable[][] map) {
-        return map[sRow][sCol] != null && map[sRow][sCol].getBuildableType() != BuildableType.ROAD;
-    }
-
-    private boolean horizontallyBlocked(Buildable[][] map, Coordinate zC, Coordinate self) {
+    private boolean horizontallyBlocked(Cells grid, Coordinate zC, Coordinate self) {
         int diff = self.getCol() - zC.getCol();
         if (diff > 3) {
             return true;
         }
         if (diff < 0) { // self on the left
             for (int i = 1; i < -diff; i++) {
-                if (isNotEmpty(self.getRow(), self.getCol() + i, map)) {
+                if (grid.isBuilding(self.getRow(), self.getCol() + i)) {
                     return true;
                 }
             }
         } else {
             for (int i = 1; i < diff; i++) {
-                if (isNotEmpty(self.getRow(), self.getCol() - i, map)) {
+                if (grid.isBuilding(self.getRow(), self.getCol() - i)) {
                     return true;
                 }
             }
@@ -197,20 +225,20 @@ public class Forest extends EffectualFacility {
         return false;
     }
 
-    private boolean verticallyBlocked(Buildable[][] map, Coordinate zC, Coordinate self) {
+    private boolean verticallyBlocked(Cells grid, Coordinate zC, Coordinate self) {
         int diff = self.getRow() - zC.getRow();
         if (diff > 3) {
             return true;
         }
         if (diff < 0) { // self on above
             for (int i = 1; i < -diff; i++) {
-                if (isNotEmpty(self.getRow() + i, self.getCol(), map)) {
+                if (grid.isBuilding(self.getRow() + i, self.getCol())) {
                     return true;
                 }
             }
         } else {
             for (int i = 1; i < diff; i++) {
-                if (isNotEmpty(self.getRow() - i, self.getCol(), map)) {
+                if (grid.isBuilding(self.getRow() - i, self.getCol())) {
                     return true;
                 }
             }
@@ -4,6 +4,7 @@ import model.GameModel;
 import model.common.Coordinate;
 import model.common.Dimension;
 import model.util.BuildableType;
+import model.util.Log;
 import model.util.PathFinder;
 import model.zone.Zone;
 
@@ -29,7 +30,7 @@ public class Police extends EffectualFacility {
     public void effect(Zone zone, GameModel gm) {
         if (condition(zone, gm)) {
             zone.updatePoliceEffect(zone.getStatistics().getSatisfaction().getPoliceEffect() + POLICE_BASE_EFFECT);
-            System.out.println("Police effect: " + zone.getStatistics().getSatisfaction().getPoliceEffect());
+            Log.debug("Police effect: ", zone.getStatistics().getSatisfaction().getPoliceEffect());
         }
     }
 
@@ -42,7 +43,7 @@ public class Police extends EffectualFacility {
 
     @Override
     public boolean condition(Zone zone, GameModel gm) {
-        double manhattanDist = new PathFinder(gm.getMap()).manhattanDistance(zone, this);
+        double manhattanDist = gm.getPathFinder().manhattanDistance(zone, this);
         return manhattanDist <= influenceRadius && manhattanDist != -1;
     }
 }
\ No newline at end of file
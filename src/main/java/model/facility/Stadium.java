@@ -41,7 +41,7 @@ public class Stadium extends EffectualFacility {
 
     @Override
     public boolean condition(Zone zone, GameModel gm) {
-        double manhattanDist = new PathFinder(gm.getMap()).manhattanDistance(zone, this);
+        double manhattanDist = gm.getPathFinder().manhattanDistance(zone, this);
         return manhattanDist <= influenceRadius && manhattanDist != -1;
     }
 }
@@ -1,13 +1,26 @@
 package model.util;
 
 public enum BuildableType {
-    RESIDENTIAL,
-    INDUSTRIAL,
-    COMMERCIAL,
-    ROAD,
-    POLICE,
-    STADIUM,
-    FOREST,
-    UNIVERSITY,
-    SCHOOL
+    RESIDENTIAL(false),
+    INDUSTRIAL(true),
+    COMMERCIAL(true),
+    ROAD(false),
+    POLICE(true),
+    STADIUM(true),
+    FOREST(true),
+    UNIVERSITY(false),
+    SCHOOL(false);
+
+    private final boolean sideEffect;
+
+    BuildableType(boolean sideEffect) {
+        this.sideEffect = sideEffect;
+    }
+
+    /**
+     * @return true if the buildables of this type change the satisfaction of the zones around them.
+     */
+    public boolean hasSideEffect() {
+        return sideEffect;
+    }
 }
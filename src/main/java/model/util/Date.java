@@ -1,7 +1,5 @@
 package model.util;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.*;
@@ -113,18 +111,32 @@ public class Date implements Comparable<Date>, java.io.Serializable {
      * @param daysPassed the days passed since last update
      */
     public void addDay(int daysPassed) {
-        String dayBefore = this.toString();
-        SimpleDateFormat dayFormat = new SimpleDateFormat("yyyy/MM/dd");
-        Calendar cal = Calendar.getInstance();
-        try {
-            cal.setTime(dayFormat.parse(dayBefore));
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
-        cal.add(Calendar.DAY_OF_MONTH, daysPassed);
-        String dateAfter = dayFormat.format(cal.getTime());
-        this.day = Integer.parseInt(dateAfter.split("/")[2]);
-        this.month = Month.getMonthFromMonthOrder(Integer.parseInt(dateAfter.split("/")[1]));
-        this.year = Integer.parseInt(dateAfter.split("/")[0]);
+        LocalDate dateAfter = toLocalDate().plusDays(daysPassed);
+        this.day = dateAfter.getDayOfMonth();
+        this.month = Month.getMonthFromMonthOrder(dateAfter.getMonthValue());
+        this.year = dateAfter.getYear();
+    }
+
+    /**
+     * Gets the number of days since 1970/01/01, used as a day count of the simulation.
+     *
+     * @return the epoch day of the date
+     */
+    public long toEpochDay() {
+        return toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Gets the epoch day which is the given number of years after this date.
+     *
+     * @param years number of years to add
+     * @return the epoch day of the result
+     */
+    public long epochDayAfterYears(int years) {
+        return toLocalDate().plusYears(years).toEpochDay();
+    }
+
+    private LocalDate toLocalDate() {
+        return LocalDate.of(this.year, this.month.getMonthOrder(), this.day);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package model.util;
+
+import java.util.PriorityQueue;
+
+/**
+ * Priority queue of events keyed on the simulation day.
+ * Events due on the same day are returned in the order they were scheduled.
+ *
+ * @param <T> type of the events
+ */
+public class EventScheduler<T extends java.io.Serializable> implements java.io.Serializable {
+
+    private final PriorityQueue<Entry<T>> queue;
+    private long sequence;
+
+    public EventScheduler() {
+        this.queue = new PriorityQueue<>();
+        this.sequence = 0;
+    }
+
+    /**
+     * Schedules an event.
+     *
+     * @param day   the epoch day the event is due
+     * @param event the event
+     */
+    public void schedule(long day, T event) {
+        queue.add(new Entry<>(day, sequence++, event));
+    }
+
+    /**
+     * Removes and returns the earliest event due on or before the given day.
+     *
+     * @param today the current epoch day
+     * @return the event, null if nothing is due
+     */
+    public T pollDue(long today) {
+        Entry<T> first = queue.peek();
+        if (first == null || first.day > today) {
+            return null;
+        }
+        return queue.poll().event;
+    }
+
+    /**
+     * @return the epoch day of the next event, Long.MAX_VALUE if nothing is scheduled.
+     */
+    public long nextDueDay() {
+        Entry<T> first = queue.peek();
+        return first == null ? Long.MAX_VALUE : first.day;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private static class Entry<T> implements Comparable<Entry<T>>, java.io.Serializable {
+        private final long day;
+        private final long sequence;
+        private final T event;
+
+        Entry(long day, long sequence, T event) {
+            this.day = day;
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int byDay = Long.compare(day, other.day);
+            return byDay != 0 ? byDay : Long.compare(sequence, other.sequence);
+        }
+    }
+}
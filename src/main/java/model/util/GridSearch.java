@@ -0,0 +1,404 @@
+package model.util;
+
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.common.PackedGrid;
+
+import java.util.Arrays;
+
+/**
+ * Point to point search engine of the PathFinder, working on flattened cell indices (row * cols + col).
+ * Paths lead from the cell of the start over road cells to a cell next to the goal, the cost is the number of steps.
+ * Visited cells are marked with a stamp which is increased for every search, so the arrays are never cleared,
+ * and each thread keeps one instance which only grows with the map, so a search does not allocate.
+ * Given the packed grid of the map, roads and the goal are recognised from its arrays instead of the buildables.
+ */
+final class GridSearch {
+
+    private static final ThreadLocal<GridSearch> LOCAL = ThreadLocal.withInitial(GridSearch::new);
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+    private static final int OPEN_CLOSED = -1;
+
+    private Buildable[][] map;
+    private PackedGrid packed;
+    private int goalId;
+    private int rows, cols;
+    private int stamp = 0;
+    private long visitedCount;
+
+    private int[] visited = new int[0];
+    private int[] visitedBack = new int[0];
+    private int[] cost = new int[0];
+    private int[] costBack = new int[0];
+    /**
+     * Ring buffer of the breadth first searches, the backward search uses the other one.
+     */
+    private int[] queue = new int[0];
+    private int[] queueBack = new int[0];
+    /**
+     * Binary heap of the open cells of A* and the position of each open cell in it, OPEN_CLOSED once expanded.
+     */
+    private int[] heap = new int[0];
+    private int[] heapPosition = new int[0];
+    private int heapSize;
+    private int goalTop, goalLeft, goalBottom, goalRight;
+    private boolean useHeuristic;
+
+    private GridSearch() {
+    }
+
+    /**
+     * @param map the map to search on
+     * @return the search engine of the current thread, prepared for the map.
+     */
+    static GridSearch of(Buildable[][] map) {
+        return of(map, null);
+    }
+
+    /**
+     * @param map    the map to search on
+     * @param packed the packed grid of the map, null to read the map itself
+     * @return the search engine of the current thread, prepared for the map.
+     */
+    static GridSearch of(Buildable[][] map, PackedGrid packed) {
+        GridSearch search = LOCAL.get();
+        search.prepare(map, packed);
+        return search;
+    }
+
+    private void prepare(Buildable[][] map, PackedGrid packed) {
+        this.map = map;
+        this.packed = packed;
+        this.rows = map.length;
+        this.cols = map[0].length;
+        int cells = rows * cols;
+        if (visited.length < cells) {
+            visited = new int[cells];
+            visitedBack = new int[cells];
+            cost = new int[cells];
+            costBack = new int[cells];
+            queue = new int[cells];
+            queueBack = new int[cells];
+            heap = new int[cells];
+            heapPosition = new int[cells];
+            stamp = 0;
+        }
+    }
+
+    /**
+     * Starts a new search, the cells marked with older stamps count as not visited.
+     */
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(visitedBack, 0);
+            stamp = 0;
+        }
+        stamp++;
+        visitedCount = 0;
+        Metrics.increment(Metrics.Counter.BFS_CALLS);
+    }
+
+    /**
+     * Uninformed breadth first search.
+     *
+     * @return the cost of the cheapest path, -1 if the goal cannot be reached.
+     */
+    int breadthFirst(Buildable start, Buildable goal) {
+        nextStamp();
+        target(goal);
+        int source = index(start.getCoordinate());
+        int head = 0, size = 0;
+        visited[source] = stamp;
+        cost[source] = 0;
+        queue[(head + size++) % queue.length] = source;
+        int result = -1;
+        while (size > 0) {
+            int v = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            visitedCount++;
+            if (touches(v, goal)) {
+                result = cost[v];
+                break;
+            }
+            for (int step = 0; step < 4; step++) {
+                int w = roadNeighbour(v, step);
+                if (w != -1 && visited[w] != stamp) {
+                    visited[w] = stamp;
+                    cost[w] = cost[v] + 1;
+                    queue[(head + size++) % queue.length] = w;
+                }
+            }
+        }
+        Metrics.add(Metrics.Counter.BFS_NODES_VISITED, visitedCount);
+        return result;
+    }
+
+    /**
+     * A* search guided by the manhattan distance to the area of the goal.
+     * The heuristic never overestimates and changes at most by one per step, so an expanded cell is never reopened.
+     * If the goal is not on the map where its coordinate says, the heuristic is not used and it is a plain Dijkstra search.
+     *
+     * @return the cost of the cheapest path, -1 if the goal cannot be reached.
+     */
+    int aStar(Buildable start, Buildable goal) {
+        nextStamp();
+        target(goal);
+        prepareHeuristic(goal);
+        int source = index(start.getCoordinate());
+        heapSize = 0;
+        visited[source] = stamp;
+        cost[source] = 0;
+        push(source);
+        int result = -1;
+        while (heapSize > 0) {
+            int v = pop();
+            visitedCount++;
+            if (touches(v, goal)) {
+                result = cost[v];
+                break;
+            }
+            for (int step = 0; step < 4; step++) {
+                int w = roadNeighbour(v, step);
+                if (w == -1) {
+                    continue;
+                }
+                if (visited[w] != stamp) {
+                    visited[w] = stamp;
+                    cost[w] = cost[v] + 1;
+                    push(w);
+                } else if (heapPosition[w] != OPEN_CLOSED && cost[v] + 1 < cost[w]) {
+                    cost[w] = cost[v] + 1;
+                    siftUp(heapPosition[w]);
+                }
+            }
+        }
+        Metrics.add(Metrics.Counter.BFS_NODES_VISITED, visitedCount);
+        return result;
+    }
+
+    /**
+     * Breadth first search from both ends at once: forward from the start and backward from the roads next to the goal.
+     * The smaller frontier is expanded one whole level at a time, and the search stops after the first level where they meet.
+     * If the goal is not on the map where its coordinate says, its roads cannot be found and it falls back to breadthFirst.
+     *
+     * @return the cost of the cheapest path, -1 if the goal cannot be reached.
+     */
+    int bidirectional(Buildable start, Buildable goal) {
+        Coordinate coordinate = goal.getCoordinate();
+        Dimension dimension = goal.getDimension();
+        if (!isInMap(coordinate.getRow(), coordinate.getCol()) || map[coordinate.getRow()][coordinate.getCol()] != goal) {
+            return breadthFirst(start, goal);
+        }
+        nextStamp();
+        target(goal);
+        int source = index(start.getCoordinate());
+        if (touches(source, goal)) {
+            Metrics.add(Metrics.Counter.BFS_NODES_VISITED, 1);
+            return 0;
+        }
+        int head = 0, size = 0, headBack = 0, sizeBack = 0;
+        visited[source] = stamp;
+        cost[source] = 0;
+        queue[size++] = source;
+        for (int row = coordinate.getRow() - 1; row <= coordinate.getRow() + dimension.getHeight(); row++) {
+            for (int col = coordinate.getCol() - 1; col <= coordinate.getCol() + dimension.getWidth(); col++) {
+                if (isRoad(row, col)) {
+                    int v = row * cols + col;
+                    if (visitedBack[v] != stamp && touches(v, goal)) {
+                        visitedBack[v] = stamp;
+                        costBack[v] = 0;
+                        queueBack[(headBack + sizeBack++) % queueBack.length] = v;
+                    }
+                }
+            }
+        }
+        int best = -1;
+        while (size > 0 && sizeBack > 0 && best == -1) {
+            if (size <= sizeBack) {
+                int level = size;
+                for (int i = 0; i < level; i++) {
+                    int v = queue[head];
+                    head = (head + 1) % queue.length;
+                    size--;
+                    visitedCount++;
+                    for (int step = 0; step < 4; step++) {
+                        int w = roadNeighbour(v, step);
+                        if (w == -1) {
+                            continue;
+                        }
+                        if (visitedBack[w] == stamp) {
+                            best = minCost(best, cost[v] + 1 + costBack[w]);
+                        }
+                        if (visited[w] != stamp) {
+                            visited[w] = stamp;
+                            cost[w] = cost[v] + 1;
+                            queue[(head + size++) % queue.length] = w;
+                        }
+                    }
+                }
+            } else {
+                int level = sizeBack;
+                for (int i = 0; i < level; i++) {
+                    int v = queueBack[headBack];
+                    headBack = (headBack + 1) % queueBack.length;
+                    sizeBack--;
+                    visitedCount++;
+                    for (int step = 0; step < 4; step++) {
+                        int w = neighbour(v, step);
+                        if (w == -1 || (w != source && !isRoad(w / cols, w % cols))) {
+                            continue;
+                        }
+                        if (visited[w] == stamp) {
+                            best = minCost(best, costBack[v] + 1 + cost[w]);
+                        }
+                        if (w != source && visitedBack[w] != stamp) {
+                            visitedBack[w] = stamp;
+                            costBack[w] = costBack[v] + 1;
+                            queueBack[(headBack + sizeBack++) % queueBack.length] = w;
+                        }
+                    }
+                }
+            }
+        }
+        Metrics.add(Metrics.Counter.BFS_NODES_VISITED, visitedCount);
+        return best;
+    }
+
+    private void target(Buildable goal) {
+        goalId = packed != null ? packed.idOf(goal) : -1;
+    }
+
+    private static int minCost(int best, int candidate) {
+        return best == -1 ? candidate : Math.min(best, candidate);
+    }
+
+    private void prepareHeuristic(Buildable goal) {
+        Coordinate coordinate = goal.getCoordinate();
+        Dimension dimension = goal.getDimension();
+        goalTop = coordinate.getRow();
+        goalLeft = coordinate.getCol();
+        goalBottom = goalTop + dimension.getHeight() - 1;
+        goalRight = goalLeft + dimension.getWidth() - 1;
+        useHeuristic = isInMap(goalTop, goalLeft) && map[goalTop][goalLeft] == goal;
+    }
+
+    /**
+     * @return a lower bound of the steps from the cell to a cell next to the goal.
+     */
+    private int heuristic(int v) {
+        if (!useHeuristic) {
+            return 0;
+        }
+        int row = v / cols;
+        int col = v % cols;
+        int rowDistance = Math.max(0, Math.max(goalTop - row, row - goalBottom));
+        int colDistance = Math.max(0, Math.max(goalLeft - col, col - goalRight));
+        return Math.max(0, rowDistance + colDistance - 1);
+    }
+
+    /**
+     * @return true if a should be expanded before b: lower estimated total cost, then the one closer to the goal.
+     */
+    private boolean before(int a, int b) {
+        int fa = cost[a] + heuristic(a);
+        int fb = cost[b] + heuristic(b);
+        return fa < fb || (fa == fb && cost[a] > cost[b]);
+    }
+
+    private void push(int v) {
+        heap[heapSize] = v;
+        heapPosition[v] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapPosition[top] = OPEN_CLOSED;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPosition[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int v = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!before(v, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = v;
+        heapPosition[v] = position;
+    }
+
+    private void siftDown(int position) {
+        int v = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], v)) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = v;
+        heapPosition[v] = position;
+    }
+
+    /**
+     * @return true if a neighbour of the cell is part of the goal.
+     */
+    private boolean touches(int v, Buildable goal) {
+        for (int step = 0; step < 4; step++) {
+            int w = neighbour(v, step);
+            if (w != -1 && (packed != null ? packed.idAt(w) == goalId : map[w / cols][w % cols] == goal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int roadNeighbour(int v, int step) {
+        int w = neighbour(v, step);
+        return w != -1 && isRoad(w / cols, w % cols) ? w : -1;
+    }
+
+    private int neighbour(int v, int step) {
+        int row = v / cols + ROW_STEPS[step];
+        int col = v % cols + COL_STEPS[step];
+        return isInMap(row, col) ? row * cols + col : -1;
+    }
+
+    private boolean isRoad(int row, int col) {
+        if (packed != null) {
+            return packed.isRoad(row, col);
+        }
+        return isInMap(row, col) && map[row][col] != null && map[row][col].getBuildableType() == BuildableType.ROAD;
+    }
+
+    private boolean isInMap(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private int index(Coordinate coordinate) {
+        return coordinate.getRow() * cols + coordinate.getCol();
+    }
+}
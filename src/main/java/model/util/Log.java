@@ -0,0 +1,112 @@
+package model.util;
+
+/**
+ * Logging facade of the model, the controller and the persistence.
+ * Messages below the current level are skipped before their text is built,
+ * the others are handed to an asynchronous appender, so logging does not block the simulation on console output.
+ * The starting level can be set with the system property "utopia.log.level", e.g. -Dutopia.log.level=DEBUG.
+ */
+public final class Log {
+
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final int BUFFER_CAPACITY = 4096;
+    private static volatile Level level = Level.valueOf(System.getProperty("utopia.log.level", Level.INFO.name()));
+    private static RingBufferAppender appender;
+
+    private Log() {
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * @param messageLevel level of a message
+     * @return true if messages of the given level are logged.
+     */
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    /**
+     * Logs a debug message, the argument is only converted to text if debug messages are logged.
+     *
+     * @param message the message
+     * @param arg     appended to the message
+     */
+    public static void debug(String message, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message + arg);
+        }
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * Logs an error with the stack trace of its cause.
+     *
+     * @param message the message
+     * @param cause   the cause of the error
+     */
+    public static void error(String message, Throwable cause) {
+        if (isEnabled(Level.ERROR)) {
+            StringBuilder text = new StringBuilder(message).append(": ").append(cause);
+            for (StackTraceElement element : cause.getStackTrace()) {
+                text.append(System.lineSeparator()).append("\tat ").append(element);
+            }
+            write(Level.ERROR, text.toString());
+        }
+    }
+
+    /**
+     * Waits until every logged message is printed.
+     */
+    public static void flush() {
+        if (appender != null) {
+            appender.flush();
+        }
+    }
+
+    private static void log(Level messageLevel, String message) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message);
+        }
+    }
+
+    private static void write(Level messageLevel, String message) {
+        getAppender().append("[" + messageLevel + "] " + message);
+    }
+
+    private static synchronized RingBufferAppender getAppender() {
+        if (appender == null) {
+            appender = new RingBufferAppender(BUFFER_CAPACITY, System.out);
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+        }
+        return appender;
+    }
+}
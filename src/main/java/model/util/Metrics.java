@@ -0,0 +1,361 @@
+package model.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the simulation metrics: timings of the phases of a tick and counters of the work done.
+ * The metrics are process wide, so they are not saved with the game model.
+ * They can be read as a snapshot, and dumped periodically into a CSV or JSON lines file.
+ * Recording can be switched off with the system property "utopia.metrics=false".
+ * The periodic dump is started by startDumpFromProperties() if "utopia.metrics.dump" names a file,
+ * e.g. -Dutopia.metrics.dump=metrics.csv -Dutopia.metrics.dump.period=1000, a file ending in .json is written as JSON lines.
+ */
+public final class Metrics {
+
+    /**
+     * Timed phases of a tick.
+     */
+    public enum Phase {
+        TICK, EVENTS, CITIZENSHIP_MANIPULATION, CITIZENSHIP_EDUCATION_UPDATE, CITY_AGING
+    }
+
+    /**
+     * Counted work.
+     */
+    public enum Counter {
+        BFS_CALLS, BFS_NODES_VISITED, ROAD_FLOODS, ROAD_FLOOD_NODES_VISITED, ROAD_ANALYSES,
+        HIERARCHY_QUERIES, CLUSTER_REBUILDS,
+        CITIZENS_CREATED, CITIZENS_REMOVED, ALLOCATED_BYTES
+    }
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty("utopia.metrics", "true"));
+    private static final Map<Phase, LongAdder> phaseCounts = new EnumMap<>(Phase.class);
+    private static final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+    private static final Map<Phase, LongAccumulator> phaseMaxNanos = new EnumMap<>(Phase.class);
+    private static final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private static final com.sun.management.ThreadMXBean threadBean = allocationBean();
+    private static volatile long resetTime = System.nanoTime();
+    private static ScheduledExecutorService dumper;
+
+    static {
+        for (Phase phase : Phase.values()) {
+            phaseCounts.put(phase, new LongAdder());
+            phaseNanos.put(phase, new LongAdder());
+            phaseMaxNanos.put(phase, new LongAccumulator(Math::max, 0));
+        }
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+    }
+
+    private Metrics() {
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean &&
+                allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return allocationBean;
+        }
+        return null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the start time, to be passed to stop()
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time of a phase.
+     *
+     * @param phase the finished phase
+     * @param start the value returned by start()
+     */
+    public static void stop(Phase phase, long start) {
+        if (enabled && start != 0) {
+            long nanos = System.nanoTime() - start;
+            phaseCounts.get(phase).increment();
+            phaseNanos.get(phase).add(nanos);
+            phaseMaxNanos.get(phase).accumulate(nanos);
+        }
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread so far, 0 if the JVM does not tell it.
+     */
+    public static long allocatedBytes() {
+        if (!enabled || threadBean == null) {
+            return 0;
+        }
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Records the bytes allocated by the current thread since the given allocatedBytes() value.
+     *
+     * @param since the value of allocatedBytes() at the start of the measured work
+     */
+    public static void recordAllocation(long since) {
+        if (enabled && threadBean != null) {
+            add(Counter.ALLOCATED_BYTES, allocatedBytes() - since);
+        }
+    }
+
+    public static void increment(Counter counter) {
+        if (enabled) {
+            counters.get(counter).increment();
+        }
+    }
+
+    public static void add(Counter counter, long amount) {
+        if (enabled) {
+            counters.get(counter).add(amount);
+        }
+    }
+
+    /**
+     * Sets every timing and counter to zero.
+     */
+    public static void reset() {
+        for (Phase phase : Phase.values()) {
+            phaseCounts.get(phase).reset();
+            phaseNanos.get(phase).reset();
+            phaseMaxNanos.get(phase).reset();
+        }
+        for (Counter counter : Counter.values()) {
+            counters.get(counter).reset();
+        }
+        resetTime = System.nanoTime();
+    }
+
+    /**
+     * @return the current values of the metrics.
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot(System.currentTimeMillis(), System.nanoTime() - resetTime);
+        for (Phase phase : Phase.values()) {
+            snapshot.phases.put(phase, new PhaseStats(phaseCounts.get(phase).sum(),
+                    phaseNanos.get(phase).sum(), phaseMaxNanos.get(phase).get()));
+        }
+        for (Counter counter : Counter.values()) {
+            snapshot.counters.put(counter, counters.get(counter).sum());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Starts appending a snapshot to the file periodically, on a background thread.
+     * A CSV file gets a header line when it is empty, a JSON file gets one object per line.
+     * A running dump is stopped first.
+     *
+     * @param file         the file to append to
+     * @param periodMillis the time between two snapshots
+     * @param format       the format of the file
+     */
+    public static synchronized void startDump(Path file, long periodMillis, Format format) {
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file, format), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts the periodic dump if it is asked for by the system properties, does nothing otherwise.
+     */
+    public static void startDumpFromProperties() {
+        String file = System.getProperty("utopia.metrics.dump");
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        long period = Long.getLong("utopia.metrics.dump.period", 5000);
+        startDump(Path.of(file), period, file.endsWith(".json") ? Format.JSON : Format.CSV);
+    }
+
+    /**
+     * Stops the periodic dump.
+     */
+    public static synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+
+    /**
+     * Appends a snapshot to the file.
+     *
+     * @param file   the file to append to
+     * @param format the format of the file
+     */
+    public static void dump(Path file, Format format) {
+        Snapshot snapshot = snapshot();
+        try {
+            boolean empty = !Files.exists(file) || Files.size(file) == 0;
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (format == Format.CSV) {
+                    if (empty) {
+                        out.println(Snapshot.csvHeader());
+                    }
+                    out.println(snapshot.toCsv());
+                } else {
+                    out.println(snapshot.toJson());
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Could not dump the metrics to " + file, e);
+        }
+    }
+
+    /**
+     * Timing of one phase.
+     */
+    public static class PhaseStats {
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        public PhaseStats(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return the average time of the phase in nanoseconds, 0 if it never ran.
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+    }
+
+    /**
+     * The values of the metrics at one moment.
+     */
+    public static class Snapshot {
+        private final long timestampMillis;
+        private final long elapsedNanos;
+        private final Map<Phase, PhaseStats> phases = new EnumMap<>(Phase.class);
+        private final Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+
+        private Snapshot(long timestampMillis, long elapsedNanos) {
+            this.timestampMillis = timestampMillis;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        /**
+         * @return the time since the last reset in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public PhaseStats getPhase(Phase phase) {
+            return phases.get(phase);
+        }
+
+        public long getCounter(Counter counter) {
+            return counters.get(counter);
+        }
+
+        /**
+         * @return the bytes allocated by the simulation per second since the last reset.
+         */
+        public double getAllocationRate() {
+            return elapsedNanos == 0 ? 0 : getCounter(Counter.ALLOCATED_BYTES) * 1e9 / elapsedNanos;
+        }
+
+        static String csvHeader() {
+            StringBuilder line = new StringBuilder("timestamp,elapsed_ns");
+            for (Phase phase : Phase.values()) {
+                String name = phase.name().toLowerCase();
+                line.append(',').append(name).append("_count,").append(name).append("_total_ns,").append(name).append("_max_ns");
+            }
+            for (Counter counter : Counter.values()) {
+                line.append(',').append(counter.name().toLowerCase());
+            }
+            return line.toString();
+        }
+
+        public String toCsv() {
+            StringBuilder line = new StringBuilder().append(timestampMillis).append(',').append(elapsedNanos);
+            for (Phase phase : Phase.values()) {
+                PhaseStats stats = phases.get(phase);
+                line.append(',').append(stats.count).append(',').append(stats.totalNanos).append(',').append(stats.maxNanos);
+            }
+            for (Counter counter : Counter.values()) {
+                line.append(',').append(counters.get(counter));
+            }
+            return line.toString();
+        }
+
+        public String toJson() {
+            StringBuilder json = new StringBuilder("{\"timestamp\":").append(timestampMillis)
+                    .append(",\"elapsedNanos\":").append(elapsedNanos).append(",\"phases\":{");
+            boolean first = true;
+            for (Phase phase : Phase.values()) {
+                PhaseStats stats = phases.get(phase);
+                json.append(first ? "" : ",").append('"').append(phase).append("\":{\"count\":").append(stats.count)
+                        .append(",\"totalNanos\":").append(stats.totalNanos)
+                        .append(",\"maxNanos\":").append(stats.maxNanos).append('}');
+                first = false;
+            }
+            json.append("},\"counters\":{");
+            first = true;
+            for (Counter counter : Counter.values()) {
+                json.append(first ? "" : ",").append('"').append(counter).append("\":").append(counters.get(counter));
+                first = false;
+            }
+            return json.append("}}").toString();
+        }
+    }
+}
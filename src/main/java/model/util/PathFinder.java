@@ -2,17 +2,73 @@ package model.util;
 
 import model.common.Buildable;
 import model.common.Coordinate;
+import model.common.Dimension;
+import model.common.PackedGrid;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.ArrayDeque;
 
 public class PathFinder {
 
+    /**
+     * The point to point search used by manhattanDistance, all of them give the same distance.
+     */
+    public enum Search {
+        /**
+         * Uninformed breadth first search.
+         */
+        BFS,
+        /**
+         * A* with the manhattan distance to the goal as heuristic, expands the fewest cells on open maps.
+         */
+        A_STAR,
+        /**
+         * Breadth first search from the start and the goal at once, for long paths on winding networks.
+         */
+        BIDIRECTIONAL
+    }
+
+    /**
+     * Queries whose start and goal are at least this many cells apart use the road hierarchy if there is one.
+     */
+    public static final int LONG_RANGE = 2 * RoadHierarchy.DEFAULT_CLUSTER_SIZE;
+
     private final Buildable[][] map;
+    private final PackedGrid packed;
+    private final Search search;
+    private final RoadHierarchy hierarchy;
 
     public PathFinder(Buildable[][] map) {
+        this(map, Search.A_STAR);
+    }
+
+    /**
+     * @param map    the map to search on
+     * @param search the point to point search of manhattanDistance
+     */
+    public PathFinder(Buildable[][] map, Search search) {
+        this(map, search, null);
+    }
+
+    /**
+     * @param map       the map to search on
+     * @param search    the point to point search of manhattanDistance over short ranges
+     * @param hierarchy the road hierarchy of the map for long ranges, can be null
+     */
+    public PathFinder(Buildable[][] map, Search search, RoadHierarchy hierarchy) {
+        this(map, null, search, hierarchy);
+    }
+
+    /**
+     * @param map       the map to search on
+     * @param packed    the packed grid of the map read by the searches, null to read the map itself
+     * @param search    the point to point search of manhattanDistance over short ranges
+     * @param hierarchy the road hierarchy of the map for long ranges, can be null
+     */
+    public PathFinder(Buildable[][] map, PackedGrid packed, Search search, RoadHierarchy hierarchy) {
         this.map = map;
+        this.packed = packed;
+        this.search = search;
+        this.hierarchy = hierarchy;
     }
 
     /**
@@ -53,132 +109,95 @@ public class PathFinder {
     }
 
     /**
-     * Calculates the manhattan distance between two buildable
+     * Calculates the manhattan distance between two buildable along the roads.
+     * If the goal cannot be reached from the start, the search is repeated from the goal to the start.
      *
      * @param start the starting buildable
      * @param goal  the goal buildable
-     * @return the manhattan distance
+     * @return the manhattan distance, -1 if they are not connected
      */
     public int manhattanDistance(Buildable start, Buildable goal) {
-        List<Node> graph = new ArrayList<>();
-        Node result = BFS(start, goal, graph);
-        if (result != null) {
-            return result.cost;
-        } else {
-            Node result2 = BFS(goal, start, graph);
-            return result2 == null ? -1 : result2.cost;
-        }
+        int distance = distance(start, goal);
+        return distance != -1 ? distance : distance(goal, start);
     }
 
-    static class Node {
-        Node parent;
-        int cost;
-        Buildable self;
-
-        public Node(Node parent, int cost, Buildable self) {
-            this.parent = parent;
-            this.cost = cost;
-            this.self = self;
-        }
-
-        int getRow() {
-            return self.getCoordinate().getRow();
-        }
-
-        int getCol() {
-            return self.getCoordinate().getCol();
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Node node = (Node) o;
-            return self.equals(node.self);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(self);
+    /**
+     * @return the steps from the start over the roads to a cell next to the goal, -1 if it cannot be reached.
+     */
+    private int distance(Buildable start, Buildable goal) {
+        if (hierarchy != null && squareDistance(start, goal) >= LONG_RANGE) {
+            return hierarchy.distance(start, goal);
         }
+        GridSearch gridSearch = GridSearch.of(map, packed);
+        return switch (search) {
+            case BFS -> gridSearch.breadthFirst(start, goal);
+            case A_STAR -> gridSearch.aStar(start, goal);
+            case BIDIRECTIONAL -> gridSearch.bidirectional(start, goal);
+        };
     }
 
     /**
-     * Implemented BFS algorithm
+     * Floods the road network starting from the roads next to the given buildable.
      *
-     * @param start starting buildable
-     * @param goal  goal buildable
-     * @param graph final list of graph nodes
-     * @return the destination node if it can be reached, otherwise null
+     * @param start the buildable to start from
+     * @return matrix in the size of the map, marking every reachable road cell
      */
-    private Node BFS(Buildable start, Buildable goal, List<Node> graph) {
-        List<Node> opens = new ArrayList<>();
-        Node current;
-        Node goalNode = new Node(null, -1, goal);
-        opens.add(new Node(null, 0, start));
-        while (true) {
-            if (opens.isEmpty()) {
-                return null;
-            }
-
-            current = opens.get(0);
-            if (isGoal(current, goalNode)) {
-                return current;
-            }
-            opens.remove(0);
-            graph.add(current);
-            for (Node node : successors(current)) {
-                if (!graph.contains(node) && node != current && node != current.parent) {
-                    opens.add(node);
-                    graph.add(node);
+    public boolean[][] reachableRoads(Buildable start) {
+        boolean[][] reached = new boolean[map.length][map[0].length];
+        ArrayDeque<Coordinate> opens = new ArrayDeque<>();
+        opens.add(start.getCoordinate());
+        long visited = 0;
+        while (!opens.isEmpty()) {
+            Coordinate current = opens.poll();
+            visited++;
+            int row = current.getRow();
+            int col = current.getCol();
+            int[][] neighbours = {{row - 1, col}, {row + 1, col}, {row, col - 1}, {row, col + 1}};
+            for (int[] n : neighbours) {
+                if (isRoad(n[0], n[1]) && !reached[n[0]][n[1]]) {
+                    reached[n[0]][n[1]] = true;
+                    opens.add(new Coordinate(n[0], n[1]));
                 }
             }
         }
+        Metrics.increment(Metrics.Counter.ROAD_FLOODS);
+        Metrics.add(Metrics.Counter.ROAD_FLOOD_NODES_VISITED, visited);
+        return reached;
     }
 
     /**
-     * Decides if goal state is reached
+     * Checks if a target can be reached from the start, given the result of reachableRoads(start).
+     * Gives the same answer as manhattanDistance(start, target) != -1.
      *
-     * @param currentItem the current search state
-     * @param goal        the goal state
-     * @return true if reached, otherwise, false
+     * @param start   the buildable the roads were flooded from
+     * @param target  the buildable to reach
+     * @param reached the reachable road cells of the start
+     * @return true if the target touches the start or one of the reached roads.
      */
-    private boolean isGoal(Node currentItem, Node goal) {
-        int cRow = currentItem.getRow();
-        int cCol = currentItem.getCol();
-        return (isInMap(cRow + 1, cCol) && map[cRow + 1][cCol] == goal.self) ||
-                (isInMap(cRow - 1, cCol) && map[cRow - 1][cCol] == goal.self) ||
-                (isInMap(cRow, cCol + 1) && map[cRow][cCol + 1] == goal.self) ||
-                (isInMap(cRow, cCol - 1) && map[cRow][cCol - 1] == goal.self);
+    public boolean isReachable(Buildable start, Buildable target, boolean[][] reached) {
+        Coordinate s = start.getCoordinate();
+        Coordinate t = target.getCoordinate();
+        Dimension dimension = target.getDimension();
+        for (int row = t.getRow(); row < t.getRow() + dimension.getHeight(); row++) {
+            for (int col = t.getCol(); col < t.getCol() + dimension.getWidth(); col++) {
+                if (Math.abs(row - s.getRow()) + Math.abs(col - s.getCol()) == 1 ||
+                        isReached(row - 1, col, reached) || isReached(row + 1, col, reached) ||
+                        isReached(row, col - 1, reached) || isReached(row, col + 1, reached)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    /**
-     * Generates a list of director neighbours of a node.
-     * With the node as parent and one more in cost.
-     *
-     * @param current the node to search for neighbours
-     * @return the list of neighbours
-     */
-    private List<Node> successors(Node current) {
-        ArrayList<Node> successors = new ArrayList<>();
-        int sRow = current.getRow();
-        int sCol = current.getCol();
-        if (isRoad(sRow - 1, sCol)) {
-            successors.add(new Node(current, current.cost + 1, map[sRow - 1][sCol]));
-        }
-        if (isRoad(sRow + 1, sCol)) {
-            successors.add(new Node(current, current.cost + 1, map[sRow + 1][sCol]));
-        }
-        if (isRoad(sRow, sCol - 1)) {
-            successors.add(new Node(current, current.cost + 1, map[sRow][sCol - 1]));
-        }
-        if (isRoad(sRow, sCol + 1)) {
-            successors.add(new Node(current, current.cost + 1, map[sRow][sCol + 1]));
-        }
-        return successors;
+    private boolean isReached(int row, int col, boolean[][] reached) {
+        return isInMap(row, col) && reached[row][col];
     }
 
     private boolean isRoad(int sRow, int sCol) {
+        if (packed != null) {
+            return packed.isRoad(sRow, sCol);
+        }
         return sRow < map.length && sRow >= 0 &&
                 sCol < map[0].length && sCol >= 0 &&
                 map[sRow][sCol] != null &&
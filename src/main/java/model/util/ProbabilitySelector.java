@@ -21,4 +21,34 @@ public class ProbabilitySelector {
         int luck = random.nextInt(100);
         return luck < prob * 100;
     }
+
+    /**
+     * Counts the yes decisions of several independent decisions with the same probability (binomial distribution).
+     * The gaps between two yes decisions are drawn instead of every decision, so it takes time by the number of yes.
+     *
+     * @param trials the number of decisions
+     * @param prob   probability of YES.
+     * @return the number of yes decisions.
+     */
+    public static int binomial(int trials, double prob) {
+        if (prob > 1 || prob < 0) {
+            throw new IllegalArgumentException("Probability out of bounds: " + prob);
+        }
+        if (prob == 0 || trials <= 0) {
+            return 0;
+        }
+        if (prob == 1) {
+            return trials;
+        }
+        double logNo = Math.log(1 - prob);
+        int count = 0;
+        long position = 0;
+        while (true) {
+            position += (long) Math.floor(Math.log(1 - random.nextDouble()) / logNo) + 1;
+            if (position > trials) {
+                return count;
+            }
+            count++;
+        }
+    }
 }
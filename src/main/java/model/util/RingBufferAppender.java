@@ -0,0 +1,100 @@
+package model.util;
+
+import java.io.PrintStream;
+
+/**
+ * Asynchronous appender of log lines.
+ * The lines are put into a ring buffer of fixed size and printed by a background thread,
+ * so logging never waits for the console. If the buffer is full, new lines are dropped and counted.
+ */
+public class RingBufferAppender {
+
+    private final String[] buffer;
+    private final PrintStream out;
+    private int head;
+    private int size;
+    private long dropped;
+    private long unreported;
+    private boolean printing;
+
+    /**
+     * @param capacity the number of lines the buffer can hold
+     * @param out      the stream the lines are printed to
+     */
+    public RingBufferAppender(int capacity, PrintStream out) {
+        this.buffer = new String[capacity];
+        this.out = out;
+        Thread writer = new Thread(this::drain, "log-appender");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Puts a line into the buffer without waiting.
+     *
+     * @param line the line to print
+     * @return false if the buffer is full and the line was dropped.
+     */
+    public synchronized boolean append(String line) {
+        if (size == buffer.length) {
+            dropped++;
+            unreported++;
+            return false;
+        }
+        buffer[(head + size) % buffer.length] = line;
+        size++;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Waits until every buffered line is printed.
+     */
+    public synchronized void flush() {
+        while (size > 0 || printing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the number of lines dropped because the buffer was full.
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    private void drain() {
+        while (true) {
+            String line;
+            long lost;
+            synchronized (this) {
+                printing = false;
+                notifyAll();
+                while (size == 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                line = buffer[head];
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+                size--;
+                lost = unreported;
+                unreported = 0;
+                printing = true;
+            }
+            if (lost > 0) {
+                out.println("(" + lost + " log lines dropped)");
+            }
+            out.println(line);
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package model.util;
+
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.common.PackedGrid;
+
+import java.util.Arrays;
+
+/**
+ * Two level road graph for distance queries over long ranges (HPA*).
+ * The map is split into square clusters. The road cells on the edge of a cluster next to a road of the neighbouring cluster
+ * are its entrances, and the distances between the entrances of a cluster inside of it are computed once and kept.
+ * A query only searches the clusters of the start and the goal cell by cell, and in between moves from entrance to entrance,
+ * so it visits a few hundred nodes instead of every road on the way.
+ * Every road crossing between two clusters is an entrance, so the distances are exact and equal the flat search.
+ * When a road is placed or removed, only its cluster (and the neighbour at a cluster edge) is computed again, on its next use.
+ * Distances can be asked from several threads at once: every thread searches with its own scratch state,
+ * and a cluster is computed again under the lock of the hierarchy. The map must not change while a query runs.
+ * The scratch state of a query does not grow with the map: the searches inside a cluster use arrays of the size of a cluster,
+ * and the search between the clusters only keeps the entrances, each cluster has a fixed range of entrance slots.
+ */
+public class RoadHierarchy {
+
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    private static class Cluster {
+        volatile boolean dirty = true;
+        /**
+         * The cells of the entrances.
+         */
+        int[] entrances = new int[0];
+        /**
+         * Distance inside the cluster between entrance i and j at i * entrances.length + j, -1 if not connected.
+         */
+        short[] distances = new short[0];
+    }
+
+    private final Buildable[][] map;
+    private final PackedGrid packed;
+    private final int rows, cols, clusterSize;
+    private final int clusterRows, clusterCols;
+    private final Cluster[] clusters;
+    /**
+     * The number of entrance slots of a cluster, at least the number of cells on its edge.
+     */
+    private final int entranceSlots;
+    /**
+     * Index of each entrance cell in the entrances of its cluster, -1 for other cells.
+     */
+    private final int[] entranceIndex;
+
+    /**
+     * The scratch state of the queries, one per thread.
+     */
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+    private int buildStamp = 0;
+    private final int[] buildVisited;
+    private final int[] buildCost;
+    private final int[] buildQueue;
+
+    public RoadHierarchy(Buildable[][] map) {
+        this(map, null, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * @param map    the map of the roads
+     * @param packed the packed grid of the map, kept in sync with it
+     */
+    public RoadHierarchy(Buildable[][] map, PackedGrid packed) {
+        this(map, packed, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * @param map         the map of the roads
+     * @param clusterSize the number of cells along each side of a cluster, at most 128 to keep the distances in a short
+     */
+    public RoadHierarchy(Buildable[][] map, int clusterSize) {
+        this(map, null, clusterSize);
+    }
+
+    /**
+     * @param map         the map of the roads
+     * @param packed      the packed grid of the map, null to read the map itself
+     * @param clusterSize the number of cells along each side of a cluster, at most 128 to keep the distances in a short
+     */
+    public RoadHierarchy(Buildable[][] map, PackedGrid packed, int clusterSize) {
+        if (clusterSize < 2 || clusterSize > 128) {
+            throw new IllegalArgumentException("Cluster size must be between 2 and 128: " + clusterSize);
+        }
+        this.map = map;
+        this.packed = packed;
+        this.rows = map.length;
+        this.cols = map[0].length;
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        this.clusters = new Cluster[clusterRows * clusterCols];
+        for (int i = 0; i < clusters.length; i++) {
+            clusters[i] = new Cluster();
+        }
+        this.entranceSlots = 4 * clusterSize;
+        int cells = rows * cols;
+        entranceIndex = new int[cells];
+        Arrays.fill(entranceIndex, -1);
+        buildVisited = new int[clusterSize * clusterSize];
+        buildCost = new int[clusterSize * clusterSize];
+        buildQueue = new int[clusterSize * clusterSize];
+    }
+
+    /**
+     * Marks the clusters of the cells as changed, called when a road is placed or removed.
+     *
+     * @param coordinate the top left cell of the road
+     * @param dimension  the size of the road
+     */
+    public synchronized void roadChanged(Coordinate coordinate, Dimension dimension) {
+        for (int row = coordinate.getRow() - 1; row <= coordinate.getRow() + dimension.getHeight(); row++) {
+            for (int col = coordinate.getCol() - 1; col <= coordinate.getCol() + dimension.getWidth(); col++) {
+                if (isInMap(row, col)) {
+                    clusters[clusterOf(row * cols + col)].dirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the same result as the flat searches of the PathFinder: the steps from the start over the roads to a cell next to the goal.
+     * If the goal is not on the map where its coordinate says, its roads cannot be found and the flat A* search answers.
+     * Queries may run on several threads at once, each thread searches with its own scratch state.
+     *
+     * @param start the starting buildable
+     * @param goal  the goal buildable
+     * @return the distance, -1 if the goal cannot be reached.
+     */
+    public int distance(Buildable start, Buildable goal) {
+        return queries.get().distance(start, goal);
+    }
+
+    /**
+     * The scratch state of one search.
+     */
+    private final class Query {
+        private int stamp = 0;
+        private int localStamp = 0;
+        /**
+         * State of the searches inside one cluster, by the index of the cell inside the cluster.
+         */
+        private final int[] localVisited = new int[clusterSize * clusterSize];
+        private final int[] localCost = new int[clusterSize * clusterSize];
+        private final int[] localQueue = new int[clusterSize * clusterSize];
+        /**
+         * State of the search between the clusters and the rest of the way to the goal, by entrance slot.
+         */
+        private final int[] visited = new int[clusters.length * entranceSlots];
+        private final int[] cost = new int[clusters.length * entranceSlots];
+        private final int[] goalVisited = new int[clusters.length * entranceSlots];
+        private final int[] goalCost = new int[clusters.length * entranceSlots];
+        private int[] goalClusters = new int[4];
+        private int goalClusterCount;
+        /**
+         * Binary heap of the open entrances, keyed by estimated total cost and then by the estimate of the rest,
+         * so that among equal totals the one closest to the goal is expanded first.
+         */
+        private long[] open = new long[64];
+        private int[] openCells = new int[64];
+        private int openSize;
+        private int polledCell;
+        private int goalId;
+        private int goalTop, goalLeft, goalBottom, goalRight;
+
+        /**
+         * @return the distance from the start to the goal, see RoadHierarchy.distance.
+         */
+        int distance(Buildable start, Buildable goal) {
+            Coordinate goalCoordinate = goal.getCoordinate();
+            Dimension goalDimension = goal.getDimension();
+            goalTop = goalCoordinate.getRow();
+            goalLeft = goalCoordinate.getCol();
+            goalBottom = goalTop + goalDimension.getHeight() - 1;
+            goalRight = goalLeft + goalDimension.getWidth() - 1;
+            if (!isInMap(goalTop, goalLeft) || map[goalTop][goalLeft] != goal) {
+                return GridSearch.of(map, packed).aStar(start, goal);
+            }
+            goalId = packed != null ? packed.idOf(goal) : -1;
+            Metrics.increment(Metrics.Counter.HIERARCHY_QUERIES);
+            nextStamp();
+            int source = index(start.getCoordinate());
+            if (touches(source, goal)) {
+                return 0;
+            }
+            int best = INFINITE;
+            openSize = 0;
+
+            best = Math.min(best, searchCluster(clusterOf(source), source, 0, goal));
+            for (int step = 0; step < 4; step++) {
+                int w = roadNeighbour(source, step);
+                if (w != -1 && clusterOf(w) != clusterOf(source)) {
+                    best = Math.min(best, searchCluster(clusterOf(w), w, 1, goal));
+                }
+            }
+            searchGoalClusters(goal);
+
+            while (openSize > 0) {
+                long top = pollOpen();
+                int f = (int) (top >>> 32);
+                int v = polledCell;
+                if (f >= best) {
+                    break;
+                }
+                int slot = entranceSlot(v);
+                if (visited[slot] != stamp || f != cost[slot] + heuristic(v) || cost[slot] < 0) {
+                    continue;
+                }
+                int g = cost[slot];
+                cost[slot] = -1 - g;
+                if (goalVisited[slot] == stamp) {
+                    best = Math.min(best, g + goalCost[slot]);
+                }
+                Cluster cluster = fresh(clusterOf(v));
+                int i = entranceIndex[v];
+                int count = cluster.entrances.length;
+                for (int j = 0; j < count; j++) {
+                    int d = cluster.distances[i * count + j];
+                    if (d > 0) {
+                        relax(cluster.entrances[j], g + d);
+                    }
+                }
+                for (int step = 0; step < 4; step++) {
+                    int w = roadNeighbour(v, step);
+                    if (w != -1 && clusterOf(w) != clusterOf(v)) {
+                        fresh(clusterOf(w));
+                        relax(w, g + 1);
+                    }
+                }
+            }
+            return best == INFINITE ? -1 : best;
+        }
+
+        /**
+         * Searches one cluster cell by cell from a seed, opens the entrances reached and returns the cheapest way to the goal inside.
+         */
+        private int searchCluster(int clusterId, int seed, int seedCost, Buildable goal) {
+            fresh(clusterId);
+            nextLocalStamp();
+            int best = INFINITE;
+            int head = 0, size = 0;
+            localVisited[localIndex(seed)] = localStamp;
+            localCost[localIndex(seed)] = seedCost;
+            localQueue[size++] = seed;
+            while (head < size) {
+                int v = localQueue[head++];
+                int c = localCost[localIndex(v)];
+                if (c < best && touches(v, goal)) {
+                    best = c;
+                }
+                if (entranceIndex[v] != -1) {
+                    relax(v, c);
+                }
+                for (int step = 0; step < 4; step++) {
+                    int w = roadNeighbour(v, step);
+                    if (w != -1 && clusterOf(w) == clusterId && localVisited[localIndex(w)] != localStamp) {
+                        localVisited[localIndex(w)] = localStamp;
+                        localCost[localIndex(w)] = c + 1;
+                        localQueue[size++] = w;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Searches backward from the roads next to the goal inside their clusters, giving the rest of the way from each entrance.
+         */
+        private void searchGoalClusters(Buildable goal) {
+            goalClusterCount = 0;
+            for (int row = goalTop - 1; row <= goalBottom + 1; row++) {
+                for (int col = goalLeft - 1; col <= goalRight + 1; col++) {
+                    if (!isRoad(row, col)) {
+                        continue;
+                    }
+                    int target = row * cols + col;
+                    int clusterId = clusterOf(target);
+                    if (isGoalCluster(clusterId) || !touches(target, goal)) {
+                        continue;
+                    }
+                    if (goalClusterCount == goalClusters.length) {
+                        goalClusters = Arrays.copyOf(goalClusters, goalClusters.length * 2);
+                    }
+                    goalClusters[goalClusterCount++] = clusterId;
+                    Cluster cluster = fresh(clusterId);
+                    nextLocalStamp();
+                    int head = 0, size = 0;
+                    for (int r = goalTop - 1; r <= goalBottom + 1; r++) {
+                        for (int c = goalLeft - 1; c <= goalRight + 1; c++) {
+                            if (isRoad(r, c) && clusterOf(r * cols + c) == clusterId && touches(r * cols + c, goal)) {
+                                int v = r * cols + c;
+                                localVisited[localIndex(v)] = localStamp;
+                                localCost[localIndex(v)] = 0;
+                                localQueue[size++] = v;
+                            }
+                        }
+                    }
+                    while (head < size) {
+                        int v = localQueue[head++];
+                        for (int step = 0; step < 4; step++) {
+                            int w = roadNeighbour(v, step);
+                            if (w != -1 && clusterOf(w) == clusterId && localVisited[localIndex(w)] != localStamp) {
+                                localVisited[localIndex(w)] = localStamp;
+                                localCost[localIndex(w)] = localCost[localIndex(v)] + 1;
+                                localQueue[size++] = w;
+                            }
+                        }
+                    }
+                    for (int entrance : cluster.entrances) {
+                        if (localVisited[localIndex(entrance)] == localStamp) {
+                            int slot = entranceSlot(entrance);
+                            goalVisited[slot] = stamp;
+                            goalCost[slot] = localCost[localIndex(entrance)];
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return true if the cluster was already searched backward from the goal in this query.
+         */
+        private boolean isGoalCluster(int clusterId) {
+            for (int i = 0; i < goalClusterCount; i++) {
+                if (goalClusters[i] == clusterId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void relax(int v, int g) {
+            int slot = entranceSlot(v);
+            if (visited[slot] == stamp && (cost[slot] < 0 || cost[slot] <= g)) {
+                return;
+            }
+            visited[slot] = stamp;
+            cost[slot] = g;
+            int h = heuristic(v);
+            pushOpen(((long) (g + h) << 32) | h, v);
+        }
+
+        /**
+         * @return a lower bound of the steps from the cell to a cell next to the goal.
+         */
+        private int heuristic(int v) {
+            int row = v / cols;
+            int col = v % cols;
+            int rowDistance = Math.max(0, Math.max(goalTop - row, row - goalBottom));
+            int colDistance = Math.max(0, Math.max(goalLeft - col, col - goalRight));
+            return Math.max(0, rowDistance + colDistance - 1);
+        }
+
+        private void pushOpen(long key, int cell) {
+            if (openSize == open.length) {
+                open = Arrays.copyOf(open, open.length * 2);
+                openCells = Arrays.copyOf(openCells, openCells.length * 2);
+            }
+            int position = openSize++;
+            while (position > 0) {
+                int parent = (position - 1) / 2;
+                if (open[parent] <= key) {
+                    break;
+                }
+                open[position] = open[parent];
+                openCells[position] = openCells[parent];
+                position = parent;
+            }
+            open[position] = key;
+            openCells[position] = cell;
+        }
+
+        /**
+         * Removes the smallest key from the heap, its cell is left in polledCell.
+         */
+        private long pollOpen() {
+            long top = open[0];
+            polledCell = openCells[0];
+            long last = open[--openSize];
+            int lastCell = openCells[openSize];
+            int position = 0;
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= openSize) {
+                    break;
+                }
+                if (child + 1 < openSize && open[child + 1] < open[child]) {
+                    child++;
+                }
+                if (open[child] >= last) {
+                    break;
+                }
+                open[position] = open[child];
+                openCells[position] = openCells[child];
+                position = child;
+            }
+            if (openSize > 0) {
+                open[position] = last;
+                openCells[position] = lastCell;
+            }
+            return top;
+        }
+
+        private void nextStamp() {
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                Arrays.fill(goalVisited, 0);
+                stamp = 0;
+            }
+            stamp++;
+        }
+
+        private void nextLocalStamp() {
+            if (localStamp == Integer.MAX_VALUE) {
+                Arrays.fill(localVisited, 0);
+                localStamp = 0;
+            }
+            localStamp++;
+        }
+
+        private boolean touches(int v, Buildable goal) {
+            for (int step = 0; step < 4; step++) {
+                int row = v / cols + ROW_STEPS[step];
+                int col = v % cols + COL_STEPS[step];
+                if (isInMap(row, col) && (packed != null ? packed.idAt(row * cols + col) == goalId : map[row][col] == goal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return the cluster with its entrances and distances up to date.
+     */
+    private Cluster fresh(int clusterId) {
+        Cluster cluster = clusters[clusterId];
+        if (cluster.dirty) {
+            synchronized (this) {
+                if (cluster.dirty) {
+                    rebuild(clusterId, cluster);
+                }
+            }
+        }
+        return cluster;
+    }
+
+    /**
+     * Finds the entrances of the cluster and the distances between them inside the cluster.
+     * Called under the lock of the hierarchy, the cluster is marked clean last so the readers see the new entrances.
+     */
+    private void rebuild(int clusterId, Cluster cluster) {
+        Metrics.increment(Metrics.Counter.CLUSTER_REBUILDS);
+        for (int entrance : cluster.entrances) {
+            entranceIndex[entrance] = -1;
+        }
+        int top = (clusterId / clusterCols) * clusterSize;
+        int left = (clusterId % clusterCols) * clusterSize;
+        int bottom = Math.min(rows, top + clusterSize);
+        int right = Math.min(cols, left + clusterSize);
+        int count = 0;
+        int[] found = new int[4 * clusterSize];
+        for (int row = top; row < bottom; row++) {
+            for (int col = left; col < right; col++) {
+                boolean edge = row == top || row == bottom - 1 || col == left || col == right - 1;
+                if (edge && isRoad(row, col) && hasRoadOutside(row * cols + col, clusterId)) {
+                    found[count++] = row * cols + col;
+                }
+            }
+        }
+        cluster.entrances = Arrays.copyOf(found, count);
+        cluster.distances = new short[count * count];
+        for (int i = 0; i < count; i++) {
+            entranceIndex[cluster.entrances[i]] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            if (buildStamp == Integer.MAX_VALUE) {
+                Arrays.fill(buildVisited, 0);
+                buildStamp = 0;
+            }
+            buildStamp++;
+            int head = 0, size = 0;
+            int entrance = cluster.entrances[i];
+            int local = localCell(entrance, top, left);
+            buildVisited[local] = buildStamp;
+            buildCost[local] = 0;
+            buildQueue[size++] = entrance;
+            while (head < size) {
+                int v = buildQueue[head++];
+                int c = buildCost[localCell(v, top, left)];
+                for (int step = 0; step < 4; step++) {
+                    int w = roadNeighbour(v, step);
+                    if (w == -1 || clusterOf(w) != clusterId) {
+                        continue;
+                    }
+                    int lw = localCell(w, top, left);
+                    if (buildVisited[lw] != buildStamp) {
+                        buildVisited[lw] = buildStamp;
+                        buildCost[lw] = c + 1;
+                        buildQueue[size++] = w;
+                    }
+                }
+            }
+            for (int j = 0; j < count; j++) {
+                int other = localCell(cluster.entrances[j], top, left);
+                cluster.distances[i * count + j] = (short) (buildVisited[other] == buildStamp ? buildCost[other] : -1);
+            }
+        }
+        cluster.dirty = false;
+    }
+
+    /**
+     * @return the index of the cell inside its cluster.
+     */
+    private int localIndex(int v) {
+        return (v / cols % clusterSize) * clusterSize + v % cols % clusterSize;
+    }
+
+    /**
+     * @return the slot of an entrance cell among the entrances of all clusters, its cluster must be up to date.
+     */
+    private int entranceSlot(int v) {
+        return clusterOf(v) * entranceSlots + entranceIndex[v];
+    }
+
+    /**
+     * @return the index of the cell inside the cluster with the given top left cell.
+     */
+    private int localCell(int v, int top, int left) {
+        return (v / cols - top) * clusterSize + (v % cols - left);
+    }
+
+    private boolean hasRoadOutside(int v, int clusterId) {
+        for (int step = 0; step < 4; step++) {
+            int w = roadNeighbour(v, step);
+            if (w != -1 && clusterOf(w) != clusterId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int roadNeighbour(int v, int step) {
+        int row = v / cols + ROW_STEPS[step];
+        int col = v % cols + COL_STEPS[step];
+        return isRoad(row, col) ? row * cols + col : -1;
+    }
+
+    private int clusterOf(int v) {
+        return (v / cols / clusterSize) * clusterCols + (v % cols) / clusterSize;
+    }
+
+    private boolean isRoad(int row, int col) {
+        if (packed != null) {
+            return packed.isRoad(row, col);
+        }
+        return isInMap(row, col) && map[row][col] != null && map[row][col].getBuildableType() == BuildableType.ROAD;
+    }
+
+    private boolean isInMap(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private int index(Coordinate coordinate) {
+        return coordinate.getRow() * cols + coordinate.getCol();
+    }
+}
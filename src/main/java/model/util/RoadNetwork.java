@@ -0,0 +1,352 @@
+package model.util;
+
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.common.PackedGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the roads which cannot be removed without disconnecting a buildable from the master road.
+ * The road cells reachable from the master road are searched once in depth first order (Tarjan),
+ * which gives the articulation points of the road graph and the parts of the network each of them holds.
+ * A road is essential if some connected buildable only touches roads in the parts it cuts off.
+ * The analysis only visits the component of the master road, as removing any other road disconnects nothing,
+ * and it is kept until the map changes, so a demolition check is a lookup.
+ */
+public class RoadNetwork {
+
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+
+    private final Buildable[][] map;
+    private final PackedGrid packed;
+    private final int rows, cols;
+
+    private boolean valid = false;
+    private int root = -1;
+    private int visitedCount = 0;
+
+    /**
+     * Search order of each cell, starting from 1, 0 for cells not in the component.
+     */
+    private final int[] disc;
+    private final int[] low;
+    /**
+     * First search order after the subtree of the cell, the subtree of v holds the orders disc[v] .. end[v] - 1.
+     */
+    private final int[] end;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] order;
+    private final int[] minHi;
+    private final boolean[] essential;
+    private final int[] stack;
+    private final int[] nextStep;
+    private final int[] head;
+
+    public RoadNetwork(Buildable[][] map) {
+        this(map, null);
+    }
+
+    /**
+     * @param map    the map of the city
+     * @param packed the packed grid of the map, null to read the map itself
+     */
+    public RoadNetwork(Buildable[][] map, PackedGrid packed) {
+        this.map = map;
+        this.packed = packed;
+        this.rows = map.length;
+        this.cols = map[0].length;
+        int cells = rows * cols;
+        disc = new int[cells];
+        low = new int[cells];
+        end = new int[cells];
+        parent = new int[cells];
+        depth = new int[cells];
+        order = new int[cells];
+        minHi = new int[cells];
+        essential = new boolean[cells];
+        stack = new int[cells];
+        nextStep = new int[cells];
+        head = new int[cells];
+        Arrays.fill(minHi, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Drops the analysis, called when anything is placed on or removed from the map.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Checks if removing the road at the coordinate would disconnect a connected buildable from the master road.
+     *
+     * @param coordinate the coordinate of the road
+     * @param masterRoad the master road every buildable is connected to
+     * @param buildables the buildables of the city
+     * @return true if the road is essential for a connection.
+     */
+    public boolean isEssential(Coordinate coordinate, Buildable masterRoad, List<? extends Buildable> buildables) {
+        refresh(masterRoad, buildables);
+        return essential[index(coordinate.getRow(), coordinate.getCol())];
+    }
+
+    /**
+     * @param masterRoad the master road every buildable is connected to
+     * @param buildables the buildables of the city
+     * @return the coordinates of every road which cannot be removed, e.g. to highlight them.
+     */
+    public List<Coordinate> getEssentialRoads(Buildable masterRoad, List<? extends Buildable> buildables) {
+        refresh(masterRoad, buildables);
+        List<Coordinate> roads = new ArrayList<>();
+        for (int i = 0; i < visitedCount; i++) {
+            int v = order[i];
+            if (essential[v]) {
+                roads.add(new Coordinate(v / cols, v % cols));
+            }
+        }
+        return roads;
+    }
+
+    /**
+     * Analyses the component of the master road again if the map changed since the last analysis.
+     */
+    private void refresh(Buildable masterRoad, List<? extends Buildable> buildables) {
+        Coordinate coordinate = masterRoad.getCoordinate();
+        int newRoot = index(coordinate.getRow(), coordinate.getCol());
+        if (valid && newRoot == root) {
+            return;
+        }
+        clear();
+        root = newRoot;
+        search();
+        markEssentialRoads(buildables);
+        valid = true;
+        Metrics.increment(Metrics.Counter.ROAD_ANALYSES);
+        Metrics.add(Metrics.Counter.ROAD_FLOOD_NODES_VISITED, visitedCount);
+    }
+
+    /**
+     * Resets the cells of the previous analysis only.
+     */
+    private void clear() {
+        for (int i = 0; i < visitedCount; i++) {
+            int v = order[i];
+            disc[v] = 0;
+            essential[v] = false;
+            minHi[v] = Integer.MAX_VALUE;
+        }
+        visitedCount = 0;
+    }
+
+    /**
+     * Iterative depth first search over the road cells from the master road,
+     * computing the search order, the lowest reachable order and the subtree of every cell.
+     */
+    private void search() {
+        int top = 0;
+        int time = 0;
+        disc[root] = low[root] = ++time;
+        parent[root] = -1;
+        depth[root] = 0;
+        order[visitedCount++] = root;
+        stack[top++] = root;
+        nextStep[root] = 0;
+        while (top > 0) {
+            int v = stack[top - 1];
+            if (nextStep[v] < 4) {
+                int step = nextStep[v]++;
+                int row = v / cols + ROW_STEPS[step];
+                int col = v % cols + COL_STEPS[step];
+                if (!isRoad(row, col)) {
+                    continue;
+                }
+                int w = index(row, col);
+                if (disc[w] == 0) {
+                    disc[w] = low[w] = ++time;
+                    parent[w] = v;
+                    depth[w] = depth[v] + 1;
+                    order[visitedCount++] = w;
+                    nextStep[w] = 0;
+                    stack[top++] = w;
+                } else if (w != parent[v]) {
+                    low[v] = Math.min(low[v], disc[w]);
+                }
+            } else {
+                top--;
+                end[v] = time + 1;
+                if (parent[v] != -1) {
+                    low[parent[v]] = Math.min(low[parent[v]], low[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the roads whose removal leaves a connected buildable without a reachable road.
+     * For a buildable, lo and hi are the lowest and highest search order of the reachable roads it touches.
+     * It is cut off by removing a road r either if all those roads are in one subtree of a child of r
+     * which has no other way back (low >= disc[r]), or if r is their lowest common ancestor
+     * and every one of them is r itself or lies in such a subtree.
+     */
+    private void markEssentialRoads(List<? extends Buildable> buildables) {
+        List<int[]> touched = new ArrayList<>();
+        List<Integer> firsts = new ArrayList<>();
+        List<Integer> his = new ArrayList<>();
+        for (Buildable b : buildables) {
+            if (b == null || b.getBuildableType() == BuildableType.ROAD || !b.isConnected()) {
+                continue;
+            }
+            int[] roads = touchedRoads(b);
+            if (roads.length == 0) {
+                continue;
+            }
+            int lo = roads[0];
+            int hi = roads[0];
+            for (int road : roads) {
+                if (disc[road] < disc[lo]) {
+                    lo = road;
+                }
+                if (disc[road] > disc[hi]) {
+                    hi = road;
+                }
+            }
+            minHi[lo] = Math.min(minHi[lo], disc[hi]);
+            touched.add(roads);
+            firsts.add(lo);
+            his.add(disc[hi]);
+        }
+        markCommonAncestors(touched, firsts, his);
+        for (int i = visitedCount - 1; i > 0; i--) {
+            int v = order[i];
+            int p = parent[v];
+            if (p != root && low[v] >= disc[p] && minHi[v] < end[v]) {
+                essential[p] = true;
+            }
+            minHi[p] = Math.min(minHi[p], minHi[v]);
+        }
+    }
+
+    /**
+     * Finds the lowest common ancestor of the roads touched by each buildable and marks it if it cuts them all off.
+     * The ancestors of a cell are kept in a path while going through the cells in search order,
+     * the deepest one whose subtree still holds the highest order is the common ancestor.
+     */
+    private void markCommonAncestors(List<int[]> touched, List<Integer> firsts, List<Integer> his) {
+        if (touched.isEmpty()) {
+            return;
+        }
+        int[] next = new int[touched.size()];
+        for (int i = 0; i < visitedCount; i++) {
+            head[order[i]] = -1;
+        }
+        for (int i = 0; i < touched.size(); i++) {
+            int lo = firsts.get(i);
+            next[i] = head[lo];
+            head[lo] = i;
+        }
+        int[] path = new int[visitedCount];
+        for (int i = 0; i < visitedCount; i++) {
+            int v = order[i];
+            path[depth[v]] = v;
+            for (int b = head[v]; b != -1; b = next[b]) {
+                int hi = his.get(b);
+                int from = 0;
+                int to = depth[v];
+                while (from < to) {
+                    int middle = (from + to + 1) / 2;
+                    if (end[path[middle]] > hi) {
+                        from = middle;
+                    } else {
+                        to = middle - 1;
+                    }
+                }
+                int ancestor = path[from];
+                if (ancestor != root && cutsOffAll(ancestor, touched.get(b))) {
+                    essential[ancestor] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if every road is the ancestor or in the subtree of a child of it with no other way back.
+     */
+    private boolean cutsOffAll(int ancestor, int[] roads) {
+        for (int road : roads) {
+            if (road == ancestor) {
+                continue;
+            }
+            int child = childHolding(ancestor, road);
+            if (child == -1 || low[child] < disc[ancestor]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int childHolding(int v, int descendant) {
+        for (int step = 0; step < 4; step++) {
+            int row = v / cols + ROW_STEPS[step];
+            int col = v % cols + COL_STEPS[step];
+            if (!isInMap(row, col)) {
+                continue;
+            }
+            int w = index(row, col);
+            if (disc[w] != 0 && parent[w] == v && disc[w] <= disc[descendant] && disc[descendant] < end[w]) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the distinct cells of the component touching the buildable, including the master road.
+     */
+    private int[] touchedRoads(Buildable b) {
+        Coordinate coordinate = b.getCoordinate();
+        Dimension dimension = b.getDimension();
+        int[] roads = new int[2 * (dimension.getHeight() + dimension.getWidth())];
+        int count = 0;
+        for (int row = coordinate.getRow(); row < coordinate.getRow() + dimension.getHeight(); row++) {
+            for (int col = coordinate.getCol(); col < coordinate.getCol() + dimension.getWidth(); col++) {
+                for (int step = 0; step < 4; step++) {
+                    int r = row + ROW_STEPS[step];
+                    int c = col + COL_STEPS[step];
+                    if (!isInMap(r, c) || disc[index(r, c)] == 0) {
+                        continue;
+                    }
+                    int road = index(r, c);
+                    boolean known = false;
+                    for (int i = 0; i < count; i++) {
+                        known |= roads[i] == road;
+                    }
+                    if (!known) {
+                        roads[count++] = road;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(roads, count);
+    }
+
+    private boolean isRoad(int row, int col) {
+        if (packed != null) {
+            return packed.isRoad(row, col);
+        }
+        return isInMap(row, col) && map[row][col] != null && map[row][col].getBuildableType() == BuildableType.ROAD;
+    }
+
+    private boolean isInMap(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private int index(int row, int col) {
+        return row * cols + col;
+    }
+}
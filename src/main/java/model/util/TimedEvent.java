@@ -0,0 +1,39 @@
+package model.util;
+
+import model.common.Buildable;
+
+/**
+ * A time-based process of the world, handled by the EventScheduler when it is due.
+ */
+public class TimedEvent implements java.io.Serializable {
+
+    public enum Kind {
+        /**
+         * A zone finishes its construction.
+         */
+        CONSTRUCTION,
+        /**
+         * Yearly census, taxes, pensions and growth of forests.
+         */
+        YEAR_END
+    }
+
+    private final Kind kind;
+    private final Buildable target;
+
+    public TimedEvent(Kind kind, Buildable target) {
+        this.kind = kind;
+        this.target = target;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the buildable concerned, null for city-wide events.
+     */
+    public Buildable getTarget() {
+        return target;
+    }
+}
@@ -25,22 +25,20 @@ public class CommercialZone extends Zone implements SideEffect {
     @Override
     public void effect(Zone zone, GameModel gm) {
         if (condition(zone, gm)) {
-            zone.getStatistics().getSatisfaction().setFreeWorkplaceEffect(
-                    zone.getStatistics().getSatisfaction().getFreeWorkplaceEffect() + FREE_WORKPLACE_BASE_EFFECT);
+            zone.updateFreeWorkplaceEffect((int) zone.getFreeWorkSpaceEffect() + FREE_WORKPLACE_BASE_EFFECT);
         }
     }
 
     @Override
     public void reverseEffect(Zone zone, GameModel gm) {
         if (condition(zone, gm)) {
-            zone.getStatistics().getSatisfaction().setFreeWorkplaceEffect(
-                    zone.getStatistics().getSatisfaction().getFreeWorkplaceEffect() - FREE_WORKPLACE_BASE_EFFECT);
+            zone.updateFreeWorkplaceEffect((int) zone.getFreeWorkSpaceEffect() - FREE_WORKPLACE_BASE_EFFECT);
         }
     }
 
     @Override
     public boolean condition(Zone zone, GameModel gm) {
-        double manhattanDist = new PathFinder(gm.getMap()).manhattanDistance(zone, gm.getMasterRoads().get(0));
+        double manhattanDist = gm.getPathFinder().manhattanDistance(zone, gm.getMasterRoads().get(0));
         return manhattanDist != -1 && zone.getCitizens().size() < 10 && manhattanDist < effectRadius;
     }
 
@@ -24,16 +24,16 @@ public class IndustrialZone extends Zone implements SideEffect {
 
     @Override
     public void effect(Zone zone, GameModel gm) {
-        if (new PathFinder(gm.getMap()).manhattanDistance(zone, gm.getMasterRoads().get(0)) != -1 && zone.getCitizens().size() < 10) {
-            zone.getStatistics().getSatisfaction().setFreeWorkplaceEffect(zone.getStatistics().getSatisfaction().getFreeWorkplaceEffect() + FREE_WORKPLACE_BASE_EFFECT);
+        if (gm.getPathFinder().manhattanDistance(zone, gm.getMasterRoads().get(0)) != -1 && zone.getCitizens().size() < 10) {
+            zone.updateFreeWorkplaceEffect((int) zone.getFreeWorkSpaceEffect() + FREE_WORKPLACE_BASE_EFFECT);
         }
         pollute(zone, gm);
     }
 
     @Override
     public void reverseEffect(Zone zone, GameModel gm) {
-        if (new PathFinder(gm.getMap()).manhattanDistance(zone, gm.getMasterRoads().get(0)) != -1 && zone.getCitizens().size() < 10) {
-            zone.getStatistics().getSatisfaction().setFreeWorkplaceEffect(zone.getStatistics().getSatisfaction().getFreeWorkplaceEffect() - FREE_WORKPLACE_BASE_EFFECT);
+        if (gm.getPathFinder().manhattanDistance(zone, gm.getMasterRoads().get(0)) != -1 && zone.getCitizens().size() < 10) {
+            zone.updateFreeWorkplaceEffect((int) zone.getFreeWorkSpaceEffect() - FREE_WORKPLACE_BASE_EFFECT);
         }
         reversePollute(zone, gm);
     }
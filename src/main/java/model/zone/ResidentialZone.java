@@ -1,5 +1,7 @@
 package model.zone;
 
+import model.GameModel;
+import model.common.Citizen;
 import model.common.Coordinate;
 import model.util.BuildableType;
 import model.util.Date;
@@ -23,4 +25,27 @@ public class ResidentialZone extends Zone {
         return RESIDENTIAL_BASE_CAPACITY;
     }
 
-}
\ No newline at end of file
+    /**
+     * Adds new citizen to the zone and counts its level of education in the city statistics.
+     *
+     * @param citizen the citizen to be added.
+     */
+    @Override
+    public void addCitizen(Citizen citizen, GameModel gm) {
+        gm.getCityStatistics().updateEducationCount(citizen.getLevelOfEducation(), 1);
+        super.addCitizen(citizen, gm);
+    }
+
+    /**
+     * Removes the citizen from the zone and from the education counts of the city statistics.
+     *
+     * @param citizen the citizen to be removed.
+     */
+    @Override
+    public void removeCitizen(Citizen citizen, GameModel gm) {
+        if (citizens.contains(citizen)) {
+            gm.getCityStatistics().updateEducationCount(citizen.getLevelOfEducation(), -1);
+        }
+        super.removeCitizen(citizen, gm);
+    }
+}
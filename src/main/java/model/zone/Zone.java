@@ -22,7 +22,7 @@ public abstract class Zone implements Buildable, java.io.Serializable {
     protected Boolean isUnderConstruction;
     protected float effectRadius;
     Boolean isConnected;
-
+    private int changes;
 
     public Zone(Level level, int dayToBuild, ZoneStatistics statistics, Date birthday, Coordinate coordinate, float effectRadius) {
         this.level = level;
@@ -58,6 +58,20 @@ public abstract class Zone implements Buildable, java.io.Serializable {
      */
     public void resetConnected(Buildable connectingPoint, Buildable[][] map) {
         isConnected = new PathFinder(map).manhattanDistance(this, connectingPoint) > -1;
+        changes++;
+    }
+
+    /**
+     * Resets the connected property from roads already flooded from the connecting point,
+     * gives the same result as resetConnected(connectingPoint, map).
+     *
+     * @param connectingPoint master road
+     * @param pathFinder      path finder of the map
+     * @param reachedRoads    result of pathFinder.reachableRoads(connectingPoint)
+     */
+    public void resetConnected(Buildable connectingPoint, PathFinder pathFinder, boolean[][] reachedRoads) {
+        isConnected = pathFinder.isReachable(connectingPoint, this, reachedRoads);
+        changes++;
     }
 
     public Level getLevel() {
@@ -93,10 +107,12 @@ public abstract class Zone implements Buildable, java.io.Serializable {
 
     public void setUnderConstruction(Boolean underConstruction) {
         isUnderConstruction = underConstruction;
+        changes++;
     }
 
     public void setLevel(Level level) {
         this.level = level;
+        changes++;
     }
 
     public double getFreeWorkSpaceEffect() {
@@ -115,18 +131,27 @@ public abstract class Zone implements Buildable, java.io.Serializable {
      */
     public void updateForestEffect(double newValue) {
         statistics.getSatisfaction().setForestEffect(newValue);
+        changes++;
     }
 
     public void updatePoliceEffect(int newValue) {
         statistics.getSatisfaction().setPoliceEffect(newValue);
+        changes++;
     }
 
     public void updateIndustrialEffect(int newValue) {
         statistics.getSatisfaction().setIndustrialEffect(newValue);
+        changes++;
+    }
+
+    public void updateFreeWorkplaceEffect(int newValue) {
+        statistics.getSatisfaction().setFreeWorkplaceEffect(newValue);
+        changes++;
     }
 
     public void updateStadiumEffect(int newValue) {
         statistics.getSatisfaction().setStadiumEffect(newValue);
+        changes++;
     }
 
     /**
@@ -138,6 +163,8 @@ public abstract class Zone implements Buildable, java.io.Serializable {
     public void addCitizen(Citizen citizen, GameModel gm) {
         citizens.add(citizen);
         this.statistics.setPopulation(statistics.getPopulation() + 1);
+        changes++;
+        gm.getCityRegistry().updateVacancy(this);
         gm.getCityStatistics().setCitySatisfaction(gm);
     }
 
@@ -150,6 +177,8 @@ public abstract class Zone implements Buildable, java.io.Serializable {
     public void removeCitizen(Citizen citizen, GameModel gm) {
         citizens.remove(citizen);
         this.statistics.setPopulation(statistics.getPopulation() - 1);
+        changes++;
+        gm.getCityRegistry().updateVacancy(this);
         gm.getCityStatistics().setCitySatisfaction(gm);
     }
 
@@ -187,6 +216,16 @@ public abstract class Zone implements Buildable, java.io.Serializable {
         return citizens.size();
     }
 
+    /**
+     * Counts every change of the zone: citizens moving in or out, its level, construction, connection or effects.
+     * Comparing two readings tells if the zone changed in between.
+     *
+     * @return the number of changes of the zone so far.
+     */
+    public int getChanges() {
+        return changes;
+    }
+
     @Override
     public String toString() {
         return "Zone{" +
@@ -1,6 +1,7 @@
 package persistence;
 
 import model.GameModel;
+import model.util.Log;
 
 import java.io.*;
 
@@ -19,9 +20,9 @@ public class Database {
             out.writeObject(gameModel);
             out.close();
             fileOut.close();
-            System.out.println("Serialized data is saved in data.ser");
+            Log.info("Serialized data is saved in data.ser");
         } catch (IOException i) {
-            i.printStackTrace();
+            Log.error("Could not access the save file", i);
         }
     }
 
@@ -39,9 +40,9 @@ public class Database {
             out.writeObject(gameModel);
             out.close();
             fileOut.close();
-            System.out.println("Serialized data is saved in " + filename);
+            Log.info("Serialized data is saved in " + filename);
         } catch (IOException i) {
-            i.printStackTrace();
+            Log.error("Could not access the save file", i);
         }
     }
 
@@ -59,14 +60,13 @@ public class Database {
             in.close();
             fileIn.close();
         } catch (IOException i) {
-            i.printStackTrace();
+            Log.error("Could not access the save file", i);
             return null;
         } catch (ClassNotFoundException c) {
-            System.out.println("Game model class not found");
-            c.printStackTrace();
+            Log.error("Game model class not found", c);
             return null;
         }
-        System.out.println("Serialized data is read from data.ser");
+        Log.info("Serialized data is read from data.ser");
         return gameModel;
     }
 
@@ -85,14 +85,13 @@ public class Database {
             in.close();
             fileIn.close();
         } catch (IOException i) {
-            i.printStackTrace();
+            Log.error("Could not access the save file", i);
             return null;
         } catch (ClassNotFoundException c) {
-            System.out.println("Game model class not found");
-            c.printStackTrace();
+            Log.error("Game model class not found", c);
             return null;
         }
-        System.out.println("Serialized data is read from " + filename);
+        Log.info("Serialized data is read from " + filename);
         return gameModel;
     }
 }
@@ -62,7 +62,9 @@ public class ViewModel {
     public boolean pause(Controller controller,GameModel gameModel){
         if (Keyboard.isClicked(GLFW_KEY_ESCAPE)) {
             if (pauseMenuActive == false) {
-                this.pauseMenu = new PauseMenu(controller, gameModel);
+                if (this.pauseMenu == null) {
+                    this.pauseMenu = new PauseMenu(controller, gameModel);
+                }
                 this.tabs.addAll((this.pauseMenu.getTabs()));
                 this.buttons.addAll(this.pauseMenu.getButtons());
                 pauseMenuActive = true;
@@ -136,4 +136,76 @@ class ControllerTest {
         controller.updateTaxRate(4, null);
         assertEquals(0.3, gm.getCityStatistics().getBudget().getTaxRate());
     }
-}
\ No newline at end of file
+
+    @org.junit.jupiter.api.Test
+    void testDragRoadBuildsConnectedLine() {
+        controller.switchGameModeRequest(GameMode.ROAD_MODE);
+        controller.dragRequest(new Coordinate(3, 0), new Coordinate(1, 3), null);
+        assertEquals(6, gm.getCityRegistry().getFacilities().size());
+        assertNotNull(gm.getMap()[3][3]);
+        assertNotNull(gm.getMap()[1][3]);
+
+        controller.switchGameModeRequest(GameMode.RESIDENTIAL_MODE);
+        controller.mouseClickRequest(new Coordinate(1, 4), null);
+        assertTrue(gm.getZoneBuildable().get(0).isConnected());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDragRoadOutOfExistingRoad() {
+        controller.switchGameModeRequest(GameMode.ROAD_MODE);
+        controller.dragRequest(new Coordinate(4, 2), new Coordinate(2, 2), null);
+        assertEquals(2, gm.getCityRegistry().getFacilities().size());
+
+        controller.dragRequest(new Coordinate(3, 0), new Coordinate(3, 4), null);
+        assertEquals(6, gm.getCityRegistry().getFacilities().size());
+        for (int col = 0; col <= 4; col++) {
+            assertNotNull(gm.getMap()[3][col]);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRectangleStepsByFacilityDimension() {
+        controller.switchGameModeRequest(GameMode.STADIUM_MODE);
+        controller.rectangleRequest(new Coordinate(0, 0), new Coordinate(1, 3), null);
+        assertEquals(2, gm.getCityRegistry().getFacilities().size());
+        assertNotSame(gm.getMap()[0][0], gm.getMap()[0][2]);
+        assertSame(gm.getMap()[0][0], gm.getMap()[1][1]);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRectangleZonesAllOrNothing() {
+        controller.switchGameModeRequest(GameMode.ROAD_MODE);
+        controller.mouseClickRequest(new Coordinate(1, 1), null);
+
+        controller.switchGameModeRequest(GameMode.RESIDENTIAL_MODE);
+        controller.rectangleRequest(new Coordinate(0, 0), new Coordinate(2, 2), null);
+        assertEquals(0, gm.getZoneBuildable().size());
+
+        controller.rectangleRequest(new Coordinate(1, 4), new Coordinate(0, 3), null);
+        assertEquals(4, gm.getZoneBuildable().size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testPolylineCellsAreNeighbours() {
+        java.util.List<Coordinate> cells = Controller.polylineCells(java.util.List.of(
+                new Coordinate(0, 0), new Coordinate(2, 3), new Coordinate(2, 1)));
+        assertEquals(new Coordinate(0, 0), cells.get(0));
+        assertEquals(new Coordinate(2, 1), cells.get(cells.size() - 1));
+        for (int i = 1; i < cells.size(); i++) {
+            Coordinate a = cells.get(i - 1);
+            Coordinate b = cells.get(i);
+            assertEquals(1, Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol()));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testOnlySelectionAndDemolishPickBuildables() {
+        assertTrue(controller.isPickingBuildable());
+        controller.switchGameModeRequest(GameMode.DEMOLISH_MODE);
+        assertTrue(controller.isPickingBuildable());
+        controller.switchGameModeRequest(GameMode.ROAD_MODE);
+        assertFalse(controller.isPickingBuildable());
+        controller.switchGameModeRequest(GameMode.RESIDENTIAL_MODE);
+        assertFalse(controller.isPickingBuildable());
+    }
+}
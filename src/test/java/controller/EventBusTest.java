@@ -0,0 +1,111 @@
+package controller;
+
+import controller.util.GameMode;
+import model.GameModel;
+import model.city.CityStatistics;
+import model.common.Budget;
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.facility.Road;
+import model.util.Date;
+import model.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static model.common.Constants.ROAD_MAINTENANCE_FEE;
+import static model.common.Constants.ROAD_ONE_TIME_COST;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+
+    static class CountingCallBack implements ICallBack {
+        int grid, budget, zone, date, city, lose;
+        Coordinate lastCoordinate;
+
+        @Override
+        public void updateGridSystem(Coordinate coordinate, Buildable buildable) {
+            grid++;
+            lastCoordinate = coordinate;
+        }
+
+        @Override
+        public void updateBudgetPanel(Budget budget) {
+            this.budget++;
+        }
+
+        @Override
+        public void updateStatisticPanel(Zone zone) {
+            this.zone++;
+        }
+
+        @Override
+        public void updateDatePanel(Date date) {
+            this.date++;
+        }
+
+        @Override
+        public void updateCityStatisticPanel(CityStatistics cityStatistics) {
+            city++;
+        }
+
+        @Override
+        public void shoutLose(boolean isLost) {
+            lose++;
+        }
+    }
+
+    GameModel gm = new GameModel(5, 11);
+    CountingCallBack view = new CountingCallBack();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Road road = new Road(ROAD_ONE_TIME_COST, ROAD_MAINTENANCE_FEE, new Coordinate(5 - 1, i), new Dimension(1, 1));
+            gm.getMasterRoads().add(road);
+            gm.addToMap(road);
+        }
+    }
+
+    @Test
+    void coalescesClicksOfOneFrame() {
+        Controller controller = new Controller(gm, true);
+        controller.switchGameModeRequest(GameMode.RESIDENTIAL_MODE);
+        for (int col = 0; col < 5; col++) {
+            controller.mouseClickRequest(new Coordinate(1, col), view);
+        }
+        assertEquals(0, view.grid);
+        controller.dispatchEvents();
+        assertEquals(5, gm.getZoneBuildable().size());
+        assertEquals(1, view.grid);
+        assertEquals(1, view.city);
+        assertEquals(1, view.budget);
+        assertNull(view.lastCoordinate);
+
+        controller.dispatchEvents();
+        assertEquals(1, view.grid);
+    }
+
+    @Test
+    void keepsLatestEventsWhenFull() {
+        EventBus bus = new EventBus(2, view);
+        for (int col = 0; col < 10; col++) {
+            bus.updateGridSystem(new Coordinate(0, col), null);
+            bus.updateDatePanel(gm.getCurrentDate());
+        }
+        assertEquals(2, bus.dispatch());
+        assertEquals(1, view.grid);
+        assertEquals(1, view.date);
+        assertNull(view.lastCoordinate);
+    }
+
+    @Test
+    void deliversDirectlyWithoutBus() {
+        Controller controller = new Controller(gm);
+        controller.switchGameModeRequest(GameMode.RESIDENTIAL_MODE);
+        controller.mouseClickRequest(new Coordinate(1, 1), view);
+        controller.mouseClickRequest(new Coordinate(1, 2), view);
+        assertEquals(2, view.grid);
+        assertEquals(new Coordinate(1, 2), view.lastCoordinate);
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static model.common.Constants.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -212,6 +214,17 @@ class GameModelTest {
         assertEquals((int) FOREST_BASE_EFFECT + INDUSTRIAL_ZONE_BASE_EFFECT, (int) (afterSatis - beforeSatis));
     }
 
+    @Test
+    void TestForestEffectBlockedByNewFacility() throws OperationException {
+        Zone z = new ResidentialZoneFactory(gm).createZone(new Coordinate(2, 2));
+        gm.addZone(z);
+        gm.addFacility(new ForestFactory(gm).createFacility(new Coordinate(2, 4)));
+        assertEquals((int) FOREST_BASE_EFFECT, (int) z.getStatistics().getSatisfaction().getForestEffect());
+
+        gm.addFacility(new PoliceFactory(gm).createFacility(new Coordinate(2, 3)));
+        assertEquals(0, (int) z.getStatistics().getSatisfaction().getForestEffect());
+    }
+
     // school
     @Test
     void TestSchoolConnectedToMasterRoad() throws OperationException {
@@ -547,5 +560,52 @@ class GameModelTest {
         assertEquals(IndustrialZone.class, gm.getMap()[3][1].getClass());
     }
 
+    @Test
+    void TestConstructionFinishesAfterConstructionDays() throws OperationException {
+        Zone z = new ResidentialZoneFactory(gm).createZone(new Coordinate(3, 1));
+        gm.addZone(z);
+        gm.regularUpdate(DAYS_FOR_CONSTRUCTION, null);
+        assertTrue(z.isUnderConstruction());
+        assertEquals(List.of(z), gm.getUnderConstructions());
+        gm.regularUpdate(1, null);
+        assertFalse(z.isUnderConstruction());
+        assertEquals(0, gm.getUnderConstructions().size());
+    }
+
+    @Test
+    void TestDemolishedConstructionIsNotFinished() throws OperationException {
+        Zone z = new ResidentialZoneFactory(gm).createZone(new Coordinate(3, 1));
+        gm.addZone(z);
+        gm.removeBuildable(new Coordinate(3, 1));
+        gm.regularUpdate(DAYS_FOR_CONSTRUCTION + 1, null);
+        assertTrue(z.isUnderConstruction());
+    }
+
+    @Test
+    void TestFinishedConnectedZoneJoinsFreeHomes() throws OperationException {
+        Zone z = new ResidentialZoneFactory(gm).createZone(new Coordinate(3, 1));
+        gm.addZone(z);
+        assertTrue(gm.getCityRegistry().getFreeHomes().isEmpty());
+        gm.regularUpdate(DAYS_FOR_CONSTRUCTION + 1, null);
+        assertTrue(z.getPopulation() > 0 || gm.getCityRegistry().getFreeHomes().contains(z));
+        while (z.getPopulation() < z.getCapacity()) {
+            gm.regularUpdate(1, null);
+        }
+        assertFalse(gm.getCityRegistry().getFreeHomes().contains(z));
+        z.removeCitizen(z.getCitizens().get(0), gm);
+        assertEquals(List.of(z), gm.getCityRegistry().getFreeHomes());
+    }
+
+    @Test
+    void TestLongSkipProcessesEveryYearEnd() throws OperationException {
+        Forest forest = (Forest) new ForestFactory(gm).createFacility(new Coordinate(0, 0));
+        gm.addFacility(forest);
+        Zone z = new ResidentialZoneFactory(gm).createZone(new Coordinate(3, 1));
+        gm.addZone(z);
+        gm.regularUpdate(3 * 366, null);
+        assertEquals(4, forest.getAge());
+        assertFalse(z.isUnderConstruction());
+    }
+
     /////
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package model.city;
+
+import model.GameModel;
+import model.common.Coordinate;
+import model.zone.ResidentialZoneFactory;
+import model.zone.Zone;
+import org.junit.jupiter.api.Test;
+
+import static model.city.SimulationLod.QUIET_AFTER_DAYS;
+import static model.city.SimulationLod.QUIET_CADENCE_DAYS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationLodTest {
+
+    SimulationLod lod = new SimulationLod();
+    Zone zone = new ResidentialZoneFactory(new GameModel(10, 10)).createZone(new Coordinate(1, 1));
+
+    @Test
+    void activeZoneIsEvaluatedEveryDay() {
+        assertEquals(1, lod.takeDueDays(zone, 0, 1));
+        assertEquals(3, lod.takeDueDays(zone, 1, 4));
+        assertEquals(0, lod.takeDueDays(zone, 4, 4));
+        assertFalse(lod.isQuiet(zone, 4));
+    }
+
+    @Test
+    void quietZoneIsEvaluatedAtTheCadenceWithoutLosingDays() {
+        long day = 0;
+        while (day < QUIET_AFTER_DAYS - 1) {
+            assertEquals(1, lod.takeDueDays(zone, day, day + 1));
+            day++;
+        }
+        assertTrue(lod.isQuiet(zone, day + 1));
+        int evaluated = 0;
+        for (int i = 0; i < QUIET_CADENCE_DAYS * 3; i++) {
+            evaluated += lod.takeDueDays(zone, day, day + 1);
+            day++;
+        }
+        assertEquals(QUIET_CADENCE_DAYS * 3, evaluated);
+    }
+
+    @Test
+    void touchedZoneIsCaughtUpAndActiveAgain() {
+        lod.takeDueDays(zone, 0, 0);
+        long day = QUIET_AFTER_DAYS + 5;
+        assertEquals(QUIET_AFTER_DAYS + 5, lod.catchUp(zone, day, day));
+        assertTrue(lod.isQuiet(zone, day));
+        assertEquals(0, lod.takeDueDays(zone, day, day + 1));
+        zone.updateStadiumEffect(1);
+        assertEquals(1, lod.catchUp(zone, day + 1, day + 1));
+        assertFalse(lod.isQuiet(zone, day + 2));
+        assertEquals(1, lod.takeDueDays(zone, day + 1, day + 2));
+    }
+}
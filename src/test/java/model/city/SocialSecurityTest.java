@@ -0,0 +1,59 @@
+package model.city;
+
+import model.GameModel;
+import model.common.Coordinate;
+import model.zone.IndustrialZoneFactory;
+import model.zone.ResidentialZoneFactory;
+import model.zone.Zone;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialSecurityTest {
+
+    @Test
+    void parallelYearGivesTheSameTotalsAsTheSerialOne() throws Exception {
+        GameModel gm = new GameModel(10, 20);
+        gm.initialize();
+        for (int col = 0; col < 20; col++) {
+            Zone zone = col % 4 == 3
+                    ? new IndustrialZoneFactory(gm).createZone(new Coordinate(8, col))
+                    : new ResidentialZoneFactory(gm).createZone(new Coordinate(8, col));
+            if (gm.isPlotAvailable(zone)) {
+                gm.addZone(zone);
+            }
+        }
+        gm.regularUpdate(300, null);
+        int population = gm.getCitizenStore().getCitizenCount();
+        assertTrue(population > 0);
+
+        GameModel serialModel = copy(gm);
+        GameModel parallelModel = copy(gm);
+        SocialSecurity.FiscalYear serial = settle(serialModel, false);
+        SocialSecurity.FiscalYear parallel = settle(parallelModel, true);
+
+        assertEquals(population, serial.getWorkers() + serial.getRetired() + serial.getDeaths() + serial.getEmigrants());
+        assertEquals(serial.getRevenue(), parallel.getRevenue(), 1e-6);
+        assertEquals(serial.getWorkers(), parallel.getWorkers());
+        assertEquals(serial.getEmigrants(), parallel.getEmigrants());
+        assertEquals(serial.getRetired(), parallel.getRetired());
+        assertEquals(serial.getPension(), parallel.getPension());
+        assertEquals(serialModel.getCitizenStore().getCitizenCount(), parallelModel.getCitizenStore().getCitizenCount());
+    }
+
+    private static SocialSecurity.FiscalYear settle(GameModel gm, boolean parallel) {
+        return new SocialSecurity(gm.getCityRegistry(), gm.getCitizenStore()).settleYear(gm, parallel);
+    }
+
+    private static GameModel copy(GameModel gm) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(gm);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (GameModel) in.readObject();
+        }
+    }
+}
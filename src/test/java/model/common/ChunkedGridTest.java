@@ -0,0 +1,52 @@
+package model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedGridTest {
+
+    ChunkedGrid<String> grid = new ChunkedGrid<>(1000, 1000);
+
+    @Test
+    void allocatesChunksOnFirstUse() {
+        assertEquals(32, grid.getChunkRows());
+        assertEquals(0, grid.getAllocatedChunkCount());
+        assertNull(grid.get(999, 999));
+        grid.set(0, 0, "a");
+        grid.set(31, 31, "b");
+        grid.set(999, 999, "c");
+        assertEquals(2, grid.getAllocatedChunkCount());
+        assertEquals(3, grid.size());
+        assertEquals("c", grid.get(999, 999));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.get(1000, 0));
+    }
+
+    @Test
+    void visitsOnlyOccupiedCells() {
+        grid.set(5, 7, "a");
+        grid.set(500, 40, "b");
+        grid.set(5, 8, "c");
+        assertEquals("c", grid.remove(5, 8));
+        assertEquals("a", grid.set(5, 7, "d"));
+        Set<String> visited = new HashSet<>();
+        grid.forEach((row, col, value) -> visited.add(row + "," + col + "=" + value));
+        assertEquals(Set.of("5,7=d", "500,40=b"), visited);
+    }
+
+    @Test
+    void clearEmptiesEveryCell() {
+        for (int i = 0; i < 100; i++) {
+            grid.set(i * 7, i * 3, "x");
+        }
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertNull(grid.get(7, 3));
+        grid.forEach((row, col, value) -> fail());
+        grid.set(7, 3, "y");
+        assertEquals(1, grid.size());
+    }
+}
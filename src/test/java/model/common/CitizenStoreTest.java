@@ -0,0 +1,68 @@
+package model.common;
+
+import model.GameModel;
+import model.util.LevelOfEducation;
+import model.zone.ResidentialZoneFactory;
+import model.zone.Zone;
+import org.junit.jupiter.api.Test;
+
+import static model.common.Constants.TAX_HISTORY_YEARS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitizenStoreTest {
+
+    GameModel gm = new GameModel(5, 10);
+    CitizenStore store = new CitizenStore(1);
+    Zone home = new ResidentialZoneFactory(gm).createZone(new Coordinate(0, 0));
+
+    @Test
+    void averageOfPartialHistory() {
+        Citizen citizen = new Citizen(store, null, home, LevelOfEducation.PRIMARY);
+        citizen.addPaidTax(10);
+        citizen.addPaidTax(20);
+        assertEquals(15, citizen.getPast20AvgIncome());
+        assertEquals(15, citizen.getPension());
+    }
+
+    @Test
+    void averageKeepsOnlyLastTwentyYears() {
+        Citizen citizen = new Citizen(store, null, home, LevelOfEducation.PRIMARY);
+        for (int i = 1; i <= TAX_HISTORY_YEARS + 5; i++) {
+            citizen.addPaidTax(i);
+        }
+        // 6..25
+        assertEquals(15.5, citizen.getPast20AvgIncome(), 1e-9);
+    }
+
+    @Test
+    void releasedRowIsReused() {
+        Citizen first = new Citizen(store, null, home, LevelOfEducation.SCHOOL);
+        first.addPaidTax(100);
+        new Citizen(store, null, home, LevelOfEducation.PRIMARY);
+        first.release();
+        assertEquals(1, store.getCitizenCount());
+
+        Citizen next = new Citizen(store, null, home, LevelOfEducation.UNIVERSITY);
+        assertEquals(2, store.getRowCount());
+        assertEquals(LevelOfEducation.UNIVERSITY, next.getLevelOfEducation());
+        assertEquals(home, next.getLivingPlace());
+        assertNull(next.getWorkplace());
+        assertTrue(next.isUnemployed());
+        assertEquals(0, next.getPension());
+    }
+
+    @Test
+    void releasedHandleFailsFast() {
+        Citizen first = new Citizen(store, home, home, LevelOfEducation.PRIMARY);
+        first.release();
+        assertNull(store.getLivingPlace(0));
+        assertNull(store.getWorkplace(0));
+
+        Citizen next = new Citizen(store, null, home, LevelOfEducation.SCHOOL);
+        assertEquals(1, store.getRowCount());
+        assertEquals(LevelOfEducation.SCHOOL, next.getLevelOfEducation());
+        assertThrows(IllegalStateException.class, first::getLevelOfEducation);
+        assertThrows(IllegalStateException.class, first::release);
+        assertEquals(1, store.getCitizenCount());
+    }
+}
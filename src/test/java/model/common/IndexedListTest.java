@@ -0,0 +1,29 @@
+package model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedListTest {
+
+    @Test
+    void removesByMovingTheLastElement() {
+        ArrayList<String> backing = new ArrayList<>(List.of("a", "b", "c", "d"));
+        IndexedList<String> list = new IndexedList<>(backing);
+        assertTrue(list.remove("b"));
+        assertEquals(List.of("a", "d", "c"), backing);
+        assertTrue(list.remove("c"));
+        assertEquals(List.of("a", "d"), list.view());
+        assertFalse(list.remove("c"));
+        assertFalse(list.add("a"));
+        assertTrue(list.add("e"));
+        assertTrue(list.remove("a"));
+        assertEquals(List.of("e", "d"), backing);
+        assertTrue(list.contains("d"));
+        assertEquals(2, list.size());
+        assertThrows(UnsupportedOperationException.class, () -> list.view().add("f"));
+    }
+}
@@ -0,0 +1,33 @@
+package model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JoinedListTest {
+
+    List<Integer> first = new ArrayList<>(List.of(1, 2));
+    List<Integer> second = new ArrayList<>();
+    List<Integer> third = new ArrayList<>(List.of(3));
+    JoinedList<Number> joined = new JoinedList<>(List.of(first, second, third));
+
+    @Test
+    void followsTheParts() {
+        assertEquals(List.of(1, 2, 3), joined);
+        second.add(7);
+        first.remove(0);
+        assertEquals(List.of(2, 7, 3), joined);
+        assertEquals(3, joined.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> joined.get(3));
+    }
+
+    @Test
+    void cannotBeChanged() {
+        assertThrows(UnsupportedOperationException.class, () -> joined.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> joined.remove(0));
+        assertEquals(3, joined.size());
+    }
+}
@@ -0,0 +1,70 @@
+package model.common;
+
+import model.GameModel;
+import model.facility.Facility;
+import model.facility.Road;
+import model.facility.StadiumFactory;
+import model.util.BuildableType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedGridTest {
+
+    GameModel gm = new GameModel(6, 8);
+    PackedGrid grid = new PackedGrid(6, 8);
+
+    @Test
+    void coversEveryCellOfABuildable() {
+        Facility stadium = new StadiumFactory(gm).createFacility(new Coordinate(2, 3));
+        grid.place(stadium);
+        int id = grid.idOf(stadium);
+        assertTrue(id > 0);
+        for (int row = 2; row < 4; row++) {
+            for (int col = 3; col < 5; col++) {
+                assertEquals(id, grid.idAt(grid.index(row, col)));
+                assertEquals(PackedGrid.code(BuildableType.STADIUM), grid.typeAt(grid.index(row, col)));
+                assertTrue(grid.isBuilding(row, col));
+            }
+        }
+        assertFalse(grid.isFree(1, 2, 2, 2));
+        assertTrue(grid.isFree(0, 0, 2, 3));
+        assertFalse(grid.isFree(5, 7, 2, 1));
+
+        grid.remove(stadium);
+        assertEquals(-1, grid.idOf(stadium));
+        assertTrue(grid.isFree(0, 0, 6, 8));
+    }
+
+    @Test
+    void roadsAreNotBuildings() {
+        grid.place(new Road(1, 1, new Coordinate(0, 0), new Dimension(1, 1)));
+        assertTrue(grid.isRoad(0, 0));
+        assertFalse(grid.isBuilding(0, 0));
+        assertFalse(grid.isRoad(-1, 0));
+        assertFalse(grid.isRoad(0, 1));
+    }
+
+    @Test
+    void gameModelKeepsItInSync() throws Exception {
+        gm.initialize();
+        PackedGrid packed = gm.getPackedGrid();
+        Coordinate placed = null;
+        for (int row = 0; row < 4 && placed == null; row++) {
+            for (int col = 0; col < 7 && placed == null; col++) {
+                Facility stadium = new StadiumFactory(gm).createFacility(new Coordinate(row, col));
+                if (gm.isPlotAvailable(stadium)) {
+                    gm.addFacility(stadium);
+                    placed = stadium.getCoordinate();
+                }
+            }
+        }
+        assertNotNull(placed);
+        gm.removeBuildable(placed);
+        PackedGrid rebuilt = PackedGrid.of(gm.getMap());
+        for (int i = 0; i < 6 * 8; i++) {
+            assertEquals(rebuilt.typeAt(i), packed.typeAt(i), "cell " + i);
+            assertEquals(rebuilt.idAt(i) == 0, packed.idAt(i) == 0, "cell " + i);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package model.util;
+
+import model.GameModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @BeforeEach
+    void setUp() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @Test
+    void timesEveryTick() {
+        GameModel gm = new GameModel(5, 10);
+        for (int i = 0; i < 10; i++) {
+            gm.regularUpdate(1, null);
+        }
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(10, snapshot.getPhase(Metrics.Phase.TICK).getCount());
+        assertEquals(10, snapshot.getPhase(Metrics.Phase.EVENTS).getCount());
+        assertEquals(10, snapshot.getPhase(Metrics.Phase.CITIZENSHIP_MANIPULATION).getCount());
+        assertTrue(snapshot.getPhase(Metrics.Phase.TICK).getMaxNanos() > 0);
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        Metrics.setEnabled(false);
+        Metrics.stop(Metrics.Phase.TICK, Metrics.start());
+        Metrics.increment(Metrics.Counter.BFS_CALLS);
+        Metrics.setEnabled(true);
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(0, snapshot.getPhase(Metrics.Phase.TICK).getCount());
+        assertEquals(0, snapshot.getCounter(Metrics.Counter.BFS_CALLS));
+    }
+
+    @Test
+    void dumpsCsvWithHeader(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("metrics.csv");
+        Metrics.add(Metrics.Counter.BFS_NODES_VISITED, 42);
+        Metrics.dump(file, Metrics.Format.CSV);
+        Metrics.dump(file, Metrics.Format.CSV);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        int columns = lines.get(0).split(",").length;
+        assertEquals(columns, lines.get(1).split(",").length);
+        assertTrue(lines.get(0).contains("bfs_nodes_visited"));
+        assertTrue(Metrics.snapshot().toJson().contains("\"BFS_NODES_VISITED\":42"));
+    }
+}
@@ -4,12 +4,17 @@ import model.GameModel;
 import model.common.Buildable;
 import model.common.Coordinate;
 import model.common.Dimension;
+import model.common.PackedGrid;
 import model.facility.Road;
 import model.zone.ResidentialZoneFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PathFinderTest {
 
@@ -67,4 +72,42 @@ class PathFinderTest {
         assertEquals(8, pf.manhattanDistance(map[0][0], map[4][5]));
     }
 
-}
\ No newline at end of file
+    @Test
+    void reachableRoadsNoPath() {
+        assertFalse(pf.isReachable(map[0][0], map[4][5], pf.reachableRoads(map[0][0])));
+    }
+
+    @Test
+    void reachableRoadsHasPath() {
+        map[0][1] = new Road(1,1, new Coordinate(0,1), new Dimension(1,1));
+        assertTrue(pf.isReachable(map[0][0], map[4][5], pf.reachableRoads(map[0][0])));
+        assertTrue(pf.isReachable(map[4][5], map[0][0], pf.reachableRoads(map[4][5])));
+    }
+
+    @Test
+    void searchesAgreeOnRandomMaps() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            GameModel gm = new GameModel(12, 15);
+            Buildable[][] randomMap = new Buildable[12][15];
+            for (int row = 0; row < 12; row++) {
+                for (int col = 0; col < 15; col++) {
+                    if (random.nextDouble() < 0.6) {
+                        randomMap[row][col] = new Road(1, 1, new Coordinate(row, col), new Dimension(1, 1));
+                    }
+                }
+            }
+            Buildable start = new ResidentialZoneFactory(gm).createZone(new Coordinate(random.nextInt(12), random.nextInt(15)));
+            Buildable goal = new ResidentialZoneFactory(gm).createZone(new Coordinate(random.nextInt(12), random.nextInt(15)));
+            randomMap[start.getCoordinate().getRow()][start.getCoordinate().getCol()] = start;
+            randomMap[goal.getCoordinate().getRow()][goal.getCoordinate().getCol()] = goal;
+            int expected = new PathFinder(randomMap, PathFinder.Search.BFS).manhattanDistance(start, goal);
+            assertEquals(expected, new PathFinder(randomMap, PathFinder.Search.A_STAR).manhattanDistance(start, goal), "seed " + seed);
+            assertEquals(expected, new PathFinder(randomMap, PathFinder.Search.BIDIRECTIONAL).manhattanDistance(start, goal), "seed " + seed);
+            PackedGrid packed = PackedGrid.of(randomMap);
+            for (PathFinder.Search search : PathFinder.Search.values()) {
+                assertEquals(expected, new PathFinder(randomMap, packed, search, null).manhattanDistance(start, goal), "seed " + seed);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package model.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilitySelectorTest {
+
+    @Test
+    void binomialEdgeCases() {
+        assertEquals(0, ProbabilitySelector.binomial(365, 0));
+        assertEquals(365, ProbabilitySelector.binomial(365, 1));
+        assertEquals(0, ProbabilitySelector.binomial(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> ProbabilitySelector.binomial(10, 1.5));
+    }
+
+    @Test
+    void binomialHasTheExpectedMean() {
+        long sum = 0;
+        for (int i = 0; i < 200; i++) {
+            int count = ProbabilitySelector.binomial(1000, 0.3);
+            assertTrue(count >= 0 && count <= 1000);
+            sum += count;
+        }
+        assertEquals(300, sum / 200.0, 5);
+    }
+}
@@ -0,0 +1,60 @@
+package model.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferAppenderTest {
+
+    @Test
+    void printsLinesInOrder() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RingBufferAppender appender = new RingBufferAppender(8, new PrintStream(bytes, true));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(appender.append("line " + i));
+        }
+        appender.flush();
+        String sep = System.lineSeparator();
+        assertEquals("line 0" + sep + "line 1" + sep + "line 2" + sep + "line 3" + sep + "line 4" + sep, bytes.toString());
+        assertEquals(0, appender.getDropped());
+    }
+
+    @Test
+    void dropsLinesWhenFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        PrintStream blocked = new PrintStream(new ByteArrayOutputStream()) {
+            @Override
+            public synchronized void println(String x) {
+                writing.countDown();
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RingBufferAppender appender = new RingBufferAppender(2, blocked);
+        appender.append("taken by the writer");
+        writing.await();
+        assertTrue(appender.append("a"));
+        assertTrue(appender.append("b"));
+        assertFalse(appender.append("c"));
+        assertEquals(1, appender.getDropped());
+    }
+
+    @Test
+    void levelGate() {
+        Log.Level old = Log.getLevel();
+        Log.setLevel(Log.Level.WARN);
+        assertFalse(Log.isDebugEnabled());
+        assertFalse(Log.isEnabled(Log.Level.INFO));
+        assertTrue(Log.isEnabled(Log.Level.ERROR));
+        Log.setLevel(Log.Level.OFF);
+        assertFalse(Log.isEnabled(Log.Level.ERROR));
+        Log.setLevel(old);
+    }
+}
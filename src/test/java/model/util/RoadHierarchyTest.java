@@ -0,0 +1,146 @@
+package model.util;
+
+import model.GameModel;
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.facility.Road;
+import model.zone.ResidentialZoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoadHierarchyTest {
+
+    static final int ROWS = 40, COLS = 50;
+
+    GameModel gm = new GameModel(ROWS, COLS);
+    Random random = new Random(7);
+    Buildable[][] map = new Buildable[ROWS][COLS];
+
+    @Test
+    void matchesFlatSearch() {
+        fillRoads(0.62);
+        RoadHierarchy hierarchy = new RoadHierarchy(map, 6);
+        for (int i = 0; i < 300; i++) {
+            assertSameDistance(hierarchy, "query " + i);
+        }
+    }
+
+    @Test
+    void matchesFlatSearchWithSmallClusters() {
+        fillRoads(0.62);
+        RoadHierarchy hierarchy = new RoadHierarchy(map, 2);
+        for (int i = 0; i < 300; i++) {
+            assertSameDistance(hierarchy, "query " + i);
+        }
+    }
+
+    @Test
+    void followsRoadEdits() {
+        fillRoads(0.62);
+        RoadHierarchy hierarchy = new RoadHierarchy(map, 8);
+        for (int edit = 0; edit < 150; edit++) {
+            int row = random.nextInt(ROWS);
+            int col = random.nextInt(COLS);
+            if (map[row][col] == null) {
+                map[row][col] = new Road(1, 1, new Coordinate(row, col), new Dimension(1, 1));
+            } else if (map[row][col] instanceof Road) {
+                map[row][col] = null;
+            } else {
+                continue;
+            }
+            hierarchy.roadChanged(new Coordinate(row, col), new Dimension(1, 1));
+            assertSameDistance(hierarchy, "edit " + edit);
+        }
+    }
+
+    @Test
+    void answersQueriesFromSeveralThreads() {
+        fillRoads(0.62);
+        List<Buildable[]> queries = new ArrayList<>();
+        while (queries.size() < 400) {
+            Buildable start = place(random.nextInt(ROWS), random.nextInt(COLS));
+            Buildable goal = place(random.nextInt(ROWS), random.nextInt(COLS));
+            if (start != goal) {
+                queries.add(new Buildable[]{start, goal});
+            }
+        }
+        int[] expected = new int[queries.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = GridSearch.of(map).breadthFirst(queries.get(i)[0], queries.get(i)[1]);
+        }
+        RoadHierarchy hierarchy = new RoadHierarchy(map, 6);
+        int[] actual = new int[queries.size()];
+        IntStream.range(0, actual.length).parallel()
+                .forEach(i -> actual[i] = hierarchy.distance(queries.get(i)[0], queries.get(i)[1]));
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void gameModelUsesHierarchyForLongRanges() {
+        GameModel large = new GameModel(10, 200);
+        for (int col = 0; col < 200; col++) {
+            if (col != 100) {
+                large.addToMap(new Road(1, 1, new Coordinate(5, col), new Dimension(1, 1)));
+            }
+        }
+        Buildable left = new ResidentialZoneFactory(large).createZone(new Coordinate(4, 0));
+        Buildable right = new ResidentialZoneFactory(large).createZone(new Coordinate(4, 199));
+        large.addToMap(left);
+        large.addToMap(right);
+        Metrics.setEnabled(true);
+        long before = Metrics.snapshot().getCounter(Metrics.Counter.HIERARCHY_QUERIES);
+        assertEquals(-1, large.getPathFinder().manhattanDistance(left, right));
+        assertTrue(Metrics.snapshot().getCounter(Metrics.Counter.HIERARCHY_QUERIES) > before);
+
+        large.addToMap(new Road(1, 1, new Coordinate(5, 100), new Dimension(1, 1)));
+        int expected = new PathFinder(large.getMap()).manhattanDistance(left, right);
+        assertNotEquals(-1, expected);
+        assertEquals(expected, large.getPathFinder().manhattanDistance(left, right));
+    }
+
+    private void fillRoads(double density) {
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                if (random.nextDouble() < density) {
+                    map[row][col] = new Road(1, 1, new Coordinate(row, col), new Dimension(1, 1));
+                }
+            }
+        }
+    }
+
+    private void assertSameDistance(RoadHierarchy hierarchy, String message) {
+        Buildable start = place(random.nextInt(ROWS), random.nextInt(COLS));
+        Buildable goal = random.nextBoolean() ? place(random.nextInt(ROWS), random.nextInt(COLS)) : anyRoad();
+        if (start == null || goal == null || start == goal) {
+            return;
+        }
+        int expected = GridSearch.of(map).breadthFirst(start, goal);
+        assertEquals(expected, hierarchy.distance(start, goal), message);
+    }
+
+    private Buildable place(int row, int col) {
+        if (map[row][col] != null) {
+            return map[row][col];
+        }
+        Buildable zone = new ResidentialZoneFactory(gm).createZone(new Coordinate(row, col));
+        map[row][col] = zone;
+        return zone;
+    }
+
+    private Buildable anyRoad() {
+        for (int i = 0; i < 100; i++) {
+            Buildable b = map[random.nextInt(ROWS)][random.nextInt(COLS)];
+            if (b instanceof Road) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
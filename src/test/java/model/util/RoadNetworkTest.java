@@ -0,0 +1,106 @@
+package model.util;
+
+import model.GameModel;
+import model.common.Buildable;
+import model.common.Coordinate;
+import model.common.Dimension;
+import model.facility.Road;
+import model.zone.ResidentialZoneFactory;
+import model.zone.Zone;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoadNetworkTest {
+
+    static final int ROWS = 8, COLS = 10;
+
+    /*
+     0 1 2 3 4
+   0 x Z x x x
+   1 x r r r x
+   2 x r x r x
+   3 x r r r Z
+   4 r r x x x
+     */
+    @Test
+    void loopIsNotEssentialButDeadEndIs() {
+        GameModel gm = new GameModel(5, 5);
+        Buildable[][] map = new Buildable[5][5];
+        Road master = road(map, 4, 0);
+        int[][] roads = {{4, 1}, {3, 1}, {2, 1}, {1, 1}, {1, 2}, {1, 3}, {2, 3}, {3, 3}, {3, 2}};
+        for (int[] r : roads) {
+            road(map, r[0], r[1]);
+        }
+        Zone top = zone(gm, map, master, 0, 1);
+        Zone right = zone(gm, map, master, 3, 4);
+        assertTrue(top.isConnected());
+        assertTrue(right.isConnected());
+
+        RoadNetwork network = new RoadNetwork(map);
+        List<Buildable> buildables = List.of(top, right);
+        assertTrue(network.isEssential(new Coordinate(4, 1), master, buildables));
+        assertTrue(network.isEssential(new Coordinate(3, 1), master, buildables));
+        assertTrue(network.isEssential(new Coordinate(1, 1), master, buildables));
+        assertTrue(network.isEssential(new Coordinate(3, 3), master, buildables));
+        assertFalse(network.isEssential(new Coordinate(2, 1), master, buildables));
+        assertFalse(network.isEssential(new Coordinate(1, 2), master, buildables));
+        assertFalse(network.isEssential(new Coordinate(3, 2), master, buildables));
+        assertEquals(4, network.getEssentialRoads(master, buildables).size());
+    }
+
+    @Test
+    void matchesRemovingEachRoad() {
+        for (int seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            GameModel gm = new GameModel(ROWS, COLS);
+            Buildable[][] map = new Buildable[ROWS][COLS];
+            Road master = road(map, ROWS - 1, 0);
+            List<Road> roads = new ArrayList<>();
+            for (int row = 0; row < ROWS; row++) {
+                for (int col = 0; col < COLS; col++) {
+                    if (map[row][col] == null && random.nextDouble() < 0.55) {
+                        roads.add(road(map, row, col));
+                    }
+                }
+            }
+            List<Buildable> buildables = new ArrayList<>();
+            for (int row = 0; row < ROWS; row++) {
+                for (int col = 0; col < COLS; col++) {
+                    if (map[row][col] == null && random.nextDouble() < 0.5) {
+                        buildables.add(zone(gm, map, master, row, col));
+                    }
+                }
+            }
+            RoadNetwork network = new RoadNetwork(map);
+            PathFinder pathFinder = new PathFinder(map);
+            for (Road road : roads) {
+                Coordinate c = road.getCoordinate();
+                map[c.getRow()][c.getCol()] = null;
+                boolean expected = false;
+                for (Buildable b : buildables) {
+                    expected |= b.isConnected() && pathFinder.manhattanDistance(master, b) == -1;
+                }
+                map[c.getRow()][c.getCol()] = road;
+                assertEquals(expected, network.isEssential(c, master, buildables), "seed " + seed + " road " + c);
+            }
+        }
+    }
+
+    private static Road road(Buildable[][] map, int row, int col) {
+        Road road = new Road(1, 1, new Coordinate(row, col), new Dimension(1, 1));
+        map[row][col] = road;
+        return road;
+    }
+
+    private static Zone zone(GameModel gm, Buildable[][] map, Road master, int row, int col) {
+        Zone zone = new ResidentialZoneFactory(gm).createZone(new Coordinate(row, col));
+        map[row][col] = zone;
+        zone.resetConnected(master, map);
+        return zone;
+    }
+}